@@ -1,8 +1,14 @@
 package com.selimhorri.app.config.client;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -10,8 +16,39 @@ public class ClientConfig {
 	
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	@Primary
+	public RestTemplate restTemplateBean(final ClientHttpRequestFactory clientHttpRequestFactory) {
+		return new RestTemplate(clientHttpRequestFactory);
+	}
+	
+	/**
+	 * Same pooled client, but a read stalled for longer than one enrichment call budget 
+	 * fails the lookup and frees its worker instead of holding it for the default read timeout.
+	 */
+	@LoadBalanced
+	@Bean
+	public RestTemplate enrichmentRestTemplate(final CloseableHttpClient httpClient, 
+			@Value("${app.enrichment.call-timeout-millis:2000}") final int callTimeoutMillis) {
+		final var requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(callTimeoutMillis);
+		return new RestTemplate(requestFactory);
+	}
+	
+	/**
+	 * Dedicated pool for remote enrichment lookups; 
+	 * its size is the maximum number of lookups in flight at once, and lookups beyond 
+	 * {@code app.enrichment.max-queued} waiting ones are rejected rather than queued.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor enrichmentExecutor(
+			@Value("${app.enrichment.max-in-flight:16}") final int maxInFlight, 
+			@Value("${app.enrichment.max-queued:64}") final int maxQueued) {
+		final var executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(maxInFlight);
+		executor.setMaxPoolSize(maxInFlight);
+		executor.setQueueCapacity(maxQueued);
+		executor.setThreadNamePrefix("enrichment-");
+		return executor;
 	}
 	
 	
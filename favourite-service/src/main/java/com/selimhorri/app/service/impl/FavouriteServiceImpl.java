@@ -1,10 +1,18 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -13,9 +21,11 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.EnrichmentService;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,27 +39,36 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final EnrichmentService enrichmentService;
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		final var favouriteDtos = this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
+		
+		final var userDtos = this.fetchAllByIdsAsync(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+				favouriteDtos.stream().map(FavouriteDto::getUserId).collect(Collectors.toSet()), 
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {}, UserDto::getUserId);
+		final var productDtos = this.fetchAllByIdsAsync(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/batch", 
+				favouriteDtos.stream().map(FavouriteDto::getProductId).collect(Collectors.toSet()), 
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {}, ProductDto::getProductId);
+		
+		return favouriteDtos.stream()
+				.map(f -> {
+					f.setUserDto(userDtos.join().getOrDefault(f.getUserId(), f.getUserDto()));
+					f.setProductDto(productDtos.join().getOrDefault(f.getProductId(), f.getProductDto()));
+					return f;
+				})
+				.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
@@ -84,6 +103,32 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	/**
+	 * Resolves distinct ids through a remote multi-get endpoint, 
+	 * in chunks of {@link AppConstant#BATCH_LOOKUP_CHUNK_SIZE} ids fetched concurrently.
+	 */
+	private <T> CompletableFuture<Map<Integer, T>> fetchAllByIdsAsync(final String batchUrl, final Set<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final var idList = List.copyOf(ids);
+		final var chunks = new ArrayList<Set<Integer>>();
+		for (int from = 0; from < idList.size(); from += AppConstant.BATCH_LOOKUP_CHUNK_SIZE)
+			chunks.add(Set.copyOf(idList.subList(from, 
+					Math.min(from + AppConstant.BATCH_LOOKUP_CHUNK_SIZE, idList.size()))));
+		
+		return this.enrichmentService.postAllAsync(batchUrl, chunks, responseType)
+				.thenApply(responses -> {
+					final var dtos = new HashMap<Integer, T>(idList.size());
+					responses.values()
+							.stream()
+								.filter(response -> response.getCollection() != null)
+								.flatMap(response -> response.getCollection().stream())
+								.forEach(dto -> dtos.put(idExtractor.apply(dto), dto));
+					return dtos;
+				});
+	}
+	
 	
 	
 }
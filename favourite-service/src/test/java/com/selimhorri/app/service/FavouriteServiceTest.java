@@ -8,14 +8,19 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.domain.Favourite;
@@ -23,8 +28,10 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.repository.FavouriteRepository;
+import com.selimhorri.app.service.impl.EnrichmentServiceImpl;
 import com.selimhorri.app.service.impl.FavouriteServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +44,6 @@ class FavouriteServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private FavouriteServiceImpl favouriteService;
 
     private Favourite favourite;
@@ -49,6 +55,8 @@ class FavouriteServiceTest {
 
     @BeforeEach
     void setUp() {
+        favouriteService = new FavouriteServiceImpl(favouriteRepository, restTemplate, new EnrichmentServiceImpl(restTemplate, Runnable::run, 1000L));
+
         testDate = LocalDateTime.now();
         
         favouriteId = new FavouriteId(1, 1, testDate);
@@ -90,10 +98,12 @@ class FavouriteServiceTest {
         // Given
         List<Favourite> favourites = Arrays.asList(favourite);
         when(favouriteRepository.findAll()).thenReturn(favourites);
-        when(restTemplate.getForObject(contains("users"), eq(UserDto.class)))
-                .thenReturn(userDto);
-        when(restTemplate.getForObject(contains("products"), eq(ProductDto.class)))
-                .thenReturn(productDto);
+        when(restTemplate.exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto))));
+        when(restTemplate.exchange(contains("products/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(productDto))));
 
         // When
         List<FavouriteDto> result = favouriteService.findAll();
@@ -105,10 +115,69 @@ class FavouriteServiceTest {
         assertEquals(favourite.getUserId(), result.get(0).getUserId());
         assertEquals(favourite.getProductId(), result.get(0).getProductId());
         assertEquals(favourite.getLikeDate(), result.get(0).getLikeDate());
+        assertEquals("John", result.get(0).getUserDto().getFirstName());
+        assertEquals("Test Product", result.get(0).getProductDto().getProductTitle());
 
         verify(favouriteRepository).findAll();
-        verify(restTemplate).getForObject(contains("users"), eq(UserDto.class));
-        verify(restTemplate).getForObject(contains("products"), eq(ProductDto.class));
+        verify(restTemplate).exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any());
+        verify(restTemplate).exchange(contains("products/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>>any());
+        verify(restTemplate, never()).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
+    }
+
+    @Test
+    @DisplayName("Should resolve each distinct user and product once for all favourites")
+    void testFindAll_DeduplicatesRemoteLookups() {
+        // Given
+        Favourite sameUserOtherProduct = Favourite.builder()
+                .userId(1)
+                .productId(2)
+                .likeDate(testDate.plusMinutes(1))
+                .build();
+        Favourite sameUserSameProduct = Favourite.builder()
+                .userId(1)
+                .productId(1)
+                .likeDate(testDate.plusMinutes(2))
+                .build();
+        when(favouriteRepository.findAll()).thenReturn(Arrays.asList(favourite, sameUserOtherProduct, sameUserSameProduct));
+        when(restTemplate.exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto))));
+        when(restTemplate.exchange(contains("products/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(productDto))));
+
+        // When
+        List<FavouriteDto> result = favouriteService.findAll();
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(2, result.get(1).getProductDto().getProductId());
+        assertNull(result.get(1).getProductDto().getProductTitle());
+        verify(restTemplate, times(1)).exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any());
+        verify(restTemplate, times(1)).exchange(contains("products/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>>any());
+    }
+
+    @Test
+    @DisplayName("Should keep id-only stubs without calling out when the enrichment queue rejects lookups")
+    void testFindAll_EnrichmentQueueFull() {
+        // Given
+        favouriteService = new FavouriteServiceImpl(favouriteRepository, restTemplate, new EnrichmentServiceImpl(restTemplate, 
+                task -> { throw new RejectedExecutionException("queue full"); }, 1000L));
+        when(favouriteRepository.findAll()).thenReturn(List.of(favourite));
+
+        // When
+        List<FavouriteDto> result = favouriteService.findAll();
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getUserDto().getUserId());
+        assertNull(result.get(0).getUserDto().getFirstName());
+        assertEquals(1, result.get(0).getProductDto().getProductId());
+        verifyNoInteractions(restTemplate);
     }
 
     @Test
@@ -149,7 +218,7 @@ class FavouriteServiceTest {
         });
 
         verify(favouriteRepository).findById(favouriteId);
-        verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+        verify(restTemplate, never()).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
     }
 
     @Test
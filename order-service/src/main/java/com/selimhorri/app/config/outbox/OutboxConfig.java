@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.outbox;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.service.outbox.InMemoryOutboxTransport;
+import com.selimhorri.app.service.outbox.LocalFileOutboxTransport;
+import com.selimhorri.app.service.outbox.OutboxTransport;
+
+/**
+ * Picks the outbox transport from app.outbox.transport: memory (the default) or file.
+ */
+@Configuration
+public class OutboxConfig {
+	
+	@Bean
+	@ConditionalOnProperty(name = "app.outbox.transport", havingValue = "memory", matchIfMissing = true)
+	public OutboxTransport inMemoryOutboxTransport() {
+		return new InMemoryOutboxTransport();
+	}
+	
+	@Bean
+	@ConditionalOnProperty(name = "app.outbox.transport", havingValue = "file")
+	public OutboxTransport localFileOutboxTransport(
+			@Value("${app.outbox.file-path:data/order-outbox.ndjson}") final Path path, 
+			final ObjectMapper objectMapper) throws IOException {
+		return new LocalFileOutboxTransport(path, objectMapper);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,17 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 50;
+	public static final int MAX_PAGE_LIMIT = 500;
+	public static final String STREAM_FETCH_SIZE = "500";
+	public static final int BULK_DELETE_CHUNK_SIZE = 500;
+	public static final int BATCH_LOOKUP_CHUNK_SIZE = 500;
+	
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+	public static final String AUTHENTICATED_USER_HEADER = "X-Authenticated-User";
+	public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
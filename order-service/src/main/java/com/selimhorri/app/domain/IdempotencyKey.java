@@ -0,0 +1,61 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import com.selimhorri.app.domain.id.IdempotencyKeyId;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Client supplied key of a non-idempotent request, unique within the scope of the user who sent it, 
+ * with the fingerprint of the request it was first used for and the serialized response to replay on retries.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@IdClass(IdempotencyKeyId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class IdempotencyKey extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "scope", nullable = false, updatable = false)
+	private String scope;
+	
+	@Id
+	@Column(name = "idempotency_key", nullable = false, updatable = false)
+	private String idempotencyKey;
+	
+	@Column(name = "request_hash", nullable = false, updatable = false)
+	private String requestHash;
+	
+	@Lob
+	@Column(name = "response_body")
+	private String responseBody;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,14 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	ORDER_CREATED("order");
+	
+	private final String aggregateType;
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.domain.id;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class IdempotencyKeyId implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private String scope;
+	private String idempotencyKey;
+	
+}
+
+
+
+
+
+
+
+
+
+
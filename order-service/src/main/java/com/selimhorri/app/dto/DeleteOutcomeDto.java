@@ -0,0 +1,37 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DeleteOutcomeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer id;
+	private Outcome outcome;
+	
+	public enum Outcome {
+		DELETED, 
+		NOT_FOUND, 
+		FAILED
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
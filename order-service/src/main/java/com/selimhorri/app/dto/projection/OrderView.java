@@ -0,0 +1,20 @@
+package com.selimhorri.app.dto.projection;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+/**
+ * Read-only row selected column by column through a JPQL constructor expression, 
+ * so no Order entity is hydrated, snapshotted or dirty-checked.
+ */
+@Value
+public class OrderView {
+	
+	Integer orderId;
+	LocalDateTime orderDate;
+	String orderDesc;
+	Double orderFee;
+	Integer cartId;
+	
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.dto.response;
+
+import lombok.Value;
+
+/**
+ * Response of an idempotent call; replayed when it was stored by an earlier request with the same key.
+ */
+@Value
+public class IdempotentResponse<T> {
+	
+	T body;
+	boolean replayed;
+	
+}
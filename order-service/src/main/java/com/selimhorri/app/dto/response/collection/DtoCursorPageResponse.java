@@ -0,0 +1,22 @@
+package com.selimhorri.app.dto.response.collection;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page; nextCursor is the last id of this page, or null on the last page.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class DtoCursorPageResponse<T> {
+	
+	private Collection<T> collection;
+	private Integer nextCursor;
+	
+}
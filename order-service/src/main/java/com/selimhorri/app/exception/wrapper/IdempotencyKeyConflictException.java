@@ -0,0 +1,40 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public IdempotencyKeyConflictException() {
+		super();
+	}
+	
+	public IdempotencyKeyConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	/**
+	 * Reused or still running keys are expected client behaviour, 
+	 * so message-only instances skip suppression and stack trace capture.
+	 */
+	public IdempotencyKeyConflictException(String message) {
+		super(message, null, false, false);
+	}
+	
+	public IdempotencyKeyConflictException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
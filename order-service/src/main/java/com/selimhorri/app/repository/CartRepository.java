@@ -1,11 +1,27 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Cart;
 
 public interface CartRepository extends JpaRepository<Cart, Integer> {
 	
+	List<Cart> findByCartIdGreaterThanOrderByCartIdAsc(final Integer cartId, final Pageable pageable);
+	
+	@Query("SELECT c.cartId FROM Cart c WHERE c.cartId IN :cartIds")
+	List<Integer> findIdsByIdIn(@Param("cartIds") final Collection<Integer> cartIds);
+	
+	@Modifying
+	@Query("DELETE FROM Cart c WHERE c.cartId IN :cartIds")
+	int deleteAllByIdIn(@Param("cartIds") final Collection<Integer> cartIds);
+	
 	
 	
 }
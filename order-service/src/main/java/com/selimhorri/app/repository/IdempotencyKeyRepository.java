@@ -0,0 +1,41 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.IdempotencyKey;
+import com.selimhorri.app.domain.id.IdempotencyKeyId;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+	
+	/**
+	 * Claims the key with a plain insert: a concurrent claim of the same key waits on the 
+	 * primary key until this transaction ends and then fails, so only one request runs.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO idempotency_keys (scope, idempotency_key, request_hash) VALUES (:scope, :idempotencyKey, :requestHash)", nativeQuery = true)
+	int insert(@Param("scope") final String scope, @Param("idempotencyKey") final String idempotencyKey, 
+			@Param("requestHash") final String requestHash);
+	
+	@Modifying
+	@Query("UPDATE IdempotencyKey k SET k.responseBody = :responseBody, k.updatedAt = CURRENT_TIMESTAMP WHERE k.scope = :scope AND k.idempotencyKey = :idempotencyKey")
+	int complete(@Param("scope") final String scope, @Param("idempotencyKey") final String idempotencyKey, 
+			@Param("responseBody") final String responseBody);
+	
+	/**
+	 * Frees a key whose row outlived the ttl but was not purged yet, so that it can be claimed again.
+	 */
+	@Modifying
+	@Query("DELETE FROM IdempotencyKey k WHERE k.scope = :scope AND k.idempotencyKey = :idempotencyKey AND k.createdAt < :before")
+	int deleteExpired(@Param("scope") final String scope, @Param("idempotencyKey") final String idempotencyKey, 
+			@Param("before") final Instant before);
+	
+	@Modifying
+	@Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :before")
+	int deleteAllCreatedBefore(@Param("before") final Instant before);
+	
+}
@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import com.selimhorri.app.dto.OrderDto;
+
+public interface OrderPatchRepository {
+	
+	/**
+	 * Assigns only the non-null fields of the order dto in one UPDATE ... WHERE id statement, 
+	 * without loading the order; returns the number of updated rows.
+	 */
+	int patchById(final Integer orderId, final OrderDto orderDto);
+	
+}
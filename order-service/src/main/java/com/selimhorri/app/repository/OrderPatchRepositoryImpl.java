@@ -0,0 +1,53 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+
+public class OrderPatchRepositoryImpl implements OrderPatchRepository {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	public int patchById(final Integer orderId, final OrderDto orderDto) {
+		
+		final var criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		final var update = criteriaBuilder.createCriteriaUpdate(Order.class);
+		final var order = update.from(Order.class);
+		
+		if (orderDto.getOrderDate() != null)
+			update.set(order.<LocalDateTime>get("orderDate"), orderDto.getOrderDate());
+		if (orderDto.getOrderDesc() != null)
+			update.set(order.<String>get("orderDesc"), orderDto.getOrderDesc());
+		if (orderDto.getOrderFee() != null)
+			update.set(order.<Double>get("orderFee"), orderDto.getOrderFee());
+		if (orderDto.getCartDto() != null && orderDto.getCartDto().getCartId() != null)
+			update.set(order.<Cart>get("cart"), Cart.builder()
+					.cartId(orderDto.getCartDto().getCartId())
+					.build());
+		update.set(order.<Instant>get("updatedAt"), Instant.now());
+		update.where(criteriaBuilder.equal(order.get("orderId"), orderId));
+		
+		return this.entityManager.createQuery(update).executeUpdate();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,80 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.projection.OrderView;
 
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+public interface OrderRepository extends JpaRepository<Order, Integer>, OrderPatchRepository {
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.OrderView(o.orderId, o.orderDate, o.orderDesc, o.orderFee, c.cartId) FROM Order o LEFT JOIN o.cart c")
+	List<OrderView> findAllViews();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.OrderView(o.orderId, o.orderDate, o.orderDesc, o.orderFee, c.cartId) FROM Order o LEFT JOIN o.cart c WHERE o.orderId = :orderId")
+	Optional<OrderView> findViewById(@Param("orderId") final Integer orderId);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.OrderView(o.orderId, o.orderDate, o.orderDesc, o.orderFee, c.cartId) FROM Order o LEFT JOIN o.cart c WHERE o.orderId IN :orderIds")
+	List<OrderView> findAllViewsById(@Param("orderIds") final Collection<Integer> orderIds);
+	
+	/**
+	 * One keyset page of a cart's orders, served by the (cart_id, order_id) index.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.OrderView(o.orderId, o.orderDate, o.orderDesc, o.orderFee, c.cartId) FROM Order o JOIN o.cart c WHERE c.cartId = :cartId AND o.orderId > :afterOrderId ORDER BY o.orderId")
+	List<OrderView> findViewsByCartIdAfter(@Param("cartId") final Integer cartId, 
+			@Param("afterOrderId") final Integer afterOrderId, final Pageable pageable);
+	
+	/**
+	 * One keyset page of a user's orders across all their carts, joined through the 
+	 * (user_id, cart_id) and (cart_id, order_id) indexes.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.OrderView(o.orderId, o.orderDate, o.orderDesc, o.orderFee, c.cartId) FROM Order o JOIN o.cart c WHERE c.userId = :userId AND o.orderId > :afterOrderId ORDER BY o.orderId")
+	List<OrderView> findViewsByUserIdAfter(@Param("userId") final Integer userId, 
+			@Param("afterOrderId") final Integer afterOrderId, final Pageable pageable);
+	
+	@EntityGraph(attributePaths = "cart")
+	List<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(final Integer orderId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true")})
+	@EntityGraph(attributePaths = "cart")
+	Stream<Order> streamAllByOrderByOrderIdAsc();
+	
+	@Query("SELECT o.orderId FROM Order o WHERE o.orderId IN :orderIds")
+	List<Integer> findIdsByIdIn(@Param("orderIds") final Collection<Integer> orderIds);
 	
+	@Modifying
+	@Query("DELETE FROM Order o WHERE o.orderId IN :orderIds")
+	int deleteAllByIdIn(@Param("orderIds") final Collection<Integer> orderIds);
 	
+	/**
+	 * Bulk counterpart of the cart's cascade to its orders, which a bulk cart delete would skip.
+	 */
+	@Modifying
+	@Query("DELETE FROM Order o WHERE o.cart.cartId IN :cartIds")
+	int deleteAllByCartIdIn(@Param("cartIds") final Collection<Integer> cartIds);
 	
 }
@@ -1,9 +1,12 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +15,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.CartService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CartResource {
 	
 	private final CartService cartService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
@@ -35,6 +46,22 @@ public class CartResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoCursorPageResponse<CartDto>> findAllAfter(
+			@RequestParam(name = "after", required = false) final Integer afterCartId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** CartDto Page, resource; fetch carts page after cursor *");
+		return ResponseEntity.ok(this.cartService.findAllAfter(afterCartId, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** CartDto Stream, resource; stream all carts *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.cartService.streamAll(NdjsonHelper.writer(this.objectMapper, outputStream)));
+	}
+	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") 
@@ -74,6 +101,14 @@ public class CartResource {
 		return ResponseEntity.ok(this.cartService.update(Integer.parseInt(cartId), cartDto));
 	}
 	
+	@PostMapping("/batch/delete")
+	public ResponseEntity<DtoCollectionResponse<DeleteOutcomeDto>> deleteAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final Set<Integer> cartIds) {
+		log.info("*** DeleteOutcomeDto List, resource; delete carts by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.deleteAllByIds(cartIds)));
+	}
+	
 	@DeleteMapping("/{cartId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("cartId") final String cartId) {
 		log.info("*** Boolean, resource; delete cart by id *");
@@ -1,21 +1,34 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.helper.NdjsonHelper;
+import com.selimhorri.app.service.IdempotencyService;
 import com.selimhorri.app.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +41,8 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final IdempotencyService idempotencyService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
@@ -35,6 +50,44 @@ public class OrderResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoCursorPageResponse<OrderDto>> findAllAfter(
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** OrderDto Page, resource; fetch orders page after cursor *");
+		return ResponseEntity.ok(this.orderService.findAllAfter(afterOrderId, limit));
+	}
+	
+	@GetMapping("/cart/{cartId}")
+	public ResponseEntity<DtoCursorPageResponse<OrderDto>> findAllByCartIdAfter(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId, 
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** OrderDto Page, resource; fetch cart orders page after cursor *");
+		return ResponseEntity.ok(this.orderService.findAllByCartIdAfter(Integer.parseInt(cartId), afterOrderId, limit));
+	}
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<DtoCursorPageResponse<OrderDto>> findAllByUserIdAfter(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String userId, 
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** OrderDto Page, resource; fetch user orders page after cursor *");
+		return ResponseEntity.ok(this.orderService.findAllByUserIdAfter(Integer.parseInt(userId), afterOrderId, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** OrderDto Stream, resource; stream all orders *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.orderService.streamAll(NdjsonHelper.writer(this.objectMapper, outputStream)));
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -44,13 +97,30 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.findById(Integer.parseInt(orderId)));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final Set<Integer> orderIds) {
+		log.info("*** OrderDto List, resource; fetch orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByIds(orderIds)));
+	}
+	
 	@PostMapping
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL") 
-			@Valid final OrderDto orderDto) {
+			@Valid final OrderDto orderDto, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey, 
+			@RequestHeader(name = AppConstant.AUTHENTICATED_USER_HEADER, required = false) final String username) {
 		log.info("*** OrderDto, resource; save order *");
-		return ResponseEntity.ok(this.orderService.save(orderDto));
+		if (idempotencyKey == null)
+			return ResponseEntity.ok(this.orderService.save(orderDto));
+		final var response = this.idempotencyService.execute(username, idempotencyKey.strip(), orderDto, OrderDto.class, 
+				() -> this.orderService.save(orderDto));
+		return ResponseEntity.ok()
+				.header(AppConstant.IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.isReplayed()))
+				.body(response.getBody());
 	}
 	
 	@PutMapping
@@ -74,6 +144,25 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.update(Integer.parseInt(orderId), orderDto));
 	}
 	
+	@PatchMapping("/{orderId}")
+	public ResponseEntity<Integer> patch(
+			@PathVariable("orderId")
+			@NotBlank(message = "Input must not be blank")
+			@Valid final String orderId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final OrderDto orderDto) {
+		log.info("*** Integer, resource; patch order with orderId *");
+		return ResponseEntity.ok(this.orderService.patch(Integer.parseInt(orderId), orderDto));
+	}
+	
+	@PostMapping("/batch/delete")
+	public ResponseEntity<DtoCollectionResponse<DeleteOutcomeDto>> deleteAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final Set<Integer> orderIds) {
+		log.info("*** DeleteOutcomeDto List, resource; delete orders by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.deleteAllByIds(orderIds)));
+	}
+	
 	@DeleteMapping("/{orderId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("orderId") final String orderId) {
 		log.info("*** Boolean, resource; delete order by id *");
@@ -1,16 +1,23 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface CartService {
 	
 	List<CartDto> findAll();
+	DtoCursorPageResponse<CartDto> findAllAfter(final Integer afterCartId, final Integer limit);
+	void streamAll(final Consumer<CartDto> consumer);
 	CartDto findById(final Integer cartId);
 	CartDto save(final CartDto cartDto);
 	CartDto update(final CartDto cartDto);
 	CartDto update(final Integer cartId, final CartDto cartDto);
 	void deleteById(final Integer cartId);
+	List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> cartIds);
 	
 }
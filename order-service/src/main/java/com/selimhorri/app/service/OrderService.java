@@ -1,16 +1,27 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	DtoCursorPageResponse<OrderDto> findAllAfter(final Integer afterOrderId, final Integer limit);
+	DtoCursorPageResponse<OrderDto> findAllByCartIdAfter(final Integer cartId, final Integer afterOrderId, final Integer limit);
+	DtoCursorPageResponse<OrderDto> findAllByUserIdAfter(final Integer userId, final Integer afterOrderId, final Integer limit);
+	void streamAll(final Consumer<OrderDto> consumer);
 	OrderDto findById(final Integer orderId);
+	List<OrderDto> findAllByIds(final Set<Integer> orderIds);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
+	int patch(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
+	List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> orderIds);
 	
 }
@@ -0,0 +1,21 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.domain.OutboxEventType;
+
+public interface OutboxService {
+	
+	void append(final OutboxEventType eventType, final Integer aggregateId, final Object payload);
+	int relay();
+	int purgePublished();
+	
+}
+
+
+
+
+
+
+
+
+
+
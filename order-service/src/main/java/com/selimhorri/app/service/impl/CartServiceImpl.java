@@ -1,20 +1,37 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.helper.BulkDeleteHelper;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.EnrichmentService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,24 +43,74 @@ import lombok.extern.slf4j.Slf4j;
 public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
+	private final OrderRepository orderRepository;
 	private final RestTemplate restTemplate;
+	private final EnrichmentService enrichmentService;
+	private final TransactionTemplate transactionTemplate;
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		final var cartDtos = this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
+		
+		final var userDtos = this.enrichmentService.fetchAllByIds(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL, 
+				cartDtos.stream().map(c -> c.getUserDto().getUserId()).collect(Collectors.toList()), UserDto.class);
+		
+		return cartDtos.stream()
+				.map(c -> {
+					c.setUserDto(userDtos.getOrDefault(c.getUserDto().getUserId(), c.getUserDto()));
+					return c;
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * The users of a page are looked up with one multi-get, after the page has been read.
+	 */
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public DtoCursorPageResponse<CartDto> findAllAfter(final Integer afterCartId, final Integer limit) {
+		log.info("*** CartDto Page, service; fetch carts page after cursor *");
+		final int pageSize = Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_PAGE_LIMIT, 1), AppConstant.MAX_PAGE_LIMIT);
+		final var carts = this.cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(
+				afterCartId != null ? afterCartId : 0, PageRequest.of(0, pageSize + 1));
+		final var cartDtos = carts.stream()
+				.limit(pageSize)
+				.map(CartMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		
+		final var userDtos = this.fetchAllByIdsAsync(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+				cartDtos.stream().map(c -> c.getUserDto().getUserId()).collect(Collectors.toSet()), 
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {}, UserDto::getUserId).join();
+		cartDtos.forEach(c -> c.setUserDto(userDtos.getOrDefault(c.getUserDto().getUserId(), c.getUserDto())));
+		
+		return new DtoCursorPageResponse<>(cartDtos, 
+				carts.size() > pageSize ? cartDtos.get(pageSize - 1).getCartId() : null);
 	}
 	
+	/**
+	 * Walks the carts page by page, so no connection is held while the users of a page are fetched.
+	 */
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public void streamAll(final Consumer<CartDto> consumer) {
+		log.info("*** CartDto Stream, service; stream all carts *");
+		Integer afterCartId = null;
+		do {
+			final var page = this.findAllAfter(afterCartId, AppConstant.MAX_PAGE_LIMIT);
+			page.getCollection().forEach(consumer);
+			afterCartId = page.getNextCursor();
+		}
+		while (afterCartId != null);
+	}
+	
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public CartDto findById(final Integer cartId) {
 		log.info("*** CartDto, service; fetch cart by id *");
 		return this.cartRepository.findById(cartId)
@@ -84,6 +151,42 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> cartIds) {
+		log.info("*** DeleteOutcomeDto List, service; delete carts by ids *");
+		return BulkDeleteHelper.deleteAllByIds(cartIds, this.transactionTemplate, this.cartRepository::findIdsByIdIn, existingCartIds -> {
+			this.orderRepository.deleteAllByCartIdIn(existingCartIds);
+			return this.cartRepository.deleteAllByIdIn(existingCartIds);
+		});
+	}
+	
+	/**
+	 * Resolves distinct ids through a remote multi-get endpoint, 
+	 * in chunks of {@link AppConstant#BATCH_LOOKUP_CHUNK_SIZE} ids fetched concurrently.
+	 */
+	private <T> CompletableFuture<Map<Integer, T>> fetchAllByIdsAsync(final String batchUrl, final Set<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final var idList = List.copyOf(ids);
+		final var chunks = new ArrayList<Set<Integer>>();
+		for (int from = 0; from < idList.size(); from += AppConstant.BATCH_LOOKUP_CHUNK_SIZE)
+			chunks.add(Set.copyOf(idList.subList(from, 
+					Math.min(from + AppConstant.BATCH_LOOKUP_CHUNK_SIZE, idList.size()))));
+		
+		return this.enrichmentService.postAllAsync(batchUrl, chunks, responseType)
+				.thenApply(responses -> {
+					final var dtos = new HashMap<Integer, T>(idList.size());
+					responses.values()
+							.stream()
+								.filter(response -> response.getCollection() != null)
+								.flatMap(response -> response.getCollection().stream())
+								.forEach(dto -> dtos.put(idExtractor.apply(dto), dto));
+					return dtos;
+				});
+	}
+	
 	
 	
 }
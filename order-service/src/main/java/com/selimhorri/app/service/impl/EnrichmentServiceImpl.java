@@ -0,0 +1,109 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.service.EnrichmentService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves remote DTOs concurrently on the bounded {@code enrichmentExecutor}: 
+ * keys are deduplicated per call, each remote call is cut off by the read timeout of {@code enrichmentRestTemplate}, 
+ * lookups still queued after {@code app.enrichment.call-timeout-millis} or rejected by a full queue are skipped, 
+ * and failed or skipped lookups are left out of the result so callers keep their id-only stubs.
+ */
+@Service
+@Slf4j
+public class EnrichmentServiceImpl implements EnrichmentService {
+	
+	private final RestTemplate restTemplate;
+	private final Executor enrichmentExecutor;
+	private final long callTimeoutNanos;
+	
+	public EnrichmentServiceImpl(@Qualifier("enrichmentRestTemplate") final RestTemplate restTemplate, 
+			@Qualifier("enrichmentExecutor") final Executor enrichmentExecutor, 
+			@Value("${app.enrichment.call-timeout-millis:2000}") final long callTimeoutMillis) {
+		this.restTemplate = restTemplate;
+		this.enrichmentExecutor = enrichmentExecutor;
+		this.callTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(callTimeoutMillis);
+	}
+	
+	@Override
+	public <K, V> CompletableFuture<Map<K, V>> fetchAllAsync(final Collection<K> keys, final Function<K, V> lookup) {
+		
+		final var futures = new LinkedHashMap<K, CompletableFuture<V>>();
+		keys.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.forEach(key -> futures.put(key, this.submit(key, lookup)
+						.exceptionally(e -> {
+							log.warn("*** Enrichment lookup for key: {} failed: {} *", key, e.toString());
+							return null;
+						})));
+		
+		return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+				.thenApply(v -> {
+					final var results = new HashMap<K, V>(futures.size());
+					futures.forEach((key, future) -> {
+						final var value = future.join();
+						if (value != null)
+							results.put(key, value);
+					});
+					return results;
+				});
+	}
+	
+	@Override
+	public <T> CompletableFuture<Map<Integer, T>> fetchAllByIdsAsync(final String apiUrl, 
+			final Collection<Integer> ids, final Class<T> type) {
+		return this.fetchAllAsync(ids, id -> this.restTemplate.getForObject(apiUrl + "/" + id, type));
+	}
+	
+	@Override
+	public <K, V> CompletableFuture<Map<K, V>> postAllAsync(final String apiUrl, 
+			final Collection<K> bodies, final ParameterizedTypeReference<V> responseType) {
+		return this.fetchAllAsync(bodies, body -> this.restTemplate
+				.exchange(apiUrl, HttpMethod.POST, new HttpEntity<>(body), responseType)
+				.getBody());
+	}
+	
+	/**
+	 * The call budget starts when a worker picks the lookup up, not when it is queued: 
+	 * a lookup that already waited longer than the budget is dropped without calling out.
+	 */
+	private <K, V> CompletableFuture<V> submit(final K key, final Function<K, V> lookup) {
+		final long queuedAt = System.nanoTime();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				if (System.nanoTime() - queuedAt > this.callTimeoutNanos) {
+					log.warn("*** Enrichment lookup for key: {} expired in queue *", key);
+					return null;
+				}
+				return lookup.apply(key);
+			}, this.enrichmentExecutor);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,242 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.id.IdempotencyKeyId;
+import com.selimhorri.app.dto.response.IdempotentResponse;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
+import com.selimhorri.app.repository.IdempotencyKeyRepository;
+import com.selimhorri.app.service.IdempotencyService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs an action at most once per idempotency key and user; callers that do not name their user share one scope. 
+ * A key is reusable once it is older than the ttl. Completed responses are kept in a bounded 
+ * in-memory map in front of the idempotency_keys table; concurrent requests with the same key 
+ * wait on the first one within this instance, and the key's primary key serializes them across 
+ * instances. The claim, the action and the stored response commit or roll back together, 
+ * so a failed request leaves the key free for a retry.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+	
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final Duration ttl;
+	private final Map<IdempotencyKeyId, StoredResponse> completed;
+	private final Map<IdempotencyKeyId, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+	
+	public IdempotencyServiceImpl(final IdempotencyKeyRepository idempotencyKeyRepository, 
+			final TransactionTemplate transactionTemplate, 
+			final ObjectMapper objectMapper, 
+			@Value("${app.idempotency.ttl:24h}") final Duration ttl, 
+			@Value("${app.idempotency.max-entries:10000}") final int maxEntries) {
+		this.idempotencyKeyRepository = idempotencyKeyRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.objectMapper = objectMapper;
+		this.ttl = ttl;
+		this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<IdempotencyKeyId, StoredResponse> eldest) {
+				return this.size() > maxEntries;
+			}
+		});
+	}
+	
+	@Override
+	public <T> IdempotentResponse<T> execute(final String scope, final String idempotencyKey, final Object request, 
+			final Class<T> responseType, final Supplier<T> action) {
+		
+		if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > AppConstant.IDEMPOTENCY_KEY_MAX_LENGTH)
+			throw new IllegalArgumentException(String.format("%s must be 1 to %d characters", 
+					AppConstant.IDEMPOTENCY_KEY_HEADER, AppConstant.IDEMPOTENCY_KEY_MAX_LENGTH));
+		
+		final var id = new IdempotencyKeyId(Objects.requireNonNullElse(scope, ""), idempotencyKey);
+		final var requestHash = this.fingerprint(request);
+		final var remembered = this.completed.get(id);
+		if (remembered != null && !this.isExpired(remembered.getStoredAt()))
+			return this.replay(idempotencyKey, requestHash, remembered, responseType);
+		
+		final var pending = new CompletableFuture<StoredResponse>();
+		final var running = this.inFlight.putIfAbsent(id, pending);
+		if (running != null) {
+			log.info("*** IdempotentResponse, service; waiting on running request with key {} *", idempotencyKey);
+			return this.replay(idempotencyKey, requestHash, this.await(running), responseType);
+		}
+		
+		try {
+			final var stored = this.findStored(id);
+			if (stored.isPresent()) {
+				this.remember(id, pending, stored.get());
+				return this.replay(idempotencyKey, requestHash, stored.get(), responseType);
+			}
+			
+			final var response = this.transactionTemplate.execute(status -> {
+				try {
+					this.idempotencyKeyRepository.deleteExpired(id.getScope(), idempotencyKey, Instant.now().minus(this.ttl));
+					this.idempotencyKeyRepository.insert(id.getScope(), idempotencyKey, requestHash);
+				}
+				catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+					status.setRollbackOnly();
+					return null;
+				}
+				final T body = action.get();
+				final var responseBody = this.serialize(body);
+				this.idempotencyKeyRepository.complete(id.getScope(), idempotencyKey, responseBody);
+				return new ExecutedResponse<T>(body, new StoredResponse(requestHash, responseBody, Instant.now()));
+			});
+			
+			if (response == null) {
+				// claimed by a request on another instance, which has ended by now
+				final var claimed = this.findStored(id).orElseThrow(() -> new IdempotencyKeyConflictException(String
+						.format("Request with idempotency key: %s is still being processed", idempotencyKey)));
+				this.remember(id, pending, claimed);
+				return this.replay(idempotencyKey, requestHash, claimed, responseType);
+			}
+			
+			this.remember(id, pending, response.getStored());
+			return new IdempotentResponse<>(response.getBody(), false);
+		}
+		catch (RuntimeException e) {
+			pending.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.inFlight.remove(id, pending);
+		}
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+	public int purgeExpired() {
+		final Instant before = Instant.now().minus(this.ttl);
+		this.completed.values().removeIf(stored -> stored.getStoredAt().isBefore(before));
+		final Integer purged = this.transactionTemplate.execute(status -> 
+				this.idempotencyKeyRepository.deleteAllCreatedBefore(before));
+		log.info("*** Integer, service; purged {} idempotency keys created before {} *", purged, before);
+		return purged != null ? purged : 0;
+	}
+	
+	/**
+	 * Rows keep the time they were created, so a replayed key still expires one ttl after its first use.
+	 */
+	private Optional<StoredResponse> findStored(final IdempotencyKeyId id) {
+		return this.idempotencyKeyRepository.findById(id)
+				.filter(key -> key.getResponseBody() != null && !this.isExpired(key.getCreatedAt()))
+				.map(key -> new StoredResponse(key.getRequestHash(), key.getResponseBody(), key.getCreatedAt()));
+	}
+	
+	private boolean isExpired(final Instant storedAt) {
+		return storedAt == null || storedAt.isBefore(Instant.now().minus(this.ttl));
+	}
+	
+	private void remember(final IdempotencyKeyId id, final CompletableFuture<StoredResponse> pending, 
+			final StoredResponse stored) {
+		this.completed.put(id, stored);
+		pending.complete(stored);
+	}
+	
+	private <T> IdempotentResponse<T> replay(final String idempotencyKey, final String requestHash, 
+			final StoredResponse stored, final Class<T> responseType) {
+		
+		if (!stored.getRequestHash().equals(requestHash))
+			throw new IdempotencyKeyConflictException(String
+					.format("Idempotency key: %s was already used for a different request", idempotencyKey));
+		
+		log.info("*** IdempotentResponse, service; replaying stored response for key {} *", idempotencyKey);
+		try {
+			return new IdempotentResponse<>(this.objectMapper.readValue(stored.getResponseBody(), responseType), true);
+		}
+		catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private StoredResponse await(final CompletableFuture<StoredResponse> running) {
+		try {
+			return running.join();
+		}
+		catch (CompletionException e) {
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+		}
+	}
+	
+	private String serialize(final Object body) {
+		try {
+			return this.objectMapper.writeValueAsString(body);
+		}
+		catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private String fingerprint(final Object request) {
+		try {
+			final var digest = MessageDigest.getInstance("SHA-256").digest(this.objectMapper.writeValueAsBytes(request));
+			final var hex = new StringBuilder(2 * digest.length);
+			for (final byte b : digest)
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			return hex.toString();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@lombok.Value
+	private static class StoredResponse {
+		String requestHash;
+		String responseBody;
+		Instant storedAt;
+	}
+	
+	@lombok.Value
+	private static class ExecutedResponse<T> {
+		T body;
+		StoredResponse stored;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,17 +1,33 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.projection.OrderView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.helper.BulkDeleteHelper;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,31 +39,89 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final OutboxService outboxService;
+	private final TransactionTemplate transactionTemplate;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
 	
 	@Override
 	public List<OrderDto> findAll() {
 		log.info("*** OrderDto List, service; fetch all orders *");
-		return this.orderRepository.findAll()
+		return this.orderRepository.findAllViews()
 				.stream()
 					.map(OrderMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCursorPageResponse<OrderDto> findAllAfter(final Integer afterOrderId, final Integer limit) {
+		log.info("*** OrderDto Page, service; fetch orders page after cursor *");
+		final int pageSize = pageSize(limit);
+		final var orders = this.orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(
+				afterOrderId != null ? afterOrderId : 0, PageRequest.of(0, pageSize + 1));
+		final var collection = orders.stream()
+				.limit(pageSize)
+				.map(OrderMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		return new DtoCursorPageResponse<>(collection, 
+				orders.size() > pageSize ? collection.get(pageSize - 1).getOrderId() : null);
+	}
+	
+	@Override
+	public DtoCursorPageResponse<OrderDto> findAllByCartIdAfter(final Integer cartId, final Integer afterOrderId, final Integer limit) {
+		log.info("*** OrderDto Page, service; fetch cart orders page after cursor *");
+		final int pageSize = pageSize(limit);
+		return page(this.orderRepository.findViewsByCartIdAfter(cartId, 
+				afterOrderId != null ? afterOrderId : 0, PageRequest.of(0, pageSize + 1)), pageSize);
+	}
+	
+	@Override
+	public DtoCursorPageResponse<OrderDto> findAllByUserIdAfter(final Integer userId, final Integer afterOrderId, final Integer limit) {
+		log.info("*** OrderDto Page, service; fetch user orders page after cursor *");
+		final int pageSize = pageSize(limit);
+		return page(this.orderRepository.findViewsByUserIdAfter(userId, 
+				afterOrderId != null ? afterOrderId : 0, PageRequest.of(0, pageSize + 1)), pageSize);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<OrderDto> consumer) {
+		log.info("*** OrderDto Stream, service; stream all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAllByOrderByOrderIdAsc()) {
+			orders.forEach(order -> {
+				consumer.accept(OrderMappingHelper.map(order));
+				this.entityManager.detach(order);
+			});
+		}
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
-		return this.orderRepository.findById(orderId)
+		return this.orderRepository.findViewById(orderId)
 				.map(OrderMappingHelper::map)
 				.orElseThrow(() -> new OrderNotFoundException(String
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	public List<OrderDto> findAllByIds(final Set<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		return this.orderRepository.findAllViewsById(orderIds)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
+		final var savedOrderDto = OrderMappingHelper.map(this.orderRepository
 				.save(OrderMappingHelper.map(orderDto)));
+		this.outboxService.append(OutboxEventType.ORDER_CREATED, savedOrderDto.getOrderId(), savedOrderDto);
+		return savedOrderDto;
 	}
 	
 	@Override
@@ -64,10 +138,41 @@ public class OrderServiceImpl implements OrderService {
 				.save(OrderMappingHelper.map(this.findById(orderId))));
 	}
 	
+	@Override
+	public int patch(final Integer orderId, final OrderDto orderDto) {
+		log.info("*** Integer, service; patch order with orderId *");
+		return this.orderRepository.patchById(orderId, orderDto);
+	}
+	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
-		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
+		if (this.orderRepository.deleteAllByIdIn(Set.of(orderId)) == 0)
+			throw new OrderNotFoundException(String.format("Order with id: %d not found", orderId));
+	}
+	
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> orderIds) {
+		log.info("*** DeleteOutcomeDto List, service; delete orders by ids *");
+		return BulkDeleteHelper.deleteAllByIds(orderIds, this.transactionTemplate, 
+				this.orderRepository::findIdsByIdIn, this.orderRepository::deleteAllByIdIn);
+	}
+	
+	private static int pageSize(final Integer limit) {
+		return Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_PAGE_LIMIT, 1), AppConstant.MAX_PAGE_LIMIT);
+	}
+	
+	/**
+	 * Maps a page fetched with one extra row; the extra row only tells that a next page exists.
+	 */
+	private static DtoCursorPageResponse<OrderDto> page(final List<OrderView> orderViews, final int pageSize) {
+		final var collection = orderViews.stream()
+				.limit(pageSize)
+				.map(OrderMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		return new DtoCursorPageResponse<>(collection, 
+				orderViews.size() > pageSize ? collection.get(pageSize - 1).getOrderId() : null);
 	}
 	
 	
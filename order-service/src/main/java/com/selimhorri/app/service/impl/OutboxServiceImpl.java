@@ -0,0 +1,147 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.helper.OutboxEventMappingHelper;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxService;
+import com.selimhorri.app.service.outbox.OutboxTransport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox: events are appended in the transaction of the write they describe, 
+ * so they exist exactly when the write committed. The relay drains them in event id order, 
+ * a batch per transaction, and marks a batch published only after the transport accepted it.
+ */
+@Service
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxTransport outboxTransport;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectWriter payloadWriter;
+	private final int batchSize;
+	private final Duration retention;
+	
+	public OutboxServiceImpl(final OutboxEventRepository outboxEventRepository, 
+			final OutboxTransport outboxTransport, 
+			final TransactionTemplate transactionTemplate, 
+			final ObjectMapper objectMapper, 
+			@Value("${app.outbox.batch-size:100}") final int batchSize, 
+			@Value("${app.outbox.retention:24h}") final Duration retention) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.outboxTransport = outboxTransport;
+		this.transactionTemplate = transactionTemplate;
+		this.payloadWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+		this.batchSize = Math.max(batchSize, 1);
+		this.retention = retention;
+	}
+	
+	@Override
+	@Transactional(TxType.MANDATORY)
+	public void append(final OutboxEventType eventType, final Integer aggregateId, final Object payload) {
+		this.outboxEventRepository.save(OutboxEvent.builder()
+				.aggregateType(eventType.getAggregateType())
+				.aggregateId(aggregateId)
+				.eventType(eventType)
+				.payload(this.serialize(payload))
+				.occurredAt(Instant.now())
+				.build());
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval:PT1S}")
+	public int relay() {
+		
+		int relayed = 0;
+		try {
+			int sent;
+			do {
+				sent = this.transactionTemplate.execute(status -> this.relayBatch());
+				relayed += sent;
+			} while (sent == this.batchSize);
+		}
+		catch (RuntimeException e) {
+			log.warn("*** Integer, service; outbox relay stopped after {} events, retrying on next run *", relayed, e);
+		}
+		
+		if (relayed > 0)
+			log.debug("*** Integer, service; relayed {} outbox events *", relayed);
+		return relayed;
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1H}")
+	public int purgePublished() {
+		final Instant before = Instant.now().minus(this.retention);
+		final Integer purged = this.transactionTemplate.execute(status -> 
+				this.outboxEventRepository.deleteAllPublishedBefore(before));
+		log.info("*** Integer, service; purged {} outbox events published before {} *", purged, before);
+		return purged != null ? purged : 0;
+	}
+	
+	private int relayBatch() {
+		
+		final var outboxEvents = this.outboxEventRepository
+				.findByPublishedAtIsNullOrderByEventIdAsc(PageRequest.of(0, this.batchSize));
+		if (outboxEvents.isEmpty())
+			return 0;
+		
+		try {
+			this.outboxTransport.send(outboxEvents.stream()
+					.map(OutboxEventMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.outboxEventRepository.markPublished(outboxEvents.stream()
+				.map(OutboxEvent::getEventId)
+				.collect(Collectors.toUnmodifiableList()), Instant.now());
+		
+		return outboxEvents.size();
+	}
+	
+	private String serialize(final Object payload) {
+		try {
+			return this.payloadWriter.writeValueAsString(payload);
+		}
+		catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,11 @@
+
+CREATE TABLE idempotency_keys (
+	idempotency_key VARCHAR(64) NOT NULL PRIMARY KEY,
+	request_hash VARCHAR(64) NOT NULL,
+	response_body VARCHAR(4000),
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
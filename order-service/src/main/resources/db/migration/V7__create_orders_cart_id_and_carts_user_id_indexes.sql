@@ -0,0 +1,5 @@
+
+CREATE INDEX idx_orders_cart_id_order_id ON orders (cart_id, order_id);
+
+CREATE INDEX idx_carts_user_id_cart_id ON carts (user_id, cart_id);
+
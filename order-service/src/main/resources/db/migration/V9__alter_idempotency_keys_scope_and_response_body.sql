@@ -0,0 +1,6 @@
+ALTER TABLE idempotency_keys ADD COLUMN scope VARCHAR(255) DEFAULT '' NOT NULL BEFORE idempotency_key;
+ALTER TABLE idempotency_keys DROP PRIMARY KEY;
+ALTER TABLE idempotency_keys ADD PRIMARY KEY (scope, idempotency_key);
+
+ALTER TABLE idempotency_keys ALTER COLUMN response_body CLOB;
+
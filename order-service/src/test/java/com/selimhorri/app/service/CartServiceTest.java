@@ -4,24 +4,43 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.impl.EnrichmentServiceImpl;
 import com.selimhorri.app.service.impl.CartServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,10 +50,15 @@ class CartServiceTest {
     @Mock
     private CartRepository cartRepository;
 
+    @Mock
+    private OrderRepository orderRepository;
+
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private CartServiceImpl cartService;
 
     private Cart cart;
@@ -43,6 +67,10 @@ class CartServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        cartService = new CartServiceImpl(cartRepository, orderRepository, restTemplate, new EnrichmentServiceImpl(restTemplate, Runnable::run, 1000L),
+                new TransactionTemplate(transactionManager));
+
         userDto = UserDto.builder()
                 .userId(1)
                 .firstName("John")
@@ -86,6 +114,92 @@ class CartServiceTest {
         verify(restTemplate).getForObject(anyString(), eq(UserDto.class));
     }
 
+    @Test
+    @DisplayName("Should look up each distinct user once and keep stubs for failed lookups")
+    void testFindAll_DeduplicatesAndToleratesFailedLookups() {
+        // Given
+        Cart sameUserCart = Cart.builder()
+                .cartId(2)
+                .userId(1)
+                .build();
+        Cart unknownUserCart = Cart.builder()
+                .cartId(3)
+                .userId(42)
+                .build();
+        when(cartRepository.findAll()).thenReturn(Arrays.asList(cart, sameUserCart, unknownUserCart));
+        when(restTemplate.getForObject(endsWith("/users/1"), eq(UserDto.class)))
+                .thenReturn(userDto);
+        when(restTemplate.getForObject(endsWith("/users/42"), eq(UserDto.class)))
+                .thenThrow(new RestClientException("User not found"));
+
+        // When
+        List<CartDto> result = cartService.findAll();
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals("John", result.get(1).getUserDto().getFirstName());
+        assertEquals(42, result.get(2).getUserDto().getUserId());
+        assertNull(result.get(2).getUserDto().getFirstName());
+        verify(restTemplate, times(1)).getForObject(endsWith("/users/1"), eq(UserDto.class));
+        verify(restTemplate, times(1)).getForObject(endsWith("/users/42"), eq(UserDto.class));
+    }
+
+    @Test
+    @DisplayName("Should enrich a keyset page of carts with one batched user lookup")
+    void testFindAllAfter_BatchesUserLookup() {
+        // Given
+        Cart nextCart = Cart.builder()
+                .cartId(2)
+                .userId(1)
+                .build();
+        Cart extraCart = Cart.builder()
+                .cartId(3)
+                .userId(42)
+                .build();
+        when(cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(0, PageRequest.of(0, 3)))
+                .thenReturn(List.of(cart, nextCart, extraCart));
+        when(restTemplate.exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto))));
+
+        // When
+        DtoCursorPageResponse<CartDto> result = cartService.findAllAfter(null, 2);
+
+        // Then
+        assertEquals(2, result.getCollection().size());
+        assertEquals(2, result.getNextCursor());
+        assertTrue(result.getCollection().stream().allMatch(c -> "John".equals(c.getUserDto().getFirstName())));
+        verify(restTemplate, times(1)).exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any());
+        verify(restTemplate, never()).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
+    }
+
+    @Test
+    @DisplayName("Should stream every cart page by page until the last page")
+    void testStreamAll_WalksPages() {
+        // Given
+        List<Cart> firstPage = IntStream.rangeClosed(1, 501)
+                .mapToObj(cartId -> Cart.builder().cartId(cartId).userId(1).build())
+                .collect(Collectors.toList());
+        when(cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(0, PageRequest.of(0, 501)))
+                .thenReturn(firstPage);
+        when(cartRepository.findByCartIdGreaterThanOrderByCartIdAsc(500, PageRequest.of(0, 501)))
+                .thenReturn(List.of(firstPage.get(500)));
+        when(restTemplate.exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(userDto))));
+
+        // When
+        List<CartDto> streamed = new ArrayList<>();
+        cartService.streamAll(streamed::add);
+
+        // Then
+        assertEquals(501, streamed.size());
+        assertEquals(501, streamed.get(500).getCartId());
+        verify(restTemplate, times(2)).exchange(contains("users/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any());
+    }
+
     @Test
     @DisplayName("Should find cart by ID")
     void testFindById_Success() {
@@ -119,7 +233,7 @@ class CartServiceTest {
         });
 
         verify(cartRepository).findById(999);
-        verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+        verify(restTemplate, never()).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
     }
 
     @Test
@@ -176,6 +290,47 @@ class CartServiceTest {
         verify(cartRepository).deleteById(1);
     }
 
+    @Test
+    @DisplayName("Should bulk delete existing carts with their orders and report missing ids")
+    void testDeleteAllByIds_Success() {
+        // Given
+        when(cartRepository.findIdsByIdIn(Set.of(1, 2, 3))).thenReturn(List.of(1, 3));
+        when(orderRepository.deleteAllByCartIdIn(Set.of(1, 3))).thenReturn(4);
+        when(cartRepository.deleteAllByIdIn(Set.of(1, 3))).thenReturn(2);
+
+        // When
+        List<DeleteOutcomeDto> result = cartService.deleteAllByIds(Set.of(3, 1, 2));
+
+        // Then
+        assertEquals(List.of(
+                new DeleteOutcomeDto(1, DeleteOutcomeDto.Outcome.DELETED),
+                new DeleteOutcomeDto(2, DeleteOutcomeDto.Outcome.NOT_FOUND),
+                new DeleteOutcomeDto(3, DeleteOutcomeDto.Outcome.DELETED)), result);
+        verify(orderRepository).deleteAllByCartIdIn(Set.of(1, 3));
+        verify(cartRepository, never()).findById(anyInt());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should commit each chunk on its own and report the ids of a failed chunk")
+    void testDeleteAllByIds_ChunkFailed() {
+        // Given
+        Set<Integer> firstChunk = IntStream.rangeClosed(1, 500).boxed().collect(Collectors.toSet());
+        when(cartRepository.findIdsByIdIn(firstChunk)).thenThrow(new DataAccessResourceFailureException("connection lost"));
+        when(cartRepository.findIdsByIdIn(Set.of(501))).thenReturn(List.of(501));
+
+        // When
+        List<DeleteOutcomeDto> result = cartService.deleteAllByIds(IntStream.rangeClosed(1, 501).boxed().collect(Collectors.toSet()));
+
+        // Then
+        assertEquals(501, result.size());
+        assertEquals(new DeleteOutcomeDto(1, DeleteOutcomeDto.Outcome.FAILED), result.get(0));
+        assertEquals(new DeleteOutcomeDto(501, DeleteOutcomeDto.Outcome.DELETED), result.get(500));
+        verify(cartRepository).deleteAllByIdIn(Set.of(501));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
     @Test
     @DisplayName("Should update cart with cart ID")
     void testUpdateWithCartId_Success() {
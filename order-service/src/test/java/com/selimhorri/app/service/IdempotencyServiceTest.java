@@ -0,0 +1,232 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.domain.IdempotencyKey;
+import com.selimhorri.app.domain.id.IdempotencyKeyId;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.IdempotentResponse;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
+import com.selimhorri.app.repository.IdempotencyKeyRepository;
+import com.selimhorri.app.service.impl.IdempotencyServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Service Unit Tests")
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "selimhorri";
+    private static final String KEY = "7d0f3c2e-order-retry";
+    private static final IdempotencyKeyId ID = new IdempotencyKeyId(SCOPE, KEY);
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private IdempotencyServiceImpl idempotencyService;
+    private OrderDto request;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepository,
+                new TransactionTemplate(transactionManager), objectMapper, Duration.ofHours(24), 100);
+        request = OrderDto.builder()
+                .orderDesc("Retried order")
+                .orderFee(29.99)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should run the action once and replay its response on a retry with the same key")
+    void testExecute_RetryReplayed() {
+        // Given
+        AtomicInteger saves = new AtomicInteger();
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.empty());
+
+        // When
+        IdempotentResponse<OrderDto> first = idempotencyService.execute(SCOPE, KEY, request, OrderDto.class, () -> save(saves));
+        IdempotentResponse<OrderDto> retry = idempotencyService.execute(SCOPE, KEY, request, OrderDto.class, () -> save(saves));
+
+        // Then
+        assertEquals(1, saves.get());
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed());
+        assertEquals(first.getBody(), retry.getBody());
+        verify(idempotencyKeyRepository, times(1)).insert(eq(SCOPE), eq(KEY), anyString());
+        verify(idempotencyKeyRepository, times(1)).complete(eq(SCOPE), eq(KEY), anyString());
+        verify(idempotencyKeyRepository, times(1)).findById(ID);
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent requests with the same key into one action")
+    void testExecute_ConcurrentDuplicatesCollapsed() throws Exception {
+        // Given
+        int callers = 8;
+        AtomicInteger saves = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.empty());
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<IdempotentResponse<OrderDto>>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++)
+            futures.add(executor.submit(() -> idempotencyService.execute(SCOPE, KEY, request, OrderDto.class, () -> {
+                awaitQuietly(release);
+                return save(saves);
+            })));
+        Thread.sleep(100);
+        release.countDown();
+        List<IdempotentResponse<OrderDto>> responses = new ArrayList<>();
+        for (Future<IdempotentResponse<OrderDto>> future : futures)
+            responses.add(future.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, saves.get());
+        assertEquals(1, responses.stream().filter(response -> !response.isReplayed()).count());
+        assertTrue(responses.stream().allMatch(response -> response.getBody().getOrderId().equals(1)));
+        verify(idempotencyKeyRepository, times(1)).insert(eq(SCOPE), eq(KEY), anyString());
+    }
+
+    @Test
+    @DisplayName("Should replay the response stored by another instance without running the action")
+    void testExecute_StoredElsewhere() throws Exception {
+        // Given
+        AtomicInteger saves = new AtomicInteger();
+        idempotencyService.execute(SCOPE, "fingerprint-probe", request, OrderDto.class, () -> save(saves));
+        when(idempotencyKeyRepository.findById(ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(storedKey(requestHashOf("fingerprint-probe"),
+                        OrderDto.builder().orderId(42).build(), Instant.now())));
+        when(idempotencyKeyRepository.insert(eq(SCOPE), eq(KEY), anyString()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        IdempotentResponse<OrderDto> response = idempotencyService.execute(SCOPE, KEY, request, OrderDto.class, () -> save(saves));
+
+        // Then
+        assertTrue(response.isReplayed());
+        assertEquals(42, response.getBody().getOrderId());
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void testExecute_KeyReusedForDifferentRequest() {
+        // Given
+        AtomicInteger saves = new AtomicInteger();
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.empty());
+        idempotencyService.execute(SCOPE, KEY, request, OrderDto.class, () -> save(saves));
+        OrderDto otherRequest = OrderDto.builder()
+                .orderDesc("Another order")
+                .orderFee(5.0)
+                .build();
+
+        // When & Then
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> idempotencyService.execute(SCOPE, KEY, otherRequest, OrderDto.class, () -> save(saves)));
+        assertEquals(1, saves.get());
+    }
+
+    @Test
+    @DisplayName("Should run the action again once the stored response outlived the ttl")
+    void testExecute_StoredExpired() throws Exception {
+        // Given
+        AtomicInteger saves = new AtomicInteger();
+        idempotencyService.execute(SCOPE, "fingerprint-probe", request, OrderDto.class, () -> save(saves));
+        IdempotencyKey expired = storedKey(requestHashOf("fingerprint-probe"),
+                OrderDto.builder().orderId(42).build(), Instant.now().minus(Duration.ofHours(25)));
+        when(idempotencyKeyRepository.findById(ID)).thenReturn(Optional.of(expired));
+
+        // When
+        IdempotentResponse<OrderDto> response = idempotencyService.execute(SCOPE, KEY, request, OrderDto.class, () -> save(saves));
+
+        // Then
+        assertFalse(response.isReplayed());
+        assertEquals(2, response.getBody().getOrderId());
+        verify(idempotencyKeyRepository).deleteExpired(eq(SCOPE), eq(KEY), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the same key of different users apart")
+    void testExecute_KeyScopedPerUser() {
+        // Given
+        AtomicInteger saves = new AtomicInteger();
+        when(idempotencyKeyRepository.findById(any(IdempotencyKeyId.class))).thenReturn(Optional.empty());
+
+        // When
+        IdempotentResponse<OrderDto> first = idempotencyService.execute("alice", KEY, request, OrderDto.class, () -> save(saves));
+        IdempotentResponse<OrderDto> second = idempotencyService.execute("bob", KEY, request, OrderDto.class, () -> save(saves));
+
+        // Then
+        assertFalse(first.isReplayed());
+        assertFalse(second.isReplayed());
+        assertEquals(2, saves.get());
+    }
+
+    private IdempotencyKey storedKey(String requestHash, OrderDto response, Instant createdAt) throws Exception {
+        IdempotencyKey idempotencyKey = IdempotencyKey.builder()
+                .scope(SCOPE)
+                .idempotencyKey(KEY)
+                .requestHash(requestHash)
+                .responseBody(objectMapper.writeValueAsString(response))
+                .build();
+        idempotencyKey.setCreatedAt(createdAt);
+        return idempotencyKey;
+    }
+
+    private OrderDto save(AtomicInteger saves) {
+        return OrderDto.builder()
+                .orderId(saves.incrementAndGet())
+                .orderDesc(request.getOrderDesc())
+                .orderFee(request.getOrderFee())
+                .build();
+    }
+
+    private String requestHashOf(String probedKey) {
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).insert(eq(SCOPE), eq(probedKey), hash.capture());
+        return hash.getValue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
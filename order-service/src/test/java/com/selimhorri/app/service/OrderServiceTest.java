@@ -6,8 +6,10 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.projection.OrderView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.impl.OrderServiceImpl;
@@ -32,11 +37,15 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
     private OrderDto orderDto;
     private Order order;
+    private OrderView orderView;
     private Cart cart;
     private CartDto cartDto;
 
@@ -69,14 +78,15 @@ class OrderServiceTest {
                 .orderFee(29.99)
                 .cart(cart)
                 .build();
+
+        orderView = new OrderView(1, order.getOrderDate(), "Test order description", 29.99, 1);
     }
 
     @Test
     @DisplayName("Should find all orders successfully")
     void testFindAll_Success() {
         // Given
-        List<Order> orders = Arrays.asList(order);
-        when(orderRepository.findAll()).thenReturn(orders);
+        when(orderRepository.findAllViews()).thenReturn(List.of(orderView));
 
         // When
         List<OrderDto> result = orderService.findAll();
@@ -87,14 +97,97 @@ class OrderServiceTest {
         assertEquals("Test order description", result.get(0).getOrderDesc());
         assertEquals(29.99, result.get(0).getOrderFee());
         assertEquals(1, result.get(0).getCartDto().getCartId());
-        verify(orderRepository, times(1)).findAll();
+        verify(orderRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should find orders by ids with one projection query")
+    void testFindAllByIds_Success() {
+        // Given
+        when(orderRepository.findAllViewsById(Set.of(1, 2))).thenReturn(List.of(orderView));
+
+        // When
+        List<OrderDto> result = orderService.findAllByIds(Set.of(1, 2));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getOrderId());
+        assertEquals(1, result.get(0).getCartDto().getCartId());
+        verify(orderRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return a keyset page with the last id as next cursor")
+    void testFindAllAfter_HasNextPage() {
+        // Given
+        Order nextOrder = Order.builder()
+                .orderId(2)
+                .build();
+        when(orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(0, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(order, nextOrder));
+
+        // When
+        DtoCursorPageResponse<OrderDto> result = orderService.findAllAfter(null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(1, result.getNextCursor());
+        verify(orderRepository, never()).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should return no next cursor on the last keyset page")
+    void testFindAllAfter_LastPage() {
+        // Given
+        when(orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(1, PageRequest.of(0, 11)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        DtoCursorPageResponse<OrderDto> result = orderService.findAllAfter(1, 10);
+
+        // Then
+        assertTrue(result.getCollection().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should page a cart's orders by keyset with the last id as next cursor")
+    void testFindAllByCartIdAfter_HasNextPage() {
+        // Given
+        OrderView nextOrderView = new OrderView(2, order.getOrderDate(), "Second order", 9.99, 1);
+        when(orderRepository.findViewsByCartIdAfter(1, 0, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(orderView, nextOrderView));
+
+        // When
+        DtoCursorPageResponse<OrderDto> result = orderService.findAllByCartIdAfter(1, null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(1, result.getNextCursor());
+        assertEquals(1, result.getCollection().iterator().next().getCartDto().getCartId());
+    }
+
+    @Test
+    @DisplayName("Should page a user's orders from the cursor with no next cursor on the last page")
+    void testFindAllByUserIdAfter_LastPage() {
+        // Given
+        when(orderRepository.findViewsByUserIdAfter(1, 1, PageRequest.of(0, 11)))
+                .thenReturn(Collections.singletonList(new OrderView(2, order.getOrderDate(), "Second order", 9.99, 1)));
+
+        // When
+        DtoCursorPageResponse<OrderDto> result = orderService.findAllByUserIdAfter(1, 1, 10);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, never()).findAllViews();
     }
 
     @Test
     @DisplayName("Should find order by id successfully")
     void testFindById_Success() {
         // Given
-        when(orderRepository.findById(1)).thenReturn(Optional.of(order));
+        when(orderRepository.findViewById(1)).thenReturn(Optional.of(orderView));
 
         // When
         OrderDto result = orderService.findById(1);
@@ -105,14 +198,14 @@ class OrderServiceTest {
         assertEquals("Test order description", result.getOrderDesc());
         assertEquals(29.99, result.getOrderFee());
         assertEquals(1, result.getCartDto().getCartId());
-        verify(orderRepository, times(1)).findById(1);
+        verify(orderRepository, times(1)).findViewById(1);
     }
 
     @Test
     @DisplayName("Should throw exception when order not found by id")
     void testFindById_OrderNotFound() {
         // Given
-        when(orderRepository.findById(999)).thenReturn(Optional.empty());
+        when(orderRepository.findViewById(999)).thenReturn(Optional.empty());
 
         // When & Then
         OrderNotFoundException exception = assertThrows(
@@ -121,7 +214,7 @@ class OrderServiceTest {
         );
         
         assertEquals("Order with id: 999 not found", exception.getMessage());
-        verify(orderRepository, times(1)).findById(999);
+        verify(orderRepository, times(1)).findViewById(999);
     }
 
     @Test
@@ -145,15 +238,25 @@ class OrderServiceTest {
     @DisplayName("Should delete order by id successfully")
     void testDeleteById_Success() {
         // Given
-        when(orderRepository.findById(1)).thenReturn(Optional.of(order));
-        doNothing().when(orderRepository).delete(any(Order.class));
+        when(orderRepository.deleteAllByIdIn(Set.of(1))).thenReturn(1);
 
         // When
         assertDoesNotThrow(() -> orderService.deleteById(1));
 
         // Then
-        verify(orderRepository, times(1)).findById(1);
-        verify(orderRepository, times(1)).delete(any(Order.class));
+        verify(orderRepository, times(1)).deleteAllByIdIn(Set.of(1));
+        verify(orderRepository, never()).findViewById(anyInt());
+        verify(orderRepository, never()).delete(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should throw OrderNotFoundException when deleting a missing order")
+    void testDeleteById_NotFound() {
+        // Given
+        when(orderRepository.deleteAllByIdIn(Set.of(999))).thenReturn(0);
+
+        // When & Then
+        assertThrows(OrderNotFoundException.class, () -> orderService.deleteById(999));
     }
 
     @Test
@@ -180,4 +283,36 @@ class OrderServiceTest {
         assertEquals(1, result.getCartDto().getCartId());
         verify(orderRepository, times(1)).save(any(Order.class));
     }
+
+    @Test
+    @DisplayName("Should patch order with a single update and without loading it")
+    void testPatch_Success() {
+        // Given
+        OrderDto patch = OrderDto.builder()
+                .orderFee(39.99)
+                .build();
+        when(orderRepository.patchById(1, patch)).thenReturn(1);
+
+        // When
+        int result = orderService.patch(1, patch);
+
+        // Then
+        assertEquals(1, result);
+        verify(orderRepository, times(1)).patchById(1, patch);
+        verify(orderRepository, never()).findViewById(anyInt());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should report no affected row when patching a missing order")
+    void testPatch_NotFound() {
+        // Given
+        when(orderRepository.patchById(eq(999), any(OrderDto.class))).thenReturn(0);
+
+        // When
+        int result = orderService.patch(999, orderDto);
+
+        // Then
+        assertEquals(0, result);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.dto.OutboxEventDto;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.impl.OutboxServiceImpl;
+import com.selimhorri.app.service.outbox.InMemoryOutboxTransport;
+import com.selimhorri.app.service.outbox.OutboxTransport;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Service Unit Tests")
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryOutboxTransport transport;
+    private List<OutboxEventDto> received;
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        transport = new InMemoryOutboxTransport();
+        received = new ArrayList<>();
+        transport.subscribe(received::add);
+        outboxService = newOutboxService(transport, 2);
+    }
+
+    @Test
+    @DisplayName("Should append the event with its serialized payload")
+    void testAppend_SerializesPayload() {
+        // When
+        outboxService.append(OutboxEventType.ORDER_CREATED, 7, Map.of("orderId", 7));
+
+        // Then
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        assertEquals("order", captor.getValue().getAggregateType());
+        assertEquals(7, captor.getValue().getAggregateId());
+        assertEquals("{\"orderId\":7}", captor.getValue().getPayload());
+        assertNull(captor.getValue().getPublishedAt());
+    }
+
+    @Test
+    @DisplayName("Should relay full batches until the outbox is drained and mark them published")
+    void testRelay_DrainsInBatches() {
+        // Given
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByEventIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        // When
+        int relayed = outboxService.relay();
+
+        // Then
+        assertEquals(3, relayed);
+        assertEquals(List.of(1L, 2L, 3L), received.stream().map(OutboxEventDto::getEventId).collect(Collectors.toList()));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should leave a batch unpublished when the transport fails")
+    void testRelay_TransportFailureKeepsBatch() throws IOException {
+        // Given
+        OutboxTransport failingTransport = mock(OutboxTransport.class);
+        doThrow(new IOException("disk full")).when(failingTransport).send(anyList());
+        outboxService = newOutboxService(failingTransport, 2);
+        when(outboxEventRepository.findByPublishedAtIsNullOrderByEventIdAsc(any(Pageable.class)))
+                .thenReturn(List.of(event(1L)));
+
+        // When
+        int relayed = outboxService.relay();
+
+        // Then
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any(Instant.class));
+        verify(transactionManager).rollback(any());
+    }
+
+    private OutboxServiceImpl newOutboxService(final OutboxTransport outboxTransport, final int batchSize) {
+        return new OutboxServiceImpl(outboxEventRepository, outboxTransport,
+                new TransactionTemplate(transactionManager), new ObjectMapper(), batchSize, Duration.ofHours(24));
+    }
+
+    private static OutboxEvent event(final Long eventId) {
+        return OutboxEvent.builder()
+                .eventId(eventId)
+                .aggregateType("order")
+                .aggregateId(eventId.intValue())
+                .eventType(OutboxEventType.ORDER_CREATED)
+                .payload("{}")
+                .occurredAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	PAYMENT_STATUS_CHANGED("payment");
+	
+	private final String aggregateType;
+	
+}
@@ -0,0 +1,19 @@
+package com.selimhorri.app.dto.projection;
+
+import com.selimhorri.app.domain.PaymentStatus;
+
+import lombok.Value;
+
+/**
+ * Read-only row selected column by column through a JPQL constructor expression, 
+ * so no Payment entity is hydrated, snapshotted or dirty-checked.
+ */
+@Value
+public class PaymentView {
+	
+	Integer paymentId;
+	Integer orderId;
+	Boolean isPayed;
+	PaymentStatus paymentStatus;
+	
+}
@@ -0,0 +1,71 @@
+package com.selimhorri.app.helper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
+
+public interface BulkDeleteHelper {
+	
+	/**
+	 * Deletes ids in ascending chunks of {@link AppConstant#BULK_DELETE_CHUNK_SIZE}: each chunk is one transaction 
+	 * that selects the ids that exist and removes them with one DELETE ... WHERE id IN statement, no entity being loaded. 
+	 * A chunk that fails is reported as failed ids and the deletion moves on. 
+	 * Returns one outcome per requested id, in ascending id order.
+	 */
+	public static List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> ids, 
+			final TransactionTemplate transactionTemplate, 
+			final Function<Set<Integer>, List<Integer>> existingIds, 
+			final ToIntFunction<Set<Integer>> deleteAll) {
+		
+		final var sortedIds = ids.stream()
+				.filter(Objects::nonNull)
+				.sorted()
+				.collect(Collectors.toList());
+		final var outcomes = new ArrayList<DeleteOutcomeDto>(sortedIds.size());
+		for (int from = 0; from < sortedIds.size(); from += AppConstant.BULK_DELETE_CHUNK_SIZE) {
+			final var chunk = sortedIds.subList(from, Math.min(from + AppConstant.BULK_DELETE_CHUNK_SIZE, sortedIds.size()));
+			try {
+				final Set<Integer> existing = transactionTemplate.execute(status -> {
+					final Set<Integer> chunkExisting = new HashSet<>(existingIds.apply(Set.copyOf(chunk)));
+					if (!chunkExisting.isEmpty())
+						deleteAll.applyAsInt(chunkExisting);
+					return chunkExisting;
+				});
+				chunk.forEach(id -> outcomes.add(new DeleteOutcomeDto(id, existing.contains(id) ? 
+						DeleteOutcomeDto.Outcome.DELETED : DeleteOutcomeDto.Outcome.NOT_FOUND)));
+			}
+			catch (final DataAccessException e) {
+				LoggerFactory.getLogger(BulkDeleteHelper.class)
+						.warn("*** DeleteOutcomeDto List, helper; chunk of {} ids failed *", chunk.size(), e);
+				chunk.forEach(id -> outcomes.add(new DeleteOutcomeDto(id, DeleteOutcomeDto.Outcome.FAILED)));
+			}
+		}
+		
+		return outcomes;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
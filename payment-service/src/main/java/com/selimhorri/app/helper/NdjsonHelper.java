@@ -0,0 +1,30 @@
+package com.selimhorri.app.helper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public interface NdjsonHelper {
+	
+	public static <T> Consumer<T> writer(final ObjectMapper objectMapper, final OutputStream outputStream) {
+		return dto -> {
+			try {
+				outputStream.write(objectMapper.writeValueAsBytes(dto));
+				outputStream.write('\n');
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+	
+}
+
+
+
+
+
+
@@ -3,6 +3,7 @@ package com.selimhorri.app.helper;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.projection.PaymentView;
 
 public interface PaymentMappingHelper {
 	
@@ -18,6 +19,18 @@ public interface PaymentMappingHelper {
 				.build();
 	}
 	
+	public static PaymentDto map(final PaymentView paymentView) {
+		return PaymentDto.builder()
+				.paymentId(paymentView.getPaymentId())
+				.isPayed(paymentView.getIsPayed())
+				.paymentStatus(paymentView.getPaymentStatus())
+				.orderDto(
+						OrderDto.builder()
+							.orderId(paymentView.getOrderId())
+							.build())
+				.build();
+	}
+	
 	public static Payment map(final PaymentDto paymentDto) {
 		return Payment.builder()
 				.paymentId(paymentDto.getPaymentId())
@@ -0,0 +1,34 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	
+	/**
+	 * Oldest unpublished events, locked so that relays on other instances wait instead of sending them twice.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<OutboxEvent> findByPublishedAtIsNullOrderByEventIdAsc(final Pageable pageable);
+	
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.eventId IN :eventIds")
+	int markPublished(@Param("eventIds") final Collection<Long> eventIds, @Param("publishedAt") final Instant publishedAt);
+	
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+	int deleteAllPublishedBefore(@Param("before") final Instant before);
+	
+}
@@ -1,11 +1,44 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.dto.projection.PaymentView;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.PaymentView(p.paymentId, p.orderId, p.isPayed, p.paymentStatus) FROM Payment p")
+	List<PaymentView> findAllViews();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.PaymentView(p.paymentId, p.orderId, p.isPayed, p.paymentStatus) FROM Payment p WHERE p.paymentId = :paymentId")
+	Optional<PaymentView> findViewById(@Param("paymentId") final Integer paymentId);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.PaymentView(p.paymentId, p.orderId, p.isPayed, p.paymentStatus) FROM Payment p WHERE p.paymentId > :afterPaymentId ORDER BY p.paymentId")
+	List<PaymentView> findViewsAfter(@Param("afterPaymentId") final Integer afterPaymentId, final Pageable pageable);
+	
+	@Query("SELECT p.paymentId FROM Payment p WHERE p.paymentId IN :paymentIds")
+	List<Integer> findIdsByIdIn(@Param("paymentIds") final Collection<Integer> paymentIds);
+	
+	@Modifying
+	@Query("DELETE FROM Payment p WHERE p.paymentId IN :paymentIds")
+	int deleteAllByIdIn(@Param("paymentIds") final Collection<Integer> paymentIds);
+	
 	
 	
 }
@@ -1,9 +1,12 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +15,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentResource {
 	
 	private final PaymentService paymentService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
@@ -35,6 +46,22 @@ public class PaymentResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
 	}
 	
+	@GetMapping("/page")
+	public ResponseEntity<DtoCursorPageResponse<PaymentDto>> findAllAfter(
+			@RequestParam(name = "after", required = false) final Integer afterPaymentId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** PaymentDto Page, resource; fetch payments page after cursor *");
+		return ResponseEntity.ok(this.paymentService.findAllAfter(afterPaymentId, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** PaymentDto Stream, resource; stream all payments *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.paymentService.streamAll(NdjsonHelper.writer(this.objectMapper, outputStream)));
+	}
+	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
@@ -62,6 +89,14 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.update(paymentDto));
 	}
 	
+	@PostMapping("/batch/delete")
+	public ResponseEntity<DtoCollectionResponse<DeleteOutcomeDto>> deleteAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final Set<Integer> paymentIds) {
+		log.info("*** DeleteOutcomeDto List, resource; delete payments by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.deleteAllByIds(paymentIds)));
+	}
+	
 	@DeleteMapping("/{paymentId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
 		log.info("*** Boolean, resource; delete payment by id *");
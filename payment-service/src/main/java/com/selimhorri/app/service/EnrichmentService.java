@@ -0,0 +1,24 @@
+package com.selimhorri.app.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+public interface EnrichmentService {
+	
+	<K, V> CompletableFuture<Map<K, V>> fetchAllAsync(final Collection<K> keys, final Function<K, V> lookup);
+	<T> CompletableFuture<Map<Integer, T>> fetchAllByIdsAsync(final String apiUrl, final Collection<Integer> ids, final Class<T> type);
+	<K, V> CompletableFuture<Map<K, V>> postAllAsync(final String apiUrl, final Collection<K> bodies, final ParameterizedTypeReference<V> responseType);
+	
+	default <K, V> Map<K, V> fetchAll(final Collection<K> keys, final Function<K, V> lookup) {
+		return this.fetchAllAsync(keys, lookup).join();
+	}
+	
+	default <T> Map<Integer, T> fetchAllByIds(final String apiUrl, final Collection<Integer> ids, final Class<T> type) {
+		return this.fetchAllByIdsAsync(apiUrl, ids, type).join();
+	}
+	
+}
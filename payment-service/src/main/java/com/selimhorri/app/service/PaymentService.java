@@ -1,15 +1,22 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	DtoCursorPageResponse<PaymentDto> findAllAfter(final Integer afterPaymentId, final Integer limit);
+	void streamAll(final Consumer<PaymentDto> consumer);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
+	List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> paymentIds);
 	
 }
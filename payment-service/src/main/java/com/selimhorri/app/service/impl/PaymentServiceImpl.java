@@ -1,19 +1,39 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.app.helper.BulkDeleteHelper;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.EnrichmentService;
+import com.selimhorri.app.service.OutboxService;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,27 +46,77 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
+	private final OutboxService outboxService;
 	private final RestTemplate restTemplate;
+	private final EnrichmentService enrichmentService;
+	private final TransactionTemplate transactionTemplate;
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public List<PaymentDto> findAll() {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		final var paymentDtos = this.paymentRepository.findAllViews()
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
+		
+		final var orderDtos = this.enrichmentService.fetchAllByIds(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, 
+				paymentDtos.stream().map(p -> p.getOrderDto().getOrderId()).collect(Collectors.toList()), OrderDto.class);
+		
+		return paymentDtos.stream()
+				.map(p -> {
+					p.setOrderDto(orderDtos.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto()));
+					return p;
+				})
+				.collect(Collectors.toUnmodifiableList());
 	}
 	
+	/**
+	 * The orders of a page are looked up with one multi-get, after the page has been read.
+	 */
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public DtoCursorPageResponse<PaymentDto> findAllAfter(final Integer afterPaymentId, final Integer limit) {
+		log.info("*** PaymentDto Page, service; fetch payments page after cursor *");
+		final int pageSize = Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_PAGE_LIMIT, 1), AppConstant.MAX_PAGE_LIMIT);
+		final var paymentViews = this.paymentRepository.findViewsAfter(
+				afterPaymentId != null ? afterPaymentId : 0, PageRequest.of(0, pageSize + 1));
+		final var paymentDtos = paymentViews.stream()
+				.limit(pageSize)
+				.map(PaymentMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		
+		final var orderDtos = this.fetchAllByIdsAsync(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch", 
+				paymentDtos.stream().map(p -> p.getOrderDto().getOrderId()).collect(Collectors.toSet()), 
+				new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {}, OrderDto::getOrderId).join();
+		paymentDtos.forEach(p -> p.setOrderDto(orderDtos.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto())));
+		
+		return new DtoCursorPageResponse<>(paymentDtos, 
+				paymentViews.size() > pageSize ? paymentDtos.get(pageSize - 1).getPaymentId() : null);
+	}
+	
+	/**
+	 * Walks the payments page by page, so no connection is held while the orders of a page are fetched.
+	 */
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public void streamAll(final Consumer<PaymentDto> consumer) {
+		log.info("*** PaymentDto Stream, service; stream all payments *");
+		Integer afterPaymentId = null;
+		do {
+			final var page = this.findAllAfter(afterPaymentId, AppConstant.MAX_PAGE_LIMIT);
+			page.getCollection().forEach(consumer);
+			afterPaymentId = page.getNextCursor();
+		}
+		while (afterPaymentId != null);
+	}
+	
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
-		return this.paymentRepository.findById(paymentId)
+		return this.paymentRepository.findViewById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
 					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
@@ -59,15 +129,24 @@ public class PaymentServiceImpl implements PaymentService {
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
+		final var savedPaymentDto = PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
+		this.appendStatusChange(null, savedPaymentDto);
+		return savedPaymentDto;
 	}
 	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
+		// loads the row the merge below reuses, so reading the previous status costs no extra select
+		final var previousStatus = paymentDto.getPaymentId() == null ? null : this.paymentRepository
+				.findById(paymentDto.getPaymentId())
+				.map(Payment::getPaymentStatus)
+				.orElse(null);
+		final var savedPaymentDto = PaymentMappingHelper.map(this.paymentRepository
 				.save(PaymentMappingHelper.map(paymentDto)));
+		this.appendStatusChange(previousStatus, savedPaymentDto);
+		return savedPaymentDto;
 	}
 	
 	@Override
@@ -76,6 +155,45 @@ public class PaymentServiceImpl implements PaymentService {
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> paymentIds) {
+		log.info("*** DeleteOutcomeDto List, service; delete payments by ids *");
+		return BulkDeleteHelper.deleteAllByIds(paymentIds, this.transactionTemplate, 
+				this.paymentRepository::findIdsByIdIn, this.paymentRepository::deleteAllByIdIn);
+	}
+	
+	private void appendStatusChange(final PaymentStatus previousStatus, final PaymentDto savedPaymentDto) {
+		if (savedPaymentDto.getPaymentStatus() != null && savedPaymentDto.getPaymentStatus() != previousStatus)
+			this.outboxService.append(OutboxEventType.PAYMENT_STATUS_CHANGED, savedPaymentDto.getPaymentId(), savedPaymentDto);
+	}
+	
+	/**
+	 * Resolves distinct ids through a remote multi-get endpoint, 
+	 * in chunks of {@link AppConstant#BATCH_LOOKUP_CHUNK_SIZE} ids fetched concurrently.
+	 */
+	private <T> CompletableFuture<Map<Integer, T>> fetchAllByIdsAsync(final String batchUrl, final Set<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final var idList = List.copyOf(ids);
+		final var chunks = new ArrayList<Set<Integer>>();
+		for (int from = 0; from < idList.size(); from += AppConstant.BATCH_LOOKUP_CHUNK_SIZE)
+			chunks.add(Set.copyOf(idList.subList(from, 
+					Math.min(from + AppConstant.BATCH_LOOKUP_CHUNK_SIZE, idList.size()))));
+		
+		return this.enrichmentService.postAllAsync(batchUrl, chunks, responseType)
+				.thenApply(responses -> {
+					final var dtos = new HashMap<Integer, T>(idList.size());
+					responses.values()
+							.stream()
+								.filter(response -> response.getCollection() != null)
+								.flatMap(response -> response.getCollection().stream())
+								.forEach(dto -> dtos.put(idExtractor.apply(dto), dto));
+					return dtos;
+				});
+	}
+	
 	
 	
 }
@@ -0,0 +1,74 @@
+package com.selimhorri.app.service.outbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.dto.OutboxEventDto;
+
+/**
+ * Appends events to a local NDJSON file, one envelope per line with the payload embedded as JSON; 
+ * each batch is forced to disk before it is acknowledged. Consumers tail the file and remember the last event id.
+ */
+public final class LocalFileOutboxTransport implements OutboxTransport, Closeable {
+	
+	private final ObjectMapper objectMapper;
+	private final ObjectWriter lineWriter;
+	private final FileChannel channel;
+	
+	public LocalFileOutboxTransport(final Path path, final ObjectMapper objectMapper) throws IOException {
+		this.objectMapper = objectMapper;
+		this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+		if (path.getParent() != null)
+			Files.createDirectories(path.getParent());
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+	
+	@Override
+	public synchronized void send(final List<OutboxEventDto> outboxEventDtos) throws IOException {
+		
+		final var lines = new StringBuilder();
+		for (final var outboxEventDto : outboxEventDtos) {
+			final var envelope = this.objectMapper.createObjectNode()
+					.put("eventId", outboxEventDto.getEventId())
+					.put("aggregateType", outboxEventDto.getAggregateType())
+					.put("aggregateId", outboxEventDto.getAggregateId())
+					.put("eventType", outboxEventDto.getEventType().name())
+					.put("occurredAt", outboxEventDto.getOccurredAt().toString());
+			envelope.set("payload", this.objectMapper.readTree(outboxEventDto.getPayload()));
+			lines.append(this.lineWriter.writeValueAsString(envelope)).append('\n');
+		}
+		
+		final var buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+		while (buffer.hasRemaining())
+			this.channel.write(buffer);
+		this.channel.force(false);
+	}
+	
+	@Override
+	public synchronized void close() throws IOException {
+		this.channel.close();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,11 @@
+CREATE TABLE outbox_events (
+	event_id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	aggregate_type VARCHAR(32) NOT NULL,
+	aggregate_id INT(11) NOT NULL,
+	event_type VARCHAR(32) NOT NULL,
+	payload VARCHAR(4000) NOT NULL,
+	occurred_at TIMESTAMP NOT NULL,
+	published_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_events_published_at_event_id ON outbox_events (published_at, event_id);
@@ -4,7 +4,6 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,17 +11,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.domain.OutboxEventType;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.projection.PaymentView;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.impl.EnrichmentServiceImpl;
 import com.selimhorri.app.service.impl.PaymentServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,18 +42,24 @@ class PaymentServiceTest {
     @Mock
     private PaymentRepository paymentRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private PaymentServiceImpl paymentService;
 
     private Payment payment;
+    private PaymentView paymentView;
     private PaymentDto paymentDto;
     private OrderDto orderDto;
 
     @BeforeEach
     void setUp() {
+        paymentService = new PaymentServiceImpl(paymentRepository, outboxService, restTemplate, new EnrichmentServiceImpl(restTemplate, Runnable::run, 1000L),
+                new TransactionTemplate());
+
         orderDto = OrderDto.builder()
                 .orderId(1)
                 .orderDesc("Test Order")
@@ -63,14 +79,15 @@ class PaymentServiceTest {
                 .paymentStatus(PaymentStatus.IN_PROGRESS)
                 .orderDto(orderDto)
                 .build();
+
+        paymentView = new PaymentView(1, 1, false, PaymentStatus.IN_PROGRESS);
     }
 
     @Test
     @DisplayName("Should find all payments")
     void testFindAll_Success() {
         // Given
-        List<Payment> payments = Arrays.asList(payment);
-        when(paymentRepository.findAll()).thenReturn(payments);
+        when(paymentRepository.findAllViews()).thenReturn(List.of(paymentView));
         when(restTemplate.getForObject(contains("orders"), eq(OrderDto.class)))
                 .thenReturn(orderDto);
 
@@ -85,15 +102,41 @@ class PaymentServiceTest {
         assertEquals(payment.getIsPayed(), result.get(0).getIsPayed());
         assertEquals(payment.getPaymentStatus(), result.get(0).getPaymentStatus());
 
-        verify(paymentRepository).findAll();
+        verify(paymentRepository).findAllViews();
         verify(restTemplate).getForObject(anyString(), eq(OrderDto.class));
     }
 
+    @Test
+    @DisplayName("Should enrich a keyset page of payments with one batched order lookup")
+    void testFindAllAfter_BatchesOrderLookup() {
+        // Given
+        PaymentView unknownOrderView = new PaymentView(2, 42, true, PaymentStatus.COMPLETED);
+        when(paymentRepository.findViewsAfter(1, PageRequest.of(0, 11)))
+                .thenReturn(List.of(paymentView, unknownOrderView));
+        when(restTemplate.exchange(contains("orders/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(orderDto))));
+
+        // When
+        DtoCursorPageResponse<PaymentDto> result = paymentService.findAllAfter(1, 10);
+
+        // Then
+        assertEquals(2, result.getCollection().size());
+        assertNull(result.getNextCursor());
+        List<PaymentDto> paymentDtos = List.copyOf(result.getCollection());
+        assertEquals("Test Order", paymentDtos.get(0).getOrderDto().getOrderDesc());
+        assertEquals(42, paymentDtos.get(1).getOrderDto().getOrderId());
+        assertNull(paymentDtos.get(1).getOrderDto().getOrderDesc());
+        verify(restTemplate, times(1)).exchange(contains("orders/batch"), eq(HttpMethod.POST), any(HttpEntity.class),
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>>any());
+        verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+    }
+
     @Test
     @DisplayName("Should find payment by ID")
     void testFindById_Success() {
         // Given
-        when(paymentRepository.findById(1)).thenReturn(Optional.of(payment));
+        when(paymentRepository.findViewById(1)).thenReturn(Optional.of(paymentView));
         when(restTemplate.getForObject(contains("orders"), eq(OrderDto.class)))
                 .thenReturn(orderDto);
 
@@ -107,7 +150,7 @@ class PaymentServiceTest {
         assertEquals(payment.getPaymentStatus(), result.getPaymentStatus());
         assertNotNull(result.getOrderDto());
 
-        verify(paymentRepository).findById(1);
+        verify(paymentRepository).findViewById(1);
         verify(restTemplate).getForObject(anyString(), eq(OrderDto.class));
     }
 
@@ -115,15 +158,15 @@ class PaymentServiceTest {
     @DisplayName("Should throw exception when payment not found")
     void testFindById_NotFound() {
         // Given
-        when(paymentRepository.findById(999)).thenReturn(Optional.empty());
+        when(paymentRepository.findViewById(999)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(PaymentNotFoundException.class, () -> {
             paymentService.findById(999);
         });
 
-        verify(paymentRepository).findById(999);
-        verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+        verify(paymentRepository).findViewById(999);
+        verify(restTemplate, never()).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
     }
 
     @Test
@@ -214,4 +257,38 @@ class PaymentServiceTest {
 
         verify(paymentRepository).save(any(Payment.class));
     }
+
+    @Test
+    @DisplayName("Should append a status change to the outbox when an update moves the payment status")
+    void testUpdate_StatusChangedAppendsOutboxEvent() {
+        // Given
+        Payment completedPayment = Payment.builder()
+                .paymentId(1)
+                .orderId(1)
+                .isPayed(true)
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .build();
+        when(paymentRepository.findById(1)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(completedPayment);
+
+        // When
+        PaymentDto result = paymentService.update(paymentDto);
+
+        // Then
+        verify(outboxService).append(OutboxEventType.PAYMENT_STATUS_CHANGED, 1, result);
+    }
+
+    @Test
+    @DisplayName("Should not append to the outbox when an update keeps the payment status")
+    void testUpdate_StatusUnchangedAppendsNothing() {
+        // Given
+        when(paymentRepository.findById(1)).thenReturn(Optional.of(payment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
+
+        // When
+        paymentService.update(paymentDto);
+
+        // Then
+        verifyNoInteractions(outboxService);
+    }
 } 
\ No newline at end of file
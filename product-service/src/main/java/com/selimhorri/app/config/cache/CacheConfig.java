@@ -0,0 +1,98 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process product caches. The caching advice wraps the transactional advice, 
+ * so entries are only populated or evicted once the surrounding transaction has completed. 
+ * Both caches are bounded by weight, a list weighing as many products as it holds. 
+ * Product lists get their own budget, so one listing of the whole catalog never competes 
+ * with the single products for room, and a list over that budget is not cached at all.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+	
+	public static final String PRODUCTS_CACHE = "products";
+	public static final String PRODUCT_LISTS_CACHE = "productLists";
+	public static final String MISSING_PRODUCT_IDS_CACHE = "missingProductIds";
+	
+	private final long listsMaximumWeight;
+	
+	public CacheConfig(@Value("${app.cache.product-lists.maximum-weight:50000}") final long listsMaximumWeight) {
+		this.listsMaximumWeight = listsMaximumWeight;
+	}
+	
+	/**
+	 * Products the lists cache holds in total, referenced by the unless condition of cached listings.
+	 */
+	public long getListsMaximumWeight() {
+		return this.listsMaximumWeight;
+	}
+	
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${app.cache.products.maximum-weight:10000}") final long maximumWeight, 
+			@Value("${app.cache.products.expire-after-write:5m}") final Duration expireAfterWrite, 
+			@Value("${app.cache.product-lists.expire-after-write:5m}") final Duration listsExpireAfterWrite) {
+		
+		final var cacheManager = new CaffeineCacheManager();
+		cacheManager.setCaffeine(Caffeine.newBuilder()
+				.maximumWeight(maximumWeight)
+				.weigher(CacheConfig::weigh)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats());
+		cacheManager.setCacheNames(List.of(PRODUCTS_CACHE));
+		cacheManager.registerCustomCache(PRODUCT_LISTS_CACHE, Caffeine.newBuilder()
+				.maximumWeight(this.listsMaximumWeight)
+				.weigher(CacheConfig::weigh)
+				.expireAfterWrite(listsExpireAfterWrite)
+				.recordStats()
+				.build());
+		
+		return cacheManager;
+	}
+	
+	/**
+	 * Short-lived negative cache of product ids that were not found, 
+	 * holding the stackless exception to rethrow on repeated lookups.
+	 */
+	@Bean
+	public Cache<Integer, ProductNotFoundException> missingProductIds(
+			@Value("${app.cache.missing-products.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.cache.missing-products.expire-after-write:30s}") final Duration expireAfterWrite, 
+			final MeterRegistry meterRegistry) {
+		
+		final Cache<Integer, ProductNotFoundException> cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		
+		return CaffeineCacheMetrics.monitor(meterRegistry, cache, MISSING_PRODUCT_IDS_CACHE);
+	}
+	
+	private static int weigh(final Object key, final Object value) {
+		return value instanceof Collection ? Math.max(1, ((Collection<?>) value).size()) : 1;
+	}
+	
+	
+	
+}
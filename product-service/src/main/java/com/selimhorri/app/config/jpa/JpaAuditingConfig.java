@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.jpa;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Fills the created / updated timestamps of {@link com.selimhorri.app.domain.AbstractMappedEntity} 
+ * on every entity write; they back the validators of conditional reads.
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+
+
+
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,29 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	public static final int DEFAULT_PAGE_LIMIT = 50;
+	public static final int MAX_PAGE_LIMIT = 500;
+	public static final String STREAM_FETCH_SIZE = "500";
+	public static final int BULK_DELETE_CHUNK_SIZE = 500;
+	
+	public static final int DEFAULT_SEARCH_LIMIT = 20;
+	public static final int MAX_SEARCH_LIMIT = 100;
+	
+	/**
+	 * Second-level cache region names; they must not contain dots, since the Caffeine JCache provider 
+	 * resolves application.conf entries by config path and would otherwise never find them.
+	 */
+	public static final String CATEGORY_CACHE_REGION = "categoryEntities";
+	public static final String PRODUCT_CACHE_REGION = "productEntities";
+	public static final String CATEGORY_LISTINGS_CACHE_REGION = "categoryListings";
+	
+	/**
+	 * Product ids come from this sequence in blocks: a fetched value v reserves v to v + size - 1 (pooled-lo), 
+	 * both for entity saves and for JDBC batch imports.
+	 */
+	public static final String PRODUCT_ID_SEQUENCE = "products_seq";
+	public static final String PRODUCT_ID_ALLOCATION_SIZE = "50";
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -0,0 +1,58 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Net units of a hot product's in-memory counter already applied to its quantity column, 
+ * for the process epoch that owned the counter, and the lease of the instance that owns the counter now.
+ */
+@Entity
+@Table(name = "hot_stock_watermarks")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class HotStockWatermark extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "product_id", unique = true, nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "epoch", nullable = false)
+	private Long epoch;
+	
+	@Column(name = "flushed_taken", nullable = false)
+	private Long flushedTaken;
+	
+	@Column(name = "owner_id")
+	private String ownerId;
+	
+	@Column(name = "lease_expires_at")
+	private Instant leaseExpiresAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
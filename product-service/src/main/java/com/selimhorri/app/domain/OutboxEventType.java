@@ -0,0 +1,16 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	PRODUCT_CHANGED("product"),
+	PRODUCT_DELETED("product"),
+	PRODUCT_STOCK_CHANGED("product");
+	
+	private final String aggregateType;
+	
+}
@@ -0,0 +1,19 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum StockReservationStatus {
+	
+	RESERVED("reserved"),
+	CONFIRMED("confirmed"),
+	RELEASED("released");
+	
+	private final String status;
+	
+}
+
+
+
@@ -0,0 +1,25 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whole category tree as of one snapshot version; the version increases on every category write.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CategoryTreeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long version;
+	private List<CategoryTreeNodeDto> roots;
+	
+}
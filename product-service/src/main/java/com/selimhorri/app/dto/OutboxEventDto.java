@@ -0,0 +1,42 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.selimhorri.app.domain.OutboxEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OutboxEventDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long eventId;
+	private String aggregateType;
+	private Integer aggregateId;
+	private OutboxEventType eventType;
+	
+	/**
+	 * The event body as a JSON document.
+	 */
+	private String payload;
+	private Instant occurredAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
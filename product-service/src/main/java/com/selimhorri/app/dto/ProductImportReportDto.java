@@ -0,0 +1,36 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductImportReportDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private long rowsRead;
+	private long inserted;
+	private long updated;
+	private long rejected;
+	private long elapsedMillis;
+	private long rowsPerSecond;
+	private List<String> errors;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,41 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One supplier catalog row; the category is given either by id or by title.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportRowDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private String sku;
+	private String productTitle;
+	private String imageUrl;
+	private Double priceUnit;
+	private Integer quantity;
+	private Integer categoryId;
+	private String categoryTitle;
+	
+}
+
+
+
+
+
+
+
+
+
+
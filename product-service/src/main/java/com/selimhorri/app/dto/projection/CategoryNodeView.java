@@ -0,0 +1,16 @@
+package com.selimhorri.app.dto.projection;
+
+import lombok.Value;
+
+/**
+ * One category with only its parent id, the row shape the in-memory category tree is built from.
+ */
+@Value
+public class CategoryNodeView {
+	
+	Integer categoryId;
+	Integer parentCategoryId;
+	String categoryTitle;
+	String imageUrl;
+	
+}
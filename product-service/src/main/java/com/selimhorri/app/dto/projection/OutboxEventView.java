@@ -0,0 +1,15 @@
+package com.selimhorri.app.dto.projection;
+
+import lombok.Value;
+
+/**
+ * Outbox row without its payload, for readers that only need to know which aggregate changed.
+ */
+@Value
+public class OutboxEventView {
+	
+	Long eventId;
+	String aggregateType;
+	Integer aggregateId;
+	
+}
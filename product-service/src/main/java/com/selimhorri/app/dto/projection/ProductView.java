@@ -0,0 +1,22 @@
+package com.selimhorri.app.dto.projection;
+
+import lombok.Value;
+
+/**
+ * Read-only row selected column by column through a JPQL constructor expression, 
+ * so no Product entity is hydrated, snapshotted or dirty-checked.
+ */
+@Value
+public class ProductView {
+	
+	Integer productId;
+	String productTitle;
+	String imageUrl;
+	String sku;
+	Double priceUnit;
+	Integer quantity;
+	Integer categoryId;
+	String categoryTitle;
+	String categoryImageUrl;
+	
+}
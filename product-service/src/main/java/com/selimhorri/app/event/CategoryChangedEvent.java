@@ -0,0 +1,20 @@
+package com.selimhorri.app.event;
+
+import com.selimhorri.app.dto.projection.CategoryNodeView;
+
+import lombok.Value;
+
+/**
+ * Published by category writes; node is the saved category, or null when the category was deleted.
+ */
+@Value
+public class CategoryChangedEvent {
+	
+	Integer categoryId;
+	CategoryNodeView node;
+	
+	public boolean isDeleted() {
+		return this.node == null;
+	}
+	
+}
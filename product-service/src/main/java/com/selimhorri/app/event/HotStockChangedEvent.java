@@ -0,0 +1,19 @@
+package com.selimhorri.app.event;
+
+import lombok.Value;
+
+/**
+ * Published when units are taken from or given back to a hot product's in-memory counter; 
+ * quantity is negative for takes and positive for give-backs.
+ */
+@Value
+public class HotStockChangedEvent {
+	
+	Integer productId;
+	int quantity;
+	
+	public boolean isTaken() {
+		return this.quantity < 0;
+	}
+	
+}
@@ -0,0 +1,20 @@
+package com.selimhorri.app.event;
+
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.Value;
+
+/**
+ * Published by product writes; productDto is the saved product, or null when the product was deleted.
+ */
+@Value
+public class ProductChangedEvent {
+	
+	Integer productId;
+	ProductDto productDto;
+	
+	public boolean isDeleted() {
+		return this.productDto == null;
+	}
+	
+}
@@ -0,0 +1,15 @@
+package com.selimhorri.app.event;
+
+import java.util.Set;
+
+import lombok.Value;
+
+/**
+ * Published by stock reservations and releases; productIds are the products whose quantity moved.
+ */
+@Value
+public class StockChangedEvent {
+	
+	Set<Integer> productIds;
+	
+}
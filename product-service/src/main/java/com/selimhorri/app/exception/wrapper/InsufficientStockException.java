@@ -0,0 +1,39 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InsufficientStockException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InsufficientStockException() {
+		super();
+	}
+	
+	public InsufficientStockException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	/**
+	 * Running out of stock is an expected outcome under contention, 
+	 * so message-only instances skip suppression and stack trace capture.
+	 */
+	public InsufficientStockException(String message) {
+		super(message, null, false, false);
+	}
+	
+	public InsufficientStockException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,39 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class StockReservationNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public StockReservationNotFoundException() {
+		super();
+	}
+	
+	public StockReservationNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	/**
+	 * Not-found is an expected outcome on lookups, 
+	 * so message-only instances skip suppression and stack trace capture.
+	 */
+	public StockReservationNotFoundException(String message) {
+		super(message, null, false, false);
+	}
+	
+	public StockReservationNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
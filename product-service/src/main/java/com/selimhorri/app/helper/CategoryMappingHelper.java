@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.projection.CategoryNodeView;
 
 public interface CategoryMappingHelper {
 	
@@ -43,6 +44,14 @@ public interface CategoryMappingHelper {
 				.build();
 	}
 	
+	public static CategoryNodeView mapNode(final Category category) {
+		return new CategoryNodeView(
+				category.getCategoryId(), 
+				category.getParentCategory() != null ? category.getParentCategory().getCategoryId() : null, 
+				category.getCategoryTitle(), 
+				category.getImageUrl());
+	}
+	
 	
 	
 }
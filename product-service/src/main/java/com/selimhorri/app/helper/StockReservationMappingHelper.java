@@ -0,0 +1,38 @@
+package com.selimhorri.app.helper;
+
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+
+public interface StockReservationMappingHelper {
+	
+	public static StockReservationDto map(final StockReservation stockReservation) {
+		return StockReservationDto.builder()
+				.reservationId(stockReservation.getReservationId())
+				.status(stockReservation.getStatus())
+				.expiresAt(stockReservation.getExpiresAt())
+				.itemDtos(stockReservation.getItems()
+						.stream()
+							.map(item -> StockReservationItemDto.builder()
+									.productId(item.getProductId())
+									.quantity(item.getQuantity())
+									.build())
+							.collect(Collectors.toUnmodifiableList()))
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,66 @@
+package com.selimhorri.app.job;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.ProductImportService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Command-line import: started with --app.import.file=catalog.csv (or .ndjson / .jsonl), 
+ * the service imports the file once it is up and, unless app.import.exit-on-completion is false, 
+ * exits with status 1 when any row was rejected and 0 otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+@Slf4j
+public class ProductImportJob implements ApplicationRunner {
+	
+	private final ProductImportService productImportService;
+	private final ConfigurableApplicationContext applicationContext;
+	private final Path file;
+	private final boolean exitOnCompletion;
+	
+	public ProductImportJob(final ProductImportService productImportService, 
+			final ConfigurableApplicationContext applicationContext, 
+			@Value("${app.import.file}") final Path file, 
+			@Value("${app.import.exit-on-completion:true}") final boolean exitOnCompletion) {
+		this.productImportService = productImportService;
+		this.applicationContext = applicationContext;
+		this.file = file;
+		this.exitOnCompletion = exitOnCompletion;
+	}
+	
+	@Override
+	public void run(final ApplicationArguments args) {
+		
+		log.info("*** ProductImportReportDto, job; import products from {} *", this.file);
+		final var fileName = this.file.getFileName().toString().toLowerCase();
+		final long rejected;
+		try (final var inputStream = Files.newInputStream(this.file)) {
+			rejected = (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl") ? 
+					this.productImportService.importNdjson(inputStream) : 
+					this.productImportService.importCsv(inputStream)).getRejected();
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		if (this.exitOnCompletion)
+			System.exit(SpringApplication.exit(this.applicationContext, () -> rejected > 0 ? 1 : 0));
+	}
+	
+	
+	
+}
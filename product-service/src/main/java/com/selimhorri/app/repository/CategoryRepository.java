@@ -1,11 +1,59 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.projection.CategoryNodeView;
+import com.selimhorri.app.dto.projection.VersionView;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	/**
+	 * Category listings are served from the query cache; together with the 
+	 * entity cache on {@link Category} a warm listing issues no statement at all.
+	 */
+	@Override
+	@QueryHints({
+		@QueryHint(name = HINT_CACHEABLE, value = "true"), 
+		@QueryHint(name = HINT_CACHE_REGION, value = AppConstant.CATEGORY_LISTINGS_CACHE_REGION)})
+	List<Category> findAll();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.CategoryNodeView(c.categoryId, p.categoryId, c.categoryTitle, c.imageUrl) FROM Category c LEFT JOIN c.parentCategory p")
+	List<CategoryNodeView> findAllNodeViews();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.VersionView(COUNT(c), MAX(COALESCE(c.updatedAt, c.createdAt)), MAX(COALESCE(p.updatedAt, p.createdAt))) FROM Category c LEFT JOIN c.parentCategory p")
+	VersionView findVersion();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.VersionView(COUNT(c), MAX(COALESCE(c.updatedAt, c.createdAt)), MAX(COALESCE(p.updatedAt, p.createdAt))) FROM Category c LEFT JOIN c.parentCategory p WHERE c.categoryId = :categoryId")
+	VersionView findVersionById(@Param("categoryId") final Integer categoryId);
+	
+	@EntityGraph(attributePaths = "parentCategory")
+	List<Category> findByCategoryIdGreaterThanOrderByCategoryIdAsc(final Integer categoryId, final Pageable pageable);
 	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true")})
+	@EntityGraph(attributePaths = "parentCategory")
+	Stream<Category> streamAllByOrderByCategoryIdAsc();
 	
 }
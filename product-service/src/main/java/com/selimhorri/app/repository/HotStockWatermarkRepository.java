@@ -0,0 +1,29 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.HotStockWatermark;
+
+public interface HotStockWatermarkRepository extends JpaRepository<HotStockWatermark, Integer> {
+	
+	/**
+	 * Takes or renews the lease on the given rows, skipping rows whose unexpired lease belongs to another owner; 
+	 * returns how many rows the owner now holds.
+	 */
+	@Modifying
+	@Query("UPDATE HotStockWatermark w SET w.ownerId = :ownerId, w.leaseExpiresAt = :leaseExpiresAt "
+			+ "WHERE w.productId IN :productIds AND (w.ownerId IS NULL OR w.ownerId = :ownerId OR w.leaseExpiresAt < :now)")
+	int acquireLeases(@Param("productIds") final Collection<Integer> productIds, @Param("ownerId") final String ownerId, 
+			@Param("now") final Instant now, @Param("leaseExpiresAt") final Instant leaseExpiresAt);
+	
+	@Modifying
+	@Query("UPDATE HotStockWatermark w SET w.ownerId = NULL, w.leaseExpiresAt = NULL WHERE w.ownerId = :ownerId")
+	int releaseLeases(@Param("ownerId") final String ownerId);
+	
+}
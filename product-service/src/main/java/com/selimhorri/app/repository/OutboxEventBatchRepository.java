@@ -0,0 +1,48 @@
+package com.selimhorri.app.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.selimhorri.app.domain.OutboxEvent;
+
+/**
+ * Appends outbox events as one JDBC batch; event ids come from the identity column, 
+ * which would otherwise force Hibernate to insert the rows one statement at a time.
+ */
+@Repository
+public class OutboxEventBatchRepository {
+	
+	private static final String INSERT_OUTBOX_EVENT = "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, occurred_at) VALUES (?, ?, ?, ?, ?)";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public OutboxEventBatchRepository(final JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+	
+	public void insertAll(final List<OutboxEvent> outboxEvents) {
+		this.jdbcTemplate.batchUpdate(INSERT_OUTBOX_EVENT, outboxEvents, outboxEvents.size(), (statement, outboxEvent) -> {
+			statement.setString(1, outboxEvent.getAggregateType());
+			statement.setInt(2, outboxEvent.getAggregateId());
+			statement.setString(3, outboxEvent.getEventType().name());
+			statement.setString(4, outboxEvent.getPayload());
+			statement.setTimestamp(5, Timestamp.from(outboxEvent.getOccurredAt()));
+		});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,92 @@
+package com.selimhorri.app.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Plain JDBC writes for bulk imports: statements go out in JDBC batches and bypass 
+ * the persistence context, so callers must evict any cached products they touch.
+ */
+@Repository
+public class ProductBatchRepository {
+	
+	private static final String INSERT_PRODUCT = "INSERT INTO products (product_id, category_id, product_title, image_url, sku, price_unit, quantity, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String UPDATE_PRODUCT = "UPDATE products SET category_id = ?, product_title = ?, image_url = ?, price_unit = ?, quantity = ?, updated_at = ? WHERE product_id = ?";
+	private static final String SELECT_IDS_BY_SKUS = "SELECT sku, product_id FROM products WHERE sku IN (:skus)";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+	private final String nextIdBlockSql;
+	
+	public ProductBatchRepository(final JdbcTemplate jdbcTemplate, 
+			final NamedParameterJdbcTemplate namedParameterJdbcTemplate, 
+			final EntityManagerFactory entityManagerFactory) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+		this.nextIdBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getJdbcServices()
+				.getDialect()
+				.getSequenceNextValString(AppConstant.PRODUCT_ID_SEQUENCE);
+	}
+	
+	/**
+	 * First id of the next block reserved on the product sequence.
+	 */
+	public long nextIdBlock() {
+		return this.jdbcTemplate.queryForObject(this.nextIdBlockSql, Long.class);
+	}
+	
+	public Map<String, Integer> findIdsBySkus(final Collection<String> skus) {
+		final Map<String, Integer> productIds = new HashMap<>();
+		if (!skus.isEmpty())
+			this.namedParameterJdbcTemplate.query(SELECT_IDS_BY_SKUS, Map.of("skus", skus), resultSet -> {
+				productIds.put(resultSet.getString(1), resultSet.getInt(2));
+			});
+		return productIds;
+	}
+	
+	public void insertAll(final List<ProductDto> productDtos) {
+		final var now = Timestamp.valueOf(LocalDateTime.now());
+		this.jdbcTemplate.batchUpdate(INSERT_PRODUCT, productDtos, productDtos.size(), (statement, productDto) -> {
+			statement.setInt(1, productDto.getProductId());
+			statement.setObject(2, productDto.getCategoryDto().getCategoryId(), Types.INTEGER);
+			statement.setString(3, productDto.getProductTitle());
+			statement.setString(4, productDto.getImageUrl());
+			statement.setString(5, productDto.getSku());
+			statement.setObject(6, productDto.getPriceUnit(), Types.DOUBLE);
+			statement.setObject(7, productDto.getQuantity(), Types.INTEGER);
+			statement.setTimestamp(8, now);
+		});
+	}
+	
+	public void updateAll(final List<ProductDto> productDtos) {
+		final var now = Timestamp.valueOf(LocalDateTime.now());
+		this.jdbcTemplate.batchUpdate(UPDATE_PRODUCT, productDtos, productDtos.size(), (statement, productDto) -> {
+			statement.setObject(1, productDto.getCategoryDto().getCategoryId(), Types.INTEGER);
+			statement.setString(2, productDto.getProductTitle());
+			statement.setString(3, productDto.getImageUrl());
+			statement.setObject(4, productDto.getPriceUnit(), Types.DOUBLE);
+			statement.setObject(5, productDto.getQuantity(), Types.INTEGER);
+			statement.setTimestamp(6, now);
+			statement.setInt(7, productDto.getProductId());
+		});
+	}
+	
+	
+	
+}
@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import com.selimhorri.app.dto.ProductDto;
+
+public interface ProductPatchRepository {
+	
+	/**
+	 * Assigns only the non-null fields of the product dto in one UPDATE ... WHERE id statement, 
+	 * without loading the product; returns the number of updated rows.
+	 */
+	int patchById(final Integer productId, final ProductDto productDto);
+	
+}
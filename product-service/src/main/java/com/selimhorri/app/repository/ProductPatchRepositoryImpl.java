@@ -0,0 +1,56 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+
+public class ProductPatchRepositoryImpl implements ProductPatchRepository {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	public int patchById(final Integer productId, final ProductDto productDto) {
+		
+		final var criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		final var update = criteriaBuilder.createCriteriaUpdate(Product.class);
+		final var product = update.from(Product.class);
+		
+		if (productDto.getProductTitle() != null)
+			update.set(product.<String>get("productTitle"), productDto.getProductTitle());
+		if (productDto.getImageUrl() != null)
+			update.set(product.<String>get("imageUrl"), productDto.getImageUrl());
+		if (productDto.getSku() != null)
+			update.set(product.<String>get("sku"), productDto.getSku());
+		if (productDto.getPriceUnit() != null)
+			update.set(product.<Double>get("priceUnit"), productDto.getPriceUnit());
+		if (productDto.getQuantity() != null)
+			update.set(product.<Integer>get("quantity"), productDto.getQuantity());
+		if (productDto.getCategoryDto() != null && productDto.getCategoryDto().getCategoryId() != null)
+			update.set(product.<Category>get("category"), Category.builder()
+					.categoryId(productDto.getCategoryDto().getCategoryId())
+					.build());
+		update.set(product.<Instant>get("updatedAt"), Instant.now());
+		update.where(criteriaBuilder.equal(product.get("productId"), productId));
+		
+		return this.entityManager.createQuery(update).executeUpdate();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
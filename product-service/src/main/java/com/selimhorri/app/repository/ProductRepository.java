@@ -1,11 +1,98 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.projection.ProductView;
+import com.selimhorri.app.dto.projection.VersionView;
 
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductPatchRepository {
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.ProductView(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, c.categoryId, c.categoryTitle, c.imageUrl) FROM Product p LEFT JOIN p.category c")
+	List<ProductView> findAllViews();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.ProductView(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, c.categoryId, c.categoryTitle, c.imageUrl) FROM Product p LEFT JOIN p.category c WHERE p.productId = :productId")
+	Optional<ProductView> findViewById(@Param("productId") final Integer productId);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.ProductView(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, c.categoryId, c.categoryTitle, c.imageUrl) FROM Product p LEFT JOIN p.category c WHERE p.productId IN :productIds")
+	List<ProductView> findAllViewsById(@Param("productIds") final Collection<Integer> productIds);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.ProductView(p.productId, p.productTitle, p.imageUrl, p.sku, p.priceUnit, p.quantity, c.categoryId, c.categoryTitle, c.imageUrl) FROM Product p JOIN p.category c WHERE c.categoryId IN :categoryIds ORDER BY p.productId")
+	List<ProductView> findAllViewsByCategoryIds(@Param("categoryIds") final Collection<Integer> categoryIds);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.VersionView(COUNT(p), MAX(COALESCE(p.updatedAt, p.createdAt)), MAX(COALESCE(c.updatedAt, c.createdAt))) FROM Product p LEFT JOIN p.category c")
+	VersionView findVersion();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.VersionView(COUNT(p), MAX(COALESCE(p.updatedAt, p.createdAt)), MAX(COALESCE(c.updatedAt, c.createdAt))) FROM Product p LEFT JOIN p.category c WHERE p.productId = :productId")
+	VersionView findVersionById(@Param("productId") final Integer productId);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT p.productTitle FROM Product p WHERE p.productTitle IS NOT NULL")
+	List<String> findAllTitles();
+	
+	@EntityGraph(attributePaths = "category")
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true")})
+	@EntityGraph(attributePaths = "category")
+	Stream<Product> streamAllByOrderByProductIdAsc();
+	
+	/**
+	 * Takes stock in a single conditional statement; 0 updated rows means 
+	 * the product is missing or has less than the requested quantity left.
+	 */
+	default int decrementQuantity(final Integer productId, final Integer quantity) {
+		return this.decrementQuantity(productId, quantity, Instant.now());
+	}
+	
+	/**
+	 * updatedAt is bound rather than set to CURRENT_TIMESTAMP, which MySQL evaluates 
+	 * to whole seconds and would let two writes in one second share an entity tag.
+	 */
+	@Modifying
+	@Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.updatedAt = :now WHERE p.productId = :productId AND p.quantity >= :quantity")
+	int decrementQuantity(@Param("productId") final Integer productId, @Param("quantity") final Integer quantity, @Param("now") final Instant now);
+	
+	default int incrementQuantity(final Integer productId, final Integer quantity) {
+		return this.incrementQuantity(productId, quantity, Instant.now());
+	}
+	
+	@Modifying
+	@Query("UPDATE Product p SET p.quantity = p.quantity + :quantity, p.updatedAt = :now WHERE p.productId = :productId")
+	int incrementQuantity(@Param("productId") final Integer productId, @Param("quantity") final Integer quantity, @Param("now") final Instant now);
 	
+	@Query("SELECT p.productId FROM Product p WHERE p.productId IN :productIds")
+	List<Integer> findIdsByIdIn(@Param("productIds") final Collection<Integer> productIds);
 	
+	@Modifying
+	@Query("DELETE FROM Product p WHERE p.productId IN :productIds")
+	int deleteAllByIdIn(@Param("productIds") final Collection<Integer> productIds);
 	
 }
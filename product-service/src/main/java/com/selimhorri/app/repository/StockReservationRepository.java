@@ -0,0 +1,32 @@
+package com.selimhorri.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.domain.StockReservationStatus;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+	
+	/**
+	 * Moves a still-held reservation out of RESERVED; only one of concurrent confirms, 
+	 * releases and expiry sweeps can win, so stock is given back at most once.
+	 */
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.status = :status, r.updatedAt = CURRENT_TIMESTAMP WHERE r.reservationId = :reservationId AND r.status = com.selimhorri.app.domain.StockReservationStatus.RESERVED")
+	int updateStatusIfReserved(@Param("reservationId") final String reservationId, @Param("status") final StockReservationStatus status);
+	
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.status = com.selimhorri.app.domain.StockReservationStatus.CONFIRMED, r.updatedAt = CURRENT_TIMESTAMP WHERE r.reservationId = :reservationId AND r.status = com.selimhorri.app.domain.StockReservationStatus.RESERVED AND r.expiresAt > :now")
+	int confirmIfReserved(@Param("reservationId") final String reservationId, @Param("now") final LocalDateTime now);
+	
+	@Query("SELECT r.reservationId FROM StockReservation r WHERE r.status = com.selimhorri.app.domain.StockReservationStatus.RESERVED AND r.expiresAt <= :now ORDER BY r.expiresAt")
+	List<String> findExpiredReservationIds(@Param("now") final LocalDateTime now, final Pageable pageable);
+	
+}
@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +13,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.helper.ConditionalResponseHelper;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.service.CategoryTreeService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,20 +39,58 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryResource {
 	
 	private final CategoryService categoryService;
+	private final CategoryTreeService categoryTreeService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll(final WebRequest webRequest) {
 		log.info("*** CategoryDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
+		return ConditionalResponseHelper.ok(webRequest, this.categoryService.findVersion(), "categories", null, 
+				() -> new DtoCollectionResponse<>(this.categoryService.findAll()));
+	}
+	
+	@GetMapping("/page")
+	public ResponseEntity<DtoCursorPageResponse<CategoryDto>> findAllAfter(
+			@RequestParam(name = "after", required = false) final Integer afterCategoryId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** CategoryDto Page, resource; fetch categories page after cursor *");
+		return ResponseEntity.ok(this.categoryService.findAllAfter(afterCategoryId, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** CategoryDto Stream, resource; stream all categories *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.categoryService.streamAll(NdjsonHelper.writer(this.objectMapper, outputStream)));
+	}
+	
+	@GetMapping("/tree")
+	public ResponseEntity<CategoryTreeDto> findTree() {
+		log.info("*** CategoryTreeDto, resource; fetch category tree *");
+		return ResponseEntity.ok(this.categoryTreeService.findTree());
+	}
+	
+	@GetMapping("/{categoryId}/subtree/products")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllProductsInSubtree(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** ProductDto List, resource; fetch all products in category subtree *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(
+				this.categoryTreeService.findAllProductsInSubtree(Integer.parseInt(categoryId))));
 	}
 	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
 			@NotBlank(message = "Input must not be blank") 
-			@Valid final String categoryId) {
+			@Valid final String categoryId, 
+			final WebRequest webRequest) {
 		log.info("*** CategoryDto, resource; fetch category by id *");
-		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
+		final int id = Integer.parseInt(categoryId);
+		return ConditionalResponseHelper.ok(webRequest, this.categoryService.findVersionById(id), "category", id, 
+				() -> this.categoryService.findById(id));
 	}
 	
 	@PostMapping
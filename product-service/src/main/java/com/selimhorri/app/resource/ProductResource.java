@@ -1,22 +1,40 @@
 package com.selimhorri.app.resource;
 
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductImportReportDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.helper.ConditionalResponseHelper;
+import com.selimhorri.app.helper.NdjsonHelper;
+import com.selimhorri.app.service.ProductImportService;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.ProductSuggestService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,20 +46,73 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ProductSearchService productSearchService;
+	private final ProductSuggestService productSuggestService;
+	private final ProductImportService productImportService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(final WebRequest webRequest) {
 		log.info("*** ProductDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
+		return ConditionalResponseHelper.ok(webRequest, this.productService.findVersion(), "products", null, 
+				() -> new DtoCollectionResponse<>(this.productService.findAll()));
+	}
+	
+	@GetMapping("/page")
+	public ResponseEntity<DtoCursorPageResponse<ProductDto>> findAllAfter(
+			@RequestParam(name = "after", required = false) final Integer afterProductId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto Page, resource; fetch products page after cursor *");
+		return ResponseEntity.ok(this.productService.findAllAfter(afterProductId, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** ProductDto Stream, resource; stream all products *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.productService.streamAll(NdjsonHelper.writer(this.objectMapper, outputStream)));
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> search(
+			@RequestParam(name = "q") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String query, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** ProductDto List, resource; search products *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productSearchService.search(query, limit)));
+	}
+	
+	@GetMapping("/suggest")
+	public ResponseEntity<DtoCollectionResponse<String>> suggest(
+			@RequestParam(name = "prefix") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String prefix, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** String List, resource; suggest product titles *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productSuggestService.suggest(prefix, limit)));
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
 			@NotBlank(message = "Input must not be blank!") 
-			@Valid final String productId) {
+			@Valid final String productId, 
+			final WebRequest webRequest) {
 		log.info("*** ProductDto, resource; fetch product by id *");
-		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
+		final int id = Integer.parseInt(productId);
+		return ConditionalResponseHelper.ok(webRequest, this.productService.findVersionById(id), "product", id, 
+				() -> this.productService.findById(id));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final Set<Integer> productIds) {
+		log.info("*** ProductDto List, resource; fetch products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllByIds(productIds)));
 	}
 	
 	@PostMapping
@@ -53,6 +124,18 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.save(productDto));
 	}
 	
+	@PostMapping(value = "/import", consumes = "text/csv")
+	public ResponseEntity<ProductImportReportDto> importCsv(final InputStream inputStream) {
+		log.info("*** ProductImportReportDto, resource; import products from CSV *");
+		return ResponseEntity.ok(this.productImportService.importCsv(inputStream));
+	}
+	
+	@PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<ProductImportReportDto> importNdjson(final InputStream inputStream) {
+		log.info("*** ProductImportReportDto, resource; import products from NDJSON *");
+		return ResponseEntity.ok(this.productImportService.importNdjson(inputStream));
+	}
+	
 	@PutMapping
 	public ResponseEntity<ProductDto> update(
 			@RequestBody 
@@ -74,6 +157,25 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.update(Integer.parseInt(productId), productDto));
 	}
 	
+	@PatchMapping("/{productId}")
+	public ResponseEntity<Integer> patch(
+			@PathVariable("productId")
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String productId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") final ProductDto productDto) {
+		log.info("*** Integer, resource; patch product with productId *");
+		return ResponseEntity.ok(this.productService.patch(Integer.parseInt(productId), productDto));
+	}
+	
+	@PostMapping("/batch/delete")
+	public ResponseEntity<DtoCollectionResponse<DeleteOutcomeDto>> deleteAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") final Set<Integer> productIds) {
+		log.info("*** DeleteOutcomeDto List, resource; delete products by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.deleteAllByIds(productIds)));
+	}
+	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
 		log.info("*** Boolean, resource; delete product by id *");
@@ -1,13 +1,20 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface CategoryService {
 	
 	List<CategoryDto> findAll();
+	DtoCursorPageResponse<CategoryDto> findAllAfter(final Integer afterCategoryId, final Integer limit);
+	void streamAll(final Consumer<CategoryDto> consumer);
 	CategoryDto findById(final Integer categoryId);
+	VersionView findVersion();
+	VersionView findVersionById(final Integer categoryId);
 	CategoryDto save(final CategoryDto categoryDto);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
@@ -0,0 +1,14 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
+
+public interface CategoryTreeService {
+	
+	CategoryTreeDto findTree();
+	List<Integer> findSubtreeCategoryIds(final Integer categoryId);
+	List<ProductDto> findAllProductsInSubtree(final Integer categoryId);
+	
+}
@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+public interface HotStockService {
+	
+	boolean isHot(final Integer productId);
+	boolean tryTake(final Integer productId, final int quantity);
+	void giveBack(final Integer productId, final int quantity);
+	void awaitJournaled();
+	void flush();
+	
+}
@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.io.InputStream;
+
+import com.selimhorri.app.dto.ProductImportReportDto;
+
+public interface ProductImportService {
+	
+	ProductImportReportDto importCsv(final InputStream inputStream);
+	ProductImportReportDto importNdjson(final InputStream inputStream);
+	
+}
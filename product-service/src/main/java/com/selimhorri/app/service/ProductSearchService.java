@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.ProductDto;
+
+public interface ProductSearchService {
+	
+	List<ProductDto> search(final String query, final Integer limit);
+	
+}
@@ -1,16 +1,28 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	DtoCursorPageResponse<ProductDto> findAllAfter(final Integer afterProductId, final Integer limit);
+	void streamAll(final Consumer<ProductDto> consumer);
 	ProductDto findById(final Integer productId);
+	VersionView findVersion();
+	VersionView findVersionById(final Integer productId);
+	List<ProductDto> findAllByIds(final Set<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
+	int patch(final Integer productId, final ProductDto productDto);
 	void deleteById(final Integer productId);
+	List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> productIds);
 	
 }
@@ -0,0 +1,9 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+public interface ProductSuggestService {
+	
+	List<String> suggest(final String prefix, final Integer limit);
+	
+}
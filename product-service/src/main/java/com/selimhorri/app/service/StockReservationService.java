@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.StockReservationDto;
+
+public interface StockReservationService {
+	
+	StockReservationDto findById(final String reservationId);
+	StockReservationDto reserve(final StockReservationDto stockReservationDto);
+	StockReservationDto confirm(final String reservationId);
+	StockReservationDto release(final String reservationId);
+	int releaseExpired();
+	
+}
@@ -1,13 +1,24 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.event.CategoryChangedEvent;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
@@ -23,6 +34,10 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
 	
 	@Override
 	public List<CategoryDto> findAll() {
@@ -34,6 +49,31 @@ public class CategoryServiceImpl implements CategoryService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCursorPageResponse<CategoryDto> findAllAfter(final Integer afterCategoryId, final Integer limit) {
+		log.info("*** CategoryDto Page, service; fetch categories page after cursor *");
+		final int pageSize = Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_PAGE_LIMIT, 1), AppConstant.MAX_PAGE_LIMIT);
+		final var categories = this.categoryRepository.findByCategoryIdGreaterThanOrderByCategoryIdAsc(
+				afterCategoryId != null ? afterCategoryId : 0, PageRequest.of(0, pageSize + 1));
+		final var collection = categories.stream()
+				.limit(pageSize)
+				.map(CategoryMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		return new DtoCursorPageResponse<>(collection, 
+				categories.size() > pageSize ? collection.get(pageSize - 1).getCategoryId() : null);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<CategoryDto> consumer) {
+		log.info("*** CategoryDto Stream, service; stream all categories *");
+		try (final Stream<Category> categories = this.categoryRepository.streamAllByOrderByCategoryIdAsc()) {
+			categories.forEach(category -> {
+				consumer.accept(CategoryMappingHelper.map(category));
+				this.entityManager.detach(category);
+			});
+		}
+	}
+	
 	@Override
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
@@ -42,31 +82,48 @@ public class CategoryServiceImpl implements CategoryService {
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	@Override
+	public VersionView findVersion() {
+		log.info("*** VersionView, service; fetch categories version *");
+		return this.categoryRepository.findVersion();
+	}
+	
+	@Override
+	public VersionView findVersionById(final Integer categoryId) {
+		log.info("*** VersionView, service; fetch category version by id *");
+		return this.categoryRepository.findVersionById(categoryId);
+	}
+	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.saveAndPublish(CategoryMappingHelper.map(categoryDto));
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.saveAndPublish(CategoryMappingHelper.map(categoryDto));
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		return this.saveAndPublish(CategoryMappingHelper.map(this.findById(categoryId)));
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, null));
+	}
+	
+	private CategoryDto saveAndPublish(final Category category) {
+		final var savedCategory = this.categoryRepository.save(category);
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(
+				savedCategory.getCategoryId(), CategoryMappingHelper.mapNode(savedCategory)));
+		return CategoryMappingHelper.map(savedCategory);
 	}
 	
 	
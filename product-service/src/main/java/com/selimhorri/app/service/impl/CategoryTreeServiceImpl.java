@@ -0,0 +1,114 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.CategoryTreeService;
+import com.selimhorri.app.service.tree.CategoryTree;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the category hierarchy from an immutable snapshot loaded once on first use. 
+ * Committed category writes derive the next snapshot in memory instead of reloading the table; 
+ * readers never lock and always see one consistent version. Writes made by other instances 
+ * are picked up by polling the table version and reloading the snapshot when it moved.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeServiceImpl implements CategoryTreeService {
+	
+	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	
+	private volatile CategoryTree categoryTree;
+	private volatile VersionView loadedVersion;
+	
+	@Override
+	public CategoryTreeDto findTree() {
+		log.info("*** CategoryTreeDto, service; fetch category tree *");
+		return this.snapshot().toDto();
+	}
+	
+	@Override
+	public List<Integer> findSubtreeCategoryIds(final Integer categoryId) {
+		log.info("*** Integer List, service; fetch subtree category ids *");
+		final var snapshot = this.snapshot();
+		if (!snapshot.contains(categoryId))
+			throw new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId));
+		return snapshot.subtreeCategoryIds(categoryId);
+	}
+	
+	@Override
+	public List<ProductDto> findAllProductsInSubtree(final Integer categoryId) {
+		log.info("*** ProductDto List, service; fetch all products in category subtree *");
+		return this.productRepository.findAllViewsByCategoryIds(this.findSubtreeCategoryIds(categoryId))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Applied after the writing transaction commits. Until the first snapshot is loaded 
+	 * there is nothing to patch, as that load will read the committed row anyway.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onCategoryChanged(final CategoryChangedEvent event) {
+		if (this.categoryTree == null)
+			return;
+		this.categoryTree = event.isDeleted() ? 
+				this.categoryTree.withoutCategory(event.getCategoryId()) : 
+				this.categoryTree.withCategory(event.getNode());
+		log.info("*** CategoryTree, service; category {} applied, tree at version {} *", 
+				event.getCategoryId(), this.categoryTree.getVersion());
+	}
+	
+	/**
+	 * The version is read before the nodes, so a write committed in between is seen again by the next poll. 
+	 * Local writes are picked up here as well, costing one redundant reload.
+	 */
+	@Scheduled(fixedDelayString = "${app.category-tree.version-poll-interval:PT5S}")
+	public void pollVersion() {
+		if (this.categoryTree == null)
+			return;
+		final var version = this.categoryRepository.findVersion();
+		if (!version.equals(this.loadedVersion))
+			this.reload(version);
+	}
+	
+	private CategoryTree snapshot() {
+		final var snapshot = this.categoryTree;
+		return snapshot != null ? snapshot : this.load();
+	}
+	
+	private synchronized CategoryTree load() {
+		if (this.categoryTree == null) {
+			this.loadedVersion = this.categoryRepository.findVersion();
+			this.categoryTree = CategoryTree.of(1L, this.categoryRepository.findAllNodeViews());
+		}
+		return this.categoryTree;
+	}
+	
+	private synchronized void reload(final VersionView version) {
+		this.loadedVersion = version;
+		this.categoryTree = CategoryTree.of(this.categoryTree.getVersion() + 1, this.categoryRepository.findAllNodeViews());
+		log.info("*** CategoryTree, service; table changed, tree reloaded at version {} *", this.categoryTree.getVersion());
+	}
+	
+	
+	
+}
@@ -0,0 +1,389 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.domain.HotStockWatermark;
+import com.selimhorri.app.event.HotStockChangedEvent;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.repository.HotStockWatermarkRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.stock.HotStockJournal;
+import com.selimhorri.app.service.stock.StripedStockCounter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in hot-item mode for the few products that take most checkout traffic. 
+ * Their stock is served from striped in-memory counters, so buyers never queue on the products row; 
+ * a background thread journals the counters to local disk every sync interval, 
+ * and net changes are applied to the quantity column in one transaction every flush interval. 
+ * On startup, whatever the previous process journaled but never flushed is applied before counters are loaded. 
+ * Hot items are owned by a single instance, enforced by a lease on their watermark rows that every flush renews: 
+ * an instance that cannot take the lease on startup stays out of hot-item mode, and one that loses it stops serving from its counters. 
+ * Counters are only served until the expiry of the last committed renewal, so an instance whose flushes keep failing 
+ * stops on its own before another instance can take the lease over.
+ */
+@Service
+@Slf4j
+public class HotStockServiceImpl implements HotStockService {
+	
+	private final ProductRepository productRepository;
+	private final HotStockWatermarkRepository hotStockWatermarkRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Set<Integer> hotProductIds;
+	private final Path journalPath;
+	private final DataSize journalMaxSize;
+	private final Duration syncInterval;
+	private final int stripes;
+	private final String ownerId;
+	private final Duration leaseTtl;
+	private final Map<Integer, StripedStockCounter> counters = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService journalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final var thread = new Thread(runnable, "hot-stock-journal");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	private volatile CompletableFuture<Void> nextSync = new CompletableFuture<>();
+	private volatile HotStockJournal journal;
+	private volatile long epoch;
+	private volatile boolean leased;
+	private volatile Instant leaseExpiresAt = Instant.MIN;
+	
+	public HotStockServiceImpl(final ProductRepository productRepository, 
+			final HotStockWatermarkRepository hotStockWatermarkRepository, 
+			final TransactionTemplate transactionTemplate, 
+			final ApplicationEventPublisher eventPublisher, 
+			@Value("${app.stock.hot-items.product-ids:}") final Set<Integer> hotProductIds, 
+			@Value("${app.stock.hot-items.journal-path:data/hot-stock.journal}") final Path journalPath, 
+			@Value("${app.stock.hot-items.journal-max-size:1MB}") final DataSize journalMaxSize, 
+			@Value("${app.stock.hot-items.sync-interval:10ms}") final Duration syncInterval, 
+			@Value("${app.stock.hot-items.stripes:0}") final int stripes, 
+			@Value("${app.stock.hot-items.owner-id:${HOSTNAME:}}") final String ownerId, 
+			@Value("${app.stock.hot-items.lease-ttl:30s}") final Duration leaseTtl) {
+		this.productRepository = productRepository;
+		this.hotStockWatermarkRepository = hotStockWatermarkRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.eventPublisher = eventPublisher;
+		this.hotProductIds = Set.copyOf(hotProductIds);
+		this.journalPath = journalPath;
+		this.journalMaxSize = journalMaxSize;
+		this.syncInterval = syncInterval;
+		this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+		this.ownerId = ownerId.isBlank() ? UUID.randomUUID().toString() : ownerId;
+		this.leaseTtl = leaseTtl;
+	}
+	
+	@Override
+	public boolean isHot(final Integer productId) {
+		return this.holdsLease() && this.counters.containsKey(productId);
+	}
+	
+	/**
+	 * Takes from the product's counter; if the surrounding transaction rolls back the units are given back. 
+	 * Refuses once the lease has expired, even if the product was hot when the caller checked.
+	 */
+	@Override
+	public boolean tryTake(final Integer productId, final int quantity) {
+		if (!this.holdsLease() || !this.counters.get(productId).tryTake(quantity))
+			return false;
+		this.eventPublisher.publishEvent(new HotStockChangedEvent(productId, -quantity));
+		return true;
+	}
+	
+	/**
+	 * Gives units back to the product's counter once the surrounding transaction commits.
+	 */
+	@Override
+	public void giveBack(final Integer productId, final int quantity) {
+		this.eventPublisher.publishEvent(new HotStockChangedEvent(productId, quantity));
+	}
+	
+	/**
+	 * Blocks until every take made so far by the calling thread is on disk.
+	 */
+	@Override
+	public void awaitJournaled() {
+		if (this.journal == null)
+			return;
+		try {
+			this.nextSync.get(Math.max(1000, 100 * this.syncInterval.toMillis()), TimeUnit.MILLISECONDS);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the hot stock journal", e);
+		}
+		catch (final ExecutionException | TimeoutException e) {
+			throw new IllegalStateException("Hot stock journal is not syncing", e);
+		}
+	}
+	
+	/**
+	 * Applies the net units taken since the last flush to the quantity column, 
+	 * journaling the flushed totals first so that recovery never starts from older values. 
+	 * Nothing is applied once the lease is lost, as another instance may own the products by then. 
+	 * A renewal that comes too late still applies the takes made before the lease expired, 
+	 * but hot-item mode is left, as the counters may have missed writes made in between.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${app.stock.hot-items.flush-interval:PT1S}")
+	public void flush() {
+		
+		final var hotStockJournal = this.journal;
+		if (hotStockJournal == null || !this.leased)
+			return;
+		
+		final var snapshot = this.snapshot();
+		try {
+			hotStockJournal.append(snapshot);
+		}
+		catch (final IOException e) {
+			log.error("*** HotStockJournal, service; append failed, skipping flush *", e);
+			return;
+		}
+		
+		final boolean expired = !this.holdsLease();
+		final var renewedLeaseExpiresAt = Instant.now().plus(this.leaseTtl);
+		final var flushed = this.transactionTemplate.execute(status -> {
+			if (this.renewLeases(renewedLeaseExpiresAt))
+				return this.apply(this.epoch, snapshot);
+			status.setRollbackOnly();
+			return null;
+		});
+		if (flushed == null) {
+			this.leased = false;
+			log.error("*** HotStockWatermark, service; lease on products {} lost, hot-item mode disabled *", this.hotProductIds);
+			return;
+		}
+		if (expired) {
+			this.leased = false;
+			this.releaseLeases();
+			log.error("*** HotStockWatermark, service; lease on products {} expired before it was renewed, hot-item mode disabled *", 
+					this.hotProductIds);
+			return;
+		}
+		this.leaseExpiresAt = renewedLeaseExpiresAt;
+		if (!flushed.isEmpty())
+			log.debug("*** Integer Set, service; flushed hot stock of products {} *", flushed);
+	}
+	
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK, condition = "#event.taken")
+	public void onTakeRolledBack(final HotStockChangedEvent event) {
+		this.counters.get(event.getProductId()).giveBack(-event.getQuantity());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true, condition = "!#event.taken")
+	public void onGiveBackCommitted(final HotStockChangedEvent event) {
+		this.counters.get(event.getProductId()).giveBack(event.getQuantity());
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		
+		if (this.hotProductIds.isEmpty())
+			return;
+		
+		final var acquiredLeaseExpiresAt = Instant.now().plus(this.leaseTtl);
+		if (!this.acquireLeases(acquiredLeaseExpiresAt)) {
+			log.error("*** HotStockWatermark, service; products {} are leased by another instance, hot-item mode disabled *", 
+					this.hotProductIds);
+			return;
+		}
+		
+		final HotStockJournal hotStockJournal;
+		try {
+			hotStockJournal = HotStockJournal.open(this.journalPath, this.journalMaxSize.toBytes());
+			final var checkpoint = hotStockJournal.read();
+			final var recovered = this.transactionTemplate.execute(status -> 
+					this.apply(checkpoint.getEpoch(), checkpoint.getTaken()));
+			if (!recovered.isEmpty())
+				log.info("*** Integer Set, service; recovered unflushed hot stock of products {} *", recovered);
+			this.epoch = Math.max(System.currentTimeMillis(), checkpoint.getEpoch() + 1);
+			hotStockJournal.reset(this.epoch);
+		}
+		catch (final IOException e) {
+			log.error("*** HotStockJournal, service; cannot open journal, hot-item mode disabled *", e);
+			this.releaseLeases();
+			return;
+		}
+		
+		this.transactionTemplate.executeWithoutResult(status -> this.productRepository
+				.findAllViewsById(this.hotProductIds)
+				.forEach(productView -> this.counters.put(productView.getProductId(), new StripedStockCounter(
+						productView.getQuantity() != null ? productView.getQuantity() : 0, this.stripes))));
+		this.journal = hotStockJournal;
+		this.journalExecutor.scheduleWithFixedDelay(this::checkpoint, 
+				this.syncInterval.toMillis(), this.syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+		this.leaseExpiresAt = acquiredLeaseExpiresAt;
+		this.leased = true;
+		log.info("*** StripedStockCounter Map, service; serving stock of products {} from {} stripes each *", 
+				this.counters.keySet(), this.stripes);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.journalExecutor.shutdownNow();
+		final var hotStockJournal = this.journal;
+		if (hotStockJournal == null)
+			return;
+		this.flush();
+		if (this.leased) {
+			this.leased = false;
+			this.releaseLeases();
+		}
+		try {
+			hotStockJournal.close();
+		}
+		catch (final IOException e) {
+			log.error("*** HotStockJournal, service; close failed *", e);
+		}
+	}
+	
+	/**
+	 * Journals the counters and releases everyone waiting on the previous sync. 
+	 * The waiters' future is swapped out before the counters are read, so every take 
+	 * that saw it happened before this read and is covered by this sync.
+	 */
+	private void checkpoint() {
+		final var completing = this.nextSync;
+		this.nextSync = new CompletableFuture<>();
+		try {
+			this.journal.append(this.snapshot());
+			completing.complete(null);
+		}
+		catch (final IOException | RuntimeException e) {
+			log.error("*** HotStockJournal, service; checkpoint failed *", e);
+			completing.completeExceptionally(e);
+		}
+	}
+	
+	/**
+	 * Creates the missing watermark rows and leases all of them, or none. 
+	 * Another instance creating the same rows at the same time makes this attempt fail.
+	 */
+	private boolean acquireLeases(final Instant leaseExpiresAt) {
+		try {
+			return this.transactionTemplate.execute(status -> {
+				final var existing = this.hotStockWatermarkRepository.findAllById(this.hotProductIds)
+						.stream()
+							.map(HotStockWatermark::getProductId)
+							.collect(Collectors.toUnmodifiableSet());
+				this.hotProductIds.stream()
+						.filter(productId -> !existing.contains(productId))
+						.forEach(productId -> this.hotStockWatermarkRepository.saveAndFlush(HotStockWatermark.builder()
+								.productId(productId)
+								.epoch(0L)
+								.flushedTaken(0L)
+								.build()));
+				if (this.renewLeases(leaseExpiresAt))
+					return true;
+				status.setRollbackOnly();
+				return false;
+			});
+		}
+		catch (final DataIntegrityViolationException e) {
+			log.warn("*** HotStockWatermark, service; watermark rows created concurrently *", e);
+			return false;
+		}
+	}
+	
+	private boolean renewLeases(final Instant leaseExpiresAt) {
+		return this.hotStockWatermarkRepository.acquireLeases(this.hotProductIds, this.ownerId, Instant.now(), leaseExpiresAt) 
+				== this.hotProductIds.size();
+	}
+	
+	private boolean holdsLease() {
+		return this.leased && Instant.now().isBefore(this.leaseExpiresAt);
+	}
+	
+	private void releaseLeases() {
+		this.transactionTemplate.executeWithoutResult(status -> this.hotStockWatermarkRepository.releaseLeases(this.ownerId));
+	}
+	
+	private Map<Integer, Long> snapshot() {
+		return this.counters.entrySet()
+				.stream()
+					.collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().taken()));
+	}
+	
+	/**
+	 * Brings each product's quantity column and watermark up to the given epoch totals; 
+	 * runs inside a transaction and is idempotent, so a repeated recovery applies nothing twice.
+	 */
+	private Set<Integer> apply(final long epoch, final Map<Integer, Long> taken) {
+		
+		final Map<Integer, HotStockWatermark> watermarks = this.hotStockWatermarkRepository.findAllById(taken.keySet())
+				.stream()
+					.collect(Collectors.toMap(HotStockWatermark::getProductId, Function.identity()));
+		final Set<Integer> applied = new TreeSet<>();
+		
+		new TreeMap<>(taken).forEach((productId, productTaken) -> {
+			final var watermark = watermarks.get(productId);
+			final long flushedTaken = watermark != null && watermark.getEpoch() == epoch ? watermark.getFlushedTaken() : 0;
+			if (productTaken == flushedTaken)
+				return;
+			this.productRepository.incrementQuantity(productId, Math.toIntExact(flushedTaken - productTaken));
+			if (watermark != null) {
+				watermark.setEpoch(epoch);
+				watermark.setFlushedTaken(productTaken);
+			}
+			else
+				this.hotStockWatermarkRepository.save(HotStockWatermark.builder()
+						.productId(productId)
+						.epoch(epoch)
+						.flushedTaken(productTaken)
+						.build());
+			applied.add(productId);
+		});
+		if (!applied.isEmpty())
+			this.eventPublisher.publishEvent(new StockChangedEvent(applied));
+		
+		return applied;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,258 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.helper.OutboxEventMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.OutboxEventBatchRepository;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.OutboxService;
+import com.selimhorri.app.service.outbox.OutboxTransport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox: events are appended in the transaction of the write they describe, 
+ * so they exist exactly when the write committed. Appends are collected per transaction and 
+ * inserted as one JDBC batch just before it commits, so a bulk write such as an import chunk 
+ * costs one batch rather than a statement per event. The relay drains them in event id order, 
+ * a batch per transaction, and marks a batch published only after the transport accepted it.
+ */
+@Service
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxEventBatchRepository outboxEventBatchRepository;
+	private final ProductRepository productRepository;
+	private final OutboxTransport outboxTransport;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectWriter payloadWriter;
+	private final int batchSize;
+	private final Duration retention;
+	
+	public OutboxServiceImpl(final OutboxEventRepository outboxEventRepository, 
+			final OutboxEventBatchRepository outboxEventBatchRepository, 
+			final ProductRepository productRepository, 
+			final OutboxTransport outboxTransport, 
+			final TransactionTemplate transactionTemplate, 
+			final ObjectMapper objectMapper, 
+			@Value("${app.outbox.batch-size:100}") final int batchSize, 
+			@Value("${app.outbox.retention:24h}") final Duration retention) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.outboxEventBatchRepository = outboxEventBatchRepository;
+		this.productRepository = productRepository;
+		this.outboxTransport = outboxTransport;
+		this.transactionTemplate = transactionTemplate;
+		this.payloadWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+		this.batchSize = Math.max(batchSize, 1);
+		this.retention = retention;
+	}
+	
+	@Override
+	@Transactional(TxType.MANDATORY)
+	public void append(final OutboxEventType eventType, final Integer aggregateId, final Object payload) {
+		this.pendingEvents().add(this.toOutboxEvent(eventType, aggregateId, payload));
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval:PT1S}")
+	public int relay() {
+		
+		int relayed = 0;
+		try {
+			int sent;
+			do {
+				sent = this.transactionTemplate.execute(status -> this.relayBatch());
+				relayed += sent;
+			} while (sent == this.batchSize);
+		}
+		catch (RuntimeException e) {
+			log.warn("*** Integer, service; outbox relay stopped after {} events, retrying on next run *", relayed, e);
+		}
+		
+		if (relayed > 0)
+			log.debug("*** Integer, service; relayed {} outbox events *", relayed);
+		return relayed;
+	}
+	
+	@Override
+	@Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1H}")
+	public int purgePublished() {
+		final Instant before = Instant.now().minus(this.retention);
+		final Integer purged = this.transactionTemplate.execute(status -> 
+				this.outboxEventRepository.deleteAllPublishedBefore(before));
+		log.info("*** Integer, service; purged {} outbox events published before {} *", purged, before);
+		return purged != null ? purged : 0;
+	}
+	
+	/**
+	 * Product writes and stock moves already announce themselves as application events; 
+	 * these listeners run synchronously inside the publishing transaction, unlike the after-commit 
+	 * listeners of the caches and indexes, so the outbox rows commit or roll back with the change.
+	 */
+	@EventListener
+	@Transactional(TxType.MANDATORY)
+	public void onProductChanged(final ProductChangedEvent event) {
+		final var pendingEvents = this.pendingEvents();
+		if (event.isDeleted())
+			pendingEvents.add(this.toOutboxEvent(OutboxEventType.PRODUCT_DELETED, event.getProductId(), 
+					Map.of("productId", event.getProductId())));
+		else
+			pendingEvents.add(this.toOutboxEvent(OutboxEventType.PRODUCT_CHANGED, event.getProductId(), event.getProductDto()));
+		pendingEvents.productIds.add(event.getProductId());
+	}
+	
+	/**
+	 * Stock snapshots are read once per transaction, at flush time, and only for products 
+	 * that no product event of the same transaction already describes.
+	 */
+	@EventListener
+	@Transactional(TxType.MANDATORY)
+	public void onStockChanged(final StockChangedEvent event) {
+		this.pendingEvents().stockChangedIds.addAll(event.getProductIds());
+	}
+	
+	private PendingEvents pendingEvents() {
+		
+		final var bound = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+		if (bound != null)
+			return bound;
+		
+		final var pendingEvents = new PendingEvents();
+		TransactionSynchronizationManager.bindResource(this, pendingEvents);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void beforeCommit(final boolean readOnly) {
+				insertPending(pendingEvents);
+			}
+			
+			@Override
+			public void afterCompletion(final int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(OutboxServiceImpl.this);
+			}
+			
+		});
+		return pendingEvents;
+	}
+	
+	private void insertPending(final PendingEvents pendingEvents) {
+		
+		pendingEvents.stockChangedIds.removeAll(pendingEvents.productIds);
+		if (!pendingEvents.stockChangedIds.isEmpty())
+			this.productRepository.findAllViewsById(pendingEvents.stockChangedIds)
+					.forEach(productView -> pendingEvents.add(this.toOutboxEvent(OutboxEventType.PRODUCT_STOCK_CHANGED, 
+							productView.getProductId(), ProductMappingHelper.map(productView))));
+		
+		if (!pendingEvents.outboxEvents.isEmpty())
+			this.outboxEventBatchRepository.insertAll(pendingEvents.outboxEvents);
+		pendingEvents.clear();
+	}
+	
+	private OutboxEvent toOutboxEvent(final OutboxEventType eventType, final Integer aggregateId, final Object payload) {
+		return OutboxEvent.builder()
+				.aggregateType(eventType.getAggregateType())
+				.aggregateId(aggregateId)
+				.eventType(eventType)
+				.payload(this.serialize(payload))
+				.occurredAt(Instant.now())
+				.build();
+	}
+	
+	private int relayBatch() {
+		
+		final var outboxEvents = this.outboxEventRepository
+				.findByPublishedAtIsNullOrderByEventIdAsc(PageRequest.of(0, this.batchSize));
+		if (outboxEvents.isEmpty())
+			return 0;
+		
+		try {
+			this.outboxTransport.send(outboxEvents.stream()
+					.map(OutboxEventMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.outboxEventRepository.markPublished(outboxEvents.stream()
+				.map(OutboxEvent::getEventId)
+				.collect(Collectors.toUnmodifiableList()), Instant.now());
+		
+		return outboxEvents.size();
+	}
+	
+	private String serialize(final Object payload) {
+		try {
+			return this.payloadWriter.writeValueAsString(payload);
+		}
+		catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Outbox rows appended in the current transaction and not yet inserted.
+	 */
+	private static final class PendingEvents {
+		
+		private final List<OutboxEvent> outboxEvents = new ArrayList<>();
+		private final Set<Integer> productIds = new HashSet<>();
+		private final Set<Integer> stockChangedIds = new LinkedHashSet<>();
+		
+		private void add(final OutboxEvent outboxEvent) {
+			this.outboxEvents.add(outboxEvent);
+		}
+		
+		private void clear() {
+			this.outboxEvents.clear();
+			this.productIds.clear();
+			this.stockChangedIds.clear();
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,352 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.ProductImportReportDto;
+import com.selimhorri.app.dto.ProductImportRowDto;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductBatchRepository;
+import com.selimhorri.app.service.ProductImportService;
+import com.selimhorri.app.service.importer.CsvRecordReader;
+import com.selimhorri.app.service.importer.ProductIdAllocator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams supplier catalogs into the products table. Rows are parsed one at a time, validated, 
+ * given their category from the cached category listing and written in chunks: each chunk is 
+ * one transaction that looks up existing skus with a single query, then updates those and 
+ * inserts the rest as JDBC batches, with new ids taken from blocks of the product sequence. 
+ * A chunk that fails is reported as rejected rows and the import moves on.
+ */
+@Service
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+	
+	private static final int MAX_SKU_LENGTH = 255;
+	private static final double MAX_PRICE_UNIT = 99_999.99;
+	
+	private final ProductBatchRepository productBatchRepository;
+	private final CategoryRepository categoryRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final EntityManagerFactory entityManagerFactory;
+	private final Cache<Integer, ProductNotFoundException> missingProductIds;
+	private final ObjectReader rowReader;
+	private final int batchSize;
+	private final int maxReportedErrors;
+	
+	public ProductImportServiceImpl(final ProductBatchRepository productBatchRepository, 
+			final CategoryRepository categoryRepository, 
+			final TransactionTemplate transactionTemplate, 
+			final ApplicationEventPublisher eventPublisher, 
+			final EntityManagerFactory entityManagerFactory, 
+			final Cache<Integer, ProductNotFoundException> missingProductIds, 
+			final ObjectMapper objectMapper, 
+			@Value("${app.import.batch-size:500}") final int batchSize, 
+			@Value("${app.import.max-reported-errors:100}") final int maxReportedErrors) {
+		this.productBatchRepository = productBatchRepository;
+		this.categoryRepository = categoryRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.eventPublisher = eventPublisher;
+		this.entityManagerFactory = entityManagerFactory;
+		this.missingProductIds = missingProductIds;
+		this.rowReader = objectMapper.readerFor(ProductImportRowDto.class);
+		this.batchSize = Math.max(1, batchSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+	
+	/**
+	 * Expects a header row naming the columns: sku, productTitle, imageUrl, priceUnit, quantity, 
+	 * and categoryId or categoryTitle, case-insensitive and with or without underscores.
+	 */
+	@Override
+	public ProductImportReportDto importCsv(final InputStream inputStream) {
+		log.info("*** ProductImportReportDto, service; import products from CSV *");
+		final var run = new ImportRun();
+		try (final var csv = new CsvRecordReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			final var header = csv.next();
+			if (header == null)
+				return run.finish();
+			final Map<String, Integer> columns = new HashMap<>();
+			for (int i = 0; i < header.size(); i++)
+				columns.put(header.get(i).strip().replace("_", "").toLowerCase(), i);
+			
+			List<String> fields;
+			while ((fields = csv.next()) != null) {
+				try {
+					run.accept(csv.getLineNumber(), toRow(columns, fields));
+				}
+				catch (final IllegalArgumentException e) {
+					run.skip(csv.getLineNumber(), e.getMessage());
+				}
+			}
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return run.finish();
+	}
+	
+	@Override
+	public ProductImportReportDto importNdjson(final InputStream inputStream) {
+		log.info("*** ProductImportReportDto, service; import products from NDJSON *");
+		final var run = new ImportRun();
+		try (final var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			long lineNumber = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank())
+					continue;
+				try {
+					run.accept(lineNumber, this.rowReader.readValue(line));
+				}
+				catch (final JsonProcessingException e) {
+					run.skip(lineNumber, e.getOriginalMessage());
+				}
+			}
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return run.finish();
+	}
+	
+	private static ProductImportRowDto toRow(final Map<String, Integer> columns, final List<String> fields) {
+		return ProductImportRowDto.builder()
+				.sku(field(columns, fields, "sku"))
+				.productTitle(field(columns, fields, "producttitle"))
+				.imageUrl(field(columns, fields, "imageurl"))
+				.priceUnit(parse(field(columns, fields, "priceunit"), Double::valueOf, "priceUnit"))
+				.quantity(parse(field(columns, fields, "quantity"), Integer::valueOf, "quantity"))
+				.categoryId(parse(field(columns, fields, "categoryid"), Integer::valueOf, "categoryId"))
+				.categoryTitle(field(columns, fields, "categorytitle"))
+				.build();
+	}
+	
+	private static String field(final Map<String, Integer> columns, final List<String> fields, final String column) {
+		final Integer index = columns.get(column);
+		if (index == null || index >= fields.size() || fields.get(index).isBlank())
+			return null;
+		return fields.get(index).strip();
+	}
+	
+	private static <T> T parse(final String value, final Function<String, T> parser, final String column) {
+		if (value == null)
+			return null;
+		try {
+			return parser.apply(value);
+		}
+		catch (final NumberFormatException e) {
+			throw new IllegalArgumentException(String.format("Invalid %s: %s", column, value));
+		}
+	}
+	
+	/**
+	 * State of one import: resolved categories, the pending chunk, id allocation and the running report.
+	 */
+	private final class ImportRun {
+		
+		private final long start = System.nanoTime();
+		private final Map<Integer, Category> categoriesById = new HashMap<>();
+		private final Map<String, Category> categoriesByTitle = new HashMap<>();
+		private final ProductIdAllocator productIdAllocator;
+		private final Map<String, ProductDto> chunk = new LinkedHashMap<>();
+		private final Map<String, Long> chunkLineNumbers = new HashMap<>();
+		private final List<String> errors = new ArrayList<>();
+		private long rowsRead;
+		private long inserted;
+		private long updated;
+		private long rejected;
+		
+		private ImportRun() {
+			categoryRepository.findAll().forEach(category -> {
+				this.categoriesById.put(category.getCategoryId(), category);
+				if (category.getCategoryTitle() != null)
+					this.categoriesByTitle.putIfAbsent(category.getCategoryTitle().strip().toLowerCase(), category);
+			});
+			this.productIdAllocator = new ProductIdAllocator(productBatchRepository::nextIdBlock, 
+					Integer.parseInt(AppConstant.PRODUCT_ID_ALLOCATION_SIZE));
+		}
+		
+		private void accept(final long lineNumber, final ProductImportRowDto row) {
+			
+			this.rowsRead++;
+			final var violation = this.validate(row);
+			if (violation != null) {
+				this.reject(lineNumber, violation);
+				return;
+			}
+			
+			// A sku repeated within a chunk is written by the next chunk, so the later row wins.
+			final var sku = row.getSku().strip();
+			if (this.chunk.containsKey(sku))
+				this.write();
+			final var category = row.getCategoryId() != null ? this.categoriesById.get(row.getCategoryId()) : 
+					this.categoriesByTitle.get(row.getCategoryTitle().strip().toLowerCase());
+			this.chunk.put(sku, ProductDto.builder()
+					.sku(sku)
+					.productTitle(row.getProductTitle().strip())
+					.imageUrl(row.getImageUrl())
+					.priceUnit(row.getPriceUnit())
+					.quantity(row.getQuantity() != null ? row.getQuantity() : 0)
+					.categoryDto(CategoryDto.builder()
+							.categoryId(category.getCategoryId())
+							.categoryTitle(category.getCategoryTitle())
+							.imageUrl(category.getImageUrl())
+							.build())
+					.build());
+			this.chunkLineNumbers.put(sku, lineNumber);
+			if (this.chunk.size() >= batchSize)
+				this.write();
+		}
+		
+		/**
+		 * Counts a row that could not even be parsed.
+		 */
+		private void skip(final long lineNumber, final String reason) {
+			this.rowsRead++;
+			this.reject(lineNumber, reason);
+		}
+		
+		private void reject(final long lineNumber, final String reason) {
+			this.rejected++;
+			if (this.errors.size() < maxReportedErrors)
+				this.errors.add(String.format("Line %d: %s", lineNumber, reason));
+		}
+		
+		private String validate(final ProductImportRowDto row) {
+			if (row.getSku() == null || row.getSku().isBlank())
+				return "sku is required";
+			if (row.getSku().strip().length() > MAX_SKU_LENGTH)
+				return String.format("sku is longer than %d characters", MAX_SKU_LENGTH);
+			if (row.getProductTitle() == null || row.getProductTitle().isBlank())
+				return "productTitle is required";
+			if (row.getPriceUnit() != null && (row.getPriceUnit() < 0 || row.getPriceUnit() > MAX_PRICE_UNIT))
+				return String.format("priceUnit must be between 0 and %.2f", MAX_PRICE_UNIT);
+			if (row.getQuantity() != null && row.getQuantity() < 0)
+				return "quantity must not be negative";
+			if (row.getCategoryId() != null && !this.categoriesById.containsKey(row.getCategoryId()))
+				return String.format("Category with id: %d not found", row.getCategoryId());
+			if (row.getCategoryId() == null && (row.getCategoryTitle() == null 
+					|| !this.categoriesByTitle.containsKey(row.getCategoryTitle().strip().toLowerCase())))
+				return String.format("Category with title: %s not found", row.getCategoryTitle());
+			return null;
+		}
+		
+		private void write() {
+			
+			if (this.chunk.isEmpty())
+				return;
+			final var productDtos = new ArrayList<>(this.chunk.values());
+			try {
+				final List<Integer> insertedIds = transactionTemplate.execute(status -> this.writeChunk(productDtos));
+				this.inserted += insertedIds.size();
+				this.updated += productDtos.size() - insertedIds.size();
+				entityManagerFactory.getCache().evict(Product.class);
+				missingProductIds.invalidateAll(insertedIds);
+			}
+			catch (final DataAccessException e) {
+				log.warn("*** ProductImportReportDto, service; chunk of {} rows failed *", productDtos.size(), e);
+				productDtos.forEach(productDto -> 
+						this.reject(this.chunkLineNumbers.get(productDto.getSku()), e.getMostSpecificCause().getMessage()));
+			}
+			this.chunk.clear();
+			this.chunkLineNumbers.clear();
+		}
+		
+		/**
+		 * Returns the ids of the inserted products, which may have been looked up and remembered as missing before.
+		 */
+		private List<Integer> writeChunk(final List<ProductDto> productDtos) {
+			
+			final var existingIds = productBatchRepository.findIdsBySkus(productDtos.stream()
+					.map(ProductDto::getSku)
+					.collect(Collectors.toUnmodifiableList()));
+			final var inserts = new ArrayList<ProductDto>();
+			final var updates = new ArrayList<ProductDto>();
+			productDtos.forEach(productDto -> {
+				final Integer existingId = existingIds.get(productDto.getSku());
+				if (existingId != null) {
+					productDto.setProductId(existingId);
+					updates.add(productDto);
+				}
+				else {
+					productDto.setProductId(this.productIdAllocator.nextId());
+					inserts.add(productDto);
+				}
+			});
+			
+			if (!updates.isEmpty())
+				productBatchRepository.updateAll(updates);
+			if (!inserts.isEmpty())
+				productBatchRepository.insertAll(inserts);
+			
+			productDtos.forEach(productDto -> 
+					eventPublisher.publishEvent(new ProductChangedEvent(productDto.getProductId(), productDto)));
+			eventPublisher.publishEvent(new StockChangedEvent(productDtos.stream()
+					.map(ProductDto::getProductId)
+					.collect(Collectors.toUnmodifiableSet())));
+			
+			return inserts.stream()
+					.map(ProductDto::getProductId)
+					.collect(Collectors.toUnmodifiableList());
+		}
+		
+		private ProductImportReportDto finish() {
+			this.write();
+			final long elapsedNanos = Math.max(1, System.nanoTime() - this.start);
+			final var report = ProductImportReportDto.builder()
+					.rowsRead(this.rowsRead)
+					.inserted(this.inserted)
+					.updated(this.updated)
+					.rejected(this.rejected)
+					.elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+					.rowsPerSecond(this.rowsRead * TimeUnit.SECONDS.toNanos(1) / elapsedNanos)
+					.errors(List.copyOf(this.errors))
+					.build();
+			log.info("*** ProductImportReportDto, service; read {} rows, inserted {}, updated {}, rejected {} in {} ms ({} rows/s) *", 
+					report.getRowsRead(), report.getInserted(), report.getUpdated(), report.getRejected(), 
+					report.getElapsedMillis(), report.getRowsPerSecond());
+			return report;
+		}
+		
+	}
+	
+	
+	
+}
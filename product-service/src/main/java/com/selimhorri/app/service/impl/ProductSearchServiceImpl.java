@@ -0,0 +1,175 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.ProductSearchService;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.search.ProductSearchIndex;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers product searches from the in-process index without touching the database. 
+ * The index is filled once the application is ready; product writes of this instance are applied 
+ * as they commit, everything else is re-read in batches on a background refresh. The refresh follows 
+ * the shared outbox table, which has a row for every product and stock write of any instance.
+ */
+@Service
+@Slf4j
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	static final int MAX_TRACKED_GAPS = 1024;
+	private static final String PRODUCT_AGGREGATE = OutboxEventType.PRODUCT_CHANGED.getAggregateType();
+	
+	private final ProductService productService;
+	private final OutboxEventRepository outboxEventRepository;
+	private final int pollBatchSize;
+	private final Duration gapTimeout;
+	private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+	private final Set<Integer> dirtyProductIds = new HashSet<>();
+	private final Map<Long, Instant> missingEventIds = new HashMap<>();
+	private long lastEventId = -1L;
+	
+	public ProductSearchServiceImpl(final ProductService productService, 
+			final OutboxEventRepository outboxEventRepository, 
+			@Value("${app.search.poll-batch-size:1000}") final int pollBatchSize, 
+			@Value("${app.search.gap-timeout:1m}") final Duration gapTimeout) {
+		this.productService = productService;
+		this.outboxEventRepository = outboxEventRepository;
+		this.pollBatchSize = Math.max(pollBatchSize, 1);
+		this.gapTimeout = gapTimeout;
+	}
+	
+	@Override
+	public List<ProductDto> search(final String query, final Integer limit) {
+		log.info("*** ProductDto List, service; search products *");
+		return this.productSearchIndex.search(query, 
+				Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_SEARCH_LIMIT, 1), AppConstant.MAX_SEARCH_LIMIT));
+	}
+	
+	/**
+	 * The outbox position is taken before streaming and set back by the number of tracked gaps, 
+	 * so writes committing while the index is filled, in or out of event id order, are re-read afterwards. 
+	 * That includes local writes the rebuild overwrote.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void rebuild() {
+		
+		final long latestEventId = Objects.requireNonNullElse(
+				this.outboxEventRepository.findMaxEventIdByEventTypeIn(EnumSet.allOf(OutboxEventType.class)), 0L);
+		final var productDtos = new ArrayList<ProductDto>();
+		this.productService.streamAll(productDtos::add);
+		this.productSearchIndex.rebuild(productDtos);
+		this.lastEventId = Math.max(latestEventId - MAX_TRACKED_GAPS, 0L);
+		this.missingEventIds.clear();
+		log.info("*** ProductSearchIndex, service; indexed {} products *", productDtos.size());
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent event) {
+		if (event.isDeleted())
+			this.productSearchIndex.remove(event.getProductId());
+		else
+			this.productSearchIndex.index(event.getProductDto());
+	}
+	
+	/**
+	 * Hits carry the product quantity; the products are only marked here and re-read by the 
+	 * next refresh, so reservations never wait on the index or pay for a products read.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStockChanged(final StockChangedEvent event) {
+		this.markDirty(event.getProductIds());
+	}
+	
+	@Scheduled(fixedDelayString = "${app.search.refresh-interval:PT1S}")
+	public synchronized void refresh() {
+		
+		if (this.lastEventId < 0)
+			return;
+		
+		this.pollOutbox();
+		final Set<Integer> productIds;
+		synchronized (this.dirtyProductIds) {
+			productIds = Set.copyOf(this.dirtyProductIds);
+			this.dirtyProductIds.clear();
+		}
+		if (!productIds.isEmpty())
+			this.reindex(productIds);
+	}
+	
+	/**
+	 * Event ids are taken when a row is inserted but become visible when its transaction commits, 
+	 * so ids skipped over are asked for again until they show up or the gap timeout passes.
+	 */
+	private void pollOutbox() {
+		
+		final var now = Instant.now();
+		final var outboxEventViews = new ArrayList<>(this.outboxEventRepository
+				.findViewsAfter(this.lastEventId, PageRequest.of(0, this.pollBatchSize)));
+		if (!this.missingEventIds.isEmpty())
+			outboxEventViews.addAll(this.outboxEventRepository.findViewsByIds(Set.copyOf(this.missingEventIds.keySet())));
+		
+		final var productIds = new HashSet<Integer>();
+		outboxEventViews.forEach(outboxEventView -> {
+			final long eventId = outboxEventView.getEventId();
+			if (eventId > this.lastEventId) {
+				for (long skipped = Math.max(this.lastEventId + 1, eventId - MAX_TRACKED_GAPS); skipped < eventId; skipped++)
+					this.missingEventIds.putIfAbsent(skipped, now);
+				this.lastEventId = eventId;
+			}
+			else
+				this.missingEventIds.remove(eventId);
+			if (PRODUCT_AGGREGATE.equals(outboxEventView.getAggregateType()))
+				productIds.add(outboxEventView.getAggregateId());
+		});
+		this.missingEventIds.values().removeIf(seenAt -> seenAt.isBefore(now.minus(this.gapTimeout)));
+		this.markDirty(productIds);
+	}
+	
+	private void markDirty(final Set<Integer> productIds) {
+		if (productIds.isEmpty())
+			return;
+		synchronized (this.dirtyProductIds) {
+			this.dirtyProductIds.addAll(productIds);
+		}
+	}
+	
+	private void reindex(final Set<Integer> productIds) {
+		final var productDtos = this.productService.findAllByIds(productIds);
+		productDtos.forEach(this.productSearchIndex::index);
+		final var found = productDtos.stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toUnmodifiableSet());
+		productIds.stream()
+				.filter(productId -> !found.contains(productId))
+				.forEach(this.productSearchIndex::remove);
+	}
+	
+	
+	
+}
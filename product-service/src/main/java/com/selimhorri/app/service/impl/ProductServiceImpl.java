@@ -1,14 +1,37 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.DeleteOutcomeDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.event.ProductChangedEvent;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.BulkDeleteHelper;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.ProductService;
@@ -23,11 +46,18 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final Cache<Integer, ProductNotFoundException> missingProductIds;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
 	
 	@Override
+	@Cacheable(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, key = "'all'", unless = "#result.size() > @cacheConfig.listsMaximumWeight")
 	public List<ProductDto> findAll() {
 		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+		return this.productRepository.findAllViews()
 				.stream()
 					.map(ProductMappingHelper::map)
 					.distinct()
@@ -35,39 +65,155 @@ public class ProductServiceImpl implements ProductService {
 	}
 	
 	@Override
+	public DtoCursorPageResponse<ProductDto> findAllAfter(final Integer afterProductId, final Integer limit) {
+		log.info("*** ProductDto Page, service; fetch products page after cursor *");
+		final int pageSize = Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_PAGE_LIMIT, 1), AppConstant.MAX_PAGE_LIMIT);
+		final var products = this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(
+				afterProductId != null ? afterProductId : 0, PageRequest.of(0, pageSize + 1));
+		final var collection = products.stream()
+				.limit(pageSize)
+				.map(ProductMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		return new DtoCursorPageResponse<>(collection, 
+				products.size() > pageSize ? collection.get(pageSize - 1).getProductId() : null);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<ProductDto> consumer) {
+		log.info("*** ProductDto Stream, service; stream all products *");
+		try (final Stream<Product> products = this.productRepository.streamAllByOrderByProductIdAsc()) {
+			products.forEach(product -> {
+				consumer.accept(ProductMappingHelper.map(product));
+				this.entityManager.detach(product);
+			});
+		}
+	}
+	
+	@Override
+	@Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId")
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
-		return this.productRepository.findById(productId)
+		final var missing = this.missingProductIds.getIfPresent(productId);
+		if (missing != null)
+			throw missing;
+		return this.productRepository.findViewById(productId)
 				.map(ProductMappingHelper::map)
-				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+				.orElseThrow(() -> {
+					final var notFound = new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+					this.missingProductIds.put(productId, notFound);
+					return notFound;
+				});
+	}
+	
+	@Override
+	public VersionView findVersion() {
+		log.info("*** VersionView, service; fetch products version *");
+		return this.productRepository.findVersion();
+	}
+	
+	@Override
+	public VersionView findVersionById(final Integer productId) {
+		log.info("*** VersionView, service; fetch product version by id *");
+		return this.productRepository.findVersionById(productId);
+	}
+	
+	@Override
+	public List<ProductDto> findAllByIds(final Set<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		return this.productRepository.findAllViewsById(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Caching(
+		put = @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#result.productId"), 
+		evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, allEntries = true))
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final var savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(savedProductDto.getProductId(), savedProductDto));
+		return savedProductDto;
 	}
 	
 	@Override
+	@Caching(
+		put = @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#result.productId"), 
+		evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, allEntries = true))
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
+		final var savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(savedProductDto.getProductId(), savedProductDto));
+		return savedProductDto;
 	}
 	
 	@Override
+	@Caching(
+		put = @CachePut(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId"), 
+		evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, allEntries = true))
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
+		final var savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(this.findById(productId))));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(productId, savedProductDto));
+		return savedProductDto;
 	}
 	
+	/**
+	 * The search index still needs the whole product, so a patch that hit a row re-reads it 
+	 * through the projection (the bulk update bypasses the persistence context).
+	 */
 	@Override
+	@Caching(evict = {
+		@CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId"), 
+		@CacheEvict(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, allEntries = true)})
+	public int patch(final Integer productId, final ProductDto productDto) {
+		log.info("*** Integer, service; patch product with productId *");
+		final int patched = this.productRepository.patchById(productId, productDto);
+		if (patched > 0)
+			this.productRepository.findViewById(productId)
+					.map(ProductMappingHelper::map)
+					.ifPresent(patchedProductDto -> this.eventPublisher.publishEvent(new ProductChangedEvent(productId, patchedProductDto)));
+		return patched;
+	}
+	
+	@Override
+	@Caching(evict = {
+		@CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productId"), 
+		@CacheEvict(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, allEntries = true)})
 	public void deleteById(final Integer productId) {
 		log.info("*** Void, service; delete product by id *");
-		this.productRepository.delete(ProductMappingHelper
-				.map(this.findById(productId)));
+		if (this.productRepository.deleteAllByIdIn(Set.of(productId)) == 0)
+			throw new ProductNotFoundException(String.format("Product with id: %d not found", productId));
+		this.eventPublisher.publishEvent(new ProductChangedEvent(productId, null));
+	}
+	
+	@Override
+	@Caching(evict = {
+		@CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true), 
+		@CacheEvict(cacheNames = CacheConfig.PRODUCT_LISTS_CACHE, allEntries = true)})
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<DeleteOutcomeDto> deleteAllByIds(final Set<Integer> productIds) {
+		log.info("*** DeleteOutcomeDto List, service; delete products by ids *");
+		return BulkDeleteHelper.deleteAllByIds(productIds, this.transactionTemplate, 
+				this.productRepository::findIdsByIdIn, existingProductIds -> {
+					final int deleted = this.productRepository.deleteAllByIdIn(existingProductIds);
+					existingProductIds.forEach(productId -> this.eventPublisher.publishEvent(new ProductChangedEvent(productId, null)));
+					return deleted;
+				});
+	}
+	
+	/**
+	 * Ids are forgotten as missing only once the write has committed; 
+	 * a lookup racing an earlier invalidation would cache the id as missing again.
+	 */
+	@TransactionalEventListener(fallbackExecution = true, condition = "!#event.deleted")
+	public void onProductChanged(final ProductChangedEvent event) {
+		this.missingProductIds.invalidate(event.getProductId());
 	}
 	
 	
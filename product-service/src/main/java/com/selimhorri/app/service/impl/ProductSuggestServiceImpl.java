@@ -0,0 +1,123 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.domain.OutboxEventType;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductSuggestService;
+import com.selimhorri.app.service.suggest.TitleSuggester;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves type-ahead suggestions from an immutable title trie. Catalog changes schedule one 
+ * debounced rebuild on a background thread; lookups keep using the previous trie 
+ * until the new one is swapped in. Title changes made by other instances are noticed 
+ * through the product and delete rows they add to the shared outbox table.
+ */
+@Service
+@Slf4j
+public class ProductSuggestServiceImpl implements ProductSuggestService {
+	
+	private static final Set<OutboxEventType> TITLE_EVENT_TYPES = Set.of(OutboxEventType.PRODUCT_CHANGED, OutboxEventType.PRODUCT_DELETED);
+	
+	private final ProductRepository productRepository;
+	private final OutboxEventRepository outboxEventRepository;
+	private final Duration rebuildDelay;
+	private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final var thread = new Thread(runnable, "suggest-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+	
+	private volatile TitleSuggester titleSuggester = TitleSuggester.of(List.of());
+	private volatile List<Long> builtVersion;
+	
+	public ProductSuggestServiceImpl(final ProductRepository productRepository, 
+			final OutboxEventRepository outboxEventRepository, 
+			@Value("${app.suggest.rebuild-delay:2s}") final Duration rebuildDelay) {
+		this.productRepository = productRepository;
+		this.outboxEventRepository = outboxEventRepository;
+		this.rebuildDelay = rebuildDelay;
+	}
+	
+	@Override
+	public List<String> suggest(final String prefix, final Integer limit) {
+		log.info("*** String List, service; suggest product titles *");
+		return this.titleSuggester.suggest(prefix, limit != null ? limit : TitleSuggester.MAX_SUGGESTIONS);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		this.scheduleRebuild(Duration.ZERO);
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent event) {
+		this.scheduleRebuild(this.rebuildDelay);
+	}
+	
+	/**
+	 * Stock movements are left out, as they never change a title. Counting the rows as well as taking 
+	 * the latest id catches rows that commit out of id order; purging published rows costs one rebuild.
+	 */
+	@Scheduled(fixedDelayString = "${app.suggest.version-poll-interval:PT5S}")
+	public void pollVersion() {
+		final var version = this.builtVersion;
+		if (version != null && !version.equals(this.titlesVersion()))
+			this.scheduleRebuild(this.rebuildDelay);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.rebuildExecutor.shutdownNow();
+	}
+	
+	private void scheduleRebuild(final Duration delay) {
+		if (this.rebuildScheduled.compareAndSet(false, true))
+			this.rebuildExecutor.schedule(this::rebuild, delay.toMillis(), TimeUnit.MILLISECONDS);
+	}
+	
+	private void rebuild() {
+		this.rebuildScheduled.set(false);
+		try {
+			final long start = System.nanoTime();
+			final var version = this.titlesVersion();
+			final var rebuilt = TitleSuggester.of(this.productRepository.findAllTitles());
+			this.builtVersion = version;
+			this.titleSuggester = rebuilt;
+			log.info("*** TitleSuggester, service; rebuilt over {} titles with {} nodes in {} ms *", 
+					rebuilt.size(), rebuilt.nodeCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		}
+		catch (final RuntimeException e) {
+			log.error("*** TitleSuggester, service; rebuild failed, keeping previous suggestions *", e);
+		}
+	}
+	
+	private List<Long> titlesVersion() {
+		return List.of(this.outboxEventRepository.countByEventTypeIn(TITLE_EVENT_TYPES), 
+				Objects.requireNonNullElse(this.outboxEventRepository.findMaxEventIdByEventTypeIn(TITLE_EVENT_TYPES), 0L));
+	}
+	
+	
+	
+}
@@ -0,0 +1,200 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import javax.transaction.Transactional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.domain.StockReservationItem;
+import com.selimhorri.app.domain.StockReservationStatus;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.StockReservationNotFoundException;
+import com.selimhorri.app.helper.StockReservationMappingHelper;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.HotStockService;
+import com.selimhorri.app.service.StockReservationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds stock for checkout with one conditional UPDATE per product instead of read-modify-write saves, 
+ * so concurrent buyers never oversell and each row lock is only held for a single statement. 
+ * A multi-product reservation takes its products in ascending id order within one transaction, 
+ * which keeps overlapping baskets from deadlocking, and rolls back entirely when any product runs short. 
+ * Reservations that are neither confirmed nor released before they expire give their stock back.
+ */
+@Service
+@Transactional
+@Slf4j
+public class StockReservationServiceImpl implements StockReservationService {
+	
+	private final ProductRepository productRepository;
+	private final StockReservationRepository stockReservationRepository;
+	private final HotStockService hotStockService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CacheManager cacheManager;
+	private final Duration defaultTtl;
+	private final Duration maxTtl;
+	private final int sweepBatchSize;
+	
+	public StockReservationServiceImpl(final ProductRepository productRepository, 
+			final StockReservationRepository stockReservationRepository, 
+			final HotStockService hotStockService, 
+			final ApplicationEventPublisher eventPublisher, 
+			final CacheManager cacheManager, 
+			@Value("${app.stock.reservation.default-ttl:15m}") final Duration defaultTtl, 
+			@Value("${app.stock.reservation.max-ttl:1h}") final Duration maxTtl, 
+			@Value("${app.stock.reservation.sweep-batch-size:100}") final int sweepBatchSize) {
+		this.productRepository = productRepository;
+		this.stockReservationRepository = stockReservationRepository;
+		this.hotStockService = hotStockService;
+		this.eventPublisher = eventPublisher;
+		this.cacheManager = cacheManager;
+		this.defaultTtl = defaultTtl;
+		this.maxTtl = maxTtl;
+		this.sweepBatchSize = sweepBatchSize;
+	}
+	
+	@Override
+	public StockReservationDto findById(final String reservationId) {
+		log.info("*** StockReservationDto, service; fetch stock reservation by id *");
+		return this.stockReservationRepository.findById(reservationId)
+				.map(StockReservationMappingHelper::map)
+				.orElseThrow(() -> new StockReservationNotFoundException(String
+						.format("Stock reservation with id: %s not found", reservationId)));
+	}
+	
+	@Override
+	public StockReservationDto reserve(final StockReservationDto stockReservationDto) {
+		log.info("*** StockReservationDto, service; reserve stock *");
+		
+		final Map<Integer, Integer> quantities = new TreeMap<>();
+		stockReservationDto.getItemDtos()
+				.forEach(itemDto -> quantities.merge(itemDto.getProductId(), itemDto.getQuantity(), Integer::sum));
+		
+		final var items = new ArrayList<StockReservationItem>(quantities.size());
+		quantities.forEach((productId, quantity) -> {
+			if (!this.take(productId, quantity))
+				throw new InsufficientStockException(String
+						.format("Product with id: %d has less than %d items in stock", productId, quantity));
+			items.add(new StockReservationItem(productId, quantity));
+		});
+		if (quantities.keySet().stream().anyMatch(this.hotStockService::isHot))
+			this.hotStockService.awaitJournaled();
+		
+		final var ttl = stockReservationDto.getTtlSeconds() != null ? 
+				Duration.ofSeconds(stockReservationDto.getTtlSeconds()) : this.defaultTtl;
+		final var stockReservation = this.stockReservationRepository.save(StockReservation.builder()
+				.reservationId(UUID.randomUUID().toString())
+				.status(StockReservationStatus.RESERVED)
+				.expiresAt(LocalDateTime.now().plus(ttl.compareTo(this.maxTtl) > 0 ? this.maxTtl : ttl))
+				.items(items)
+				.build());
+		this.eventPublisher.publishEvent(new StockChangedEvent(quantities.keySet()));
+		
+		return StockReservationMappingHelper.map(stockReservation);
+	}
+	
+	@Override
+	public StockReservationDto confirm(final String reservationId) {
+		log.info("*** StockReservationDto, service; confirm stock reservation *");
+		if (this.stockReservationRepository.confirmIfReserved(reservationId, LocalDateTime.now()) == 0)
+			throw new StockReservationNotFoundException(String
+					.format("Stock reservation with id: %s not found or no longer held", reservationId));
+		return this.findById(reservationId);
+	}
+	
+	@Override
+	public StockReservationDto release(final String reservationId) {
+		log.info("*** StockReservationDto, service; release stock reservation *");
+		this.restock(reservationId);
+		return this.findById(reservationId);
+	}
+	
+	/**
+	 * Releases expired reservations in batches of the configured size, oldest first.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${app.stock.reservation.sweep-interval:PT30S}")
+	public int releaseExpired() {
+		final var reservationIds = this.stockReservationRepository
+				.findExpiredReservationIds(LocalDateTime.now(), PageRequest.of(0, this.sweepBatchSize));
+		final long released = reservationIds.stream()
+				.filter(this::restock)
+				.count();
+		if (released > 0)
+			log.info("*** Integer, service; released {} expired stock reservations *", released);
+		return (int) released;
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStockChanged(final StockChangedEvent event) {
+		final var products = this.cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+		if (products != null)
+			event.getProductIds().forEach(products::evict);
+		final var productLists = this.cacheManager.getCache(CacheConfig.PRODUCT_LISTS_CACHE);
+		if (productLists != null)
+			productLists.clear();
+	}
+	
+	/**
+	 * Hot products are taken from their in-memory counters, all others with a conditional UPDATE.
+	 */
+	private boolean take(final Integer productId, final Integer quantity) {
+		if (this.hotStockService.isHot(productId))
+			return this.hotStockService.tryTake(productId, quantity);
+		return this.productRepository.decrementQuantity(productId, quantity) > 0;
+	}
+	
+	/**
+	 * Gives the reservation's stock back if this call is the one moving it out of RESERVED.
+	 */
+	private boolean restock(final String reservationId) {
+		if (this.stockReservationRepository.updateStatusIfReserved(reservationId, StockReservationStatus.RELEASED) == 0)
+			return false;
+		final var stockReservation = this.stockReservationRepository.findById(reservationId)
+				.orElseThrow(() -> new StockReservationNotFoundException(String
+						.format("Stock reservation with id: %s not found", reservationId)));
+		final Map<Integer, Integer> quantities = new TreeMap<>();
+		stockReservation.getItems()
+				.forEach(item -> quantities.put(item.getProductId(), item.getQuantity()));
+		quantities.forEach((productId, quantity) -> {
+			if (this.hotStockService.isHot(productId))
+				this.hotStockService.giveBack(productId, quantity);
+			else
+				this.productRepository.incrementQuantity(productId, quantity);
+		});
+		this.eventPublisher.publishEvent(new StockChangedEvent(quantities.keySet()));
+		return true;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,111 @@
+package com.selimhorri.app.service.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: one record is parsed at a time straight off the stream, 
+ * so arbitrarily large files are read in constant memory. Quoted fields may contain 
+ * separators, doubled quotes and line breaks; blank lines are skipped.
+ */
+public final class CsvRecordReader implements Closeable {
+	
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+	
+	private final Reader reader;
+	private final StringBuilder field = new StringBuilder();
+	private long lineNumber = 1;
+	private long recordLineNumber;
+	private int pending = -1;
+	
+	public CsvRecordReader(final Reader reader) {
+		this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+	}
+	
+	/**
+	 * Next record's fields, or null at the end of the stream.
+	 */
+	public List<String> next() throws IOException {
+		
+		int c;
+		while ((c = this.read()) == '\r' || c == '\n')
+			if (c == '\n')
+				this.lineNumber++;
+		if (c == -1)
+			return null;
+		
+		this.recordLineNumber = this.lineNumber;
+		final List<String> fields = new ArrayList<>();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+		this.field.setLength(0);
+		
+		for (; c != -1; c = this.read()) {
+			if (quoted) {
+				if (c == QUOTE) {
+					final int following = this.read();
+					if (following == QUOTE)
+						this.field.append(QUOTE);
+					else {
+						quoted = false;
+						this.pending = following;
+					}
+				}
+				else {
+					if (c == '\n')
+						this.lineNumber++;
+					this.field.append((char) c);
+				}
+			}
+			else if (c == QUOTE && this.field.length() == 0 && !wasQuoted)
+				quoted = wasQuoted = true;
+			else if (c == SEPARATOR) {
+				fields.add(this.field.toString());
+				this.field.setLength(0);
+				wasQuoted = false;
+			}
+			else if (c == '\n' || c == '\r') {
+				if (c == '\r' && (c = this.read()) != '\n')
+					this.pending = c;
+				this.lineNumber++;
+				break;
+			}
+			else
+				this.field.append((char) c);
+		}
+		
+		if (quoted)
+			throw new IOException(String.format("Unterminated quoted field in record starting at line %d", this.recordLineNumber));
+		fields.add(this.field.toString());
+		return fields;
+	}
+	
+	/**
+	 * Line on which the record last returned by {@link #next()} starts.
+	 */
+	public long getLineNumber() {
+		return this.recordLineNumber;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+	
+	private int read() throws IOException {
+		if (this.pending != -1) {
+			final int c = this.pending;
+			this.pending = -1;
+			return c;
+		}
+		return this.reader.read();
+	}
+	
+	
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.service.importer;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out product ids from blocks reserved on the product sequence, one sequence call per block, 
+ * using the same pooled-lo layout as the entity generator so both never collide.
+ */
+public final class ProductIdAllocator {
+	
+	private final LongSupplier nextBlock;
+	private final int blockSize;
+	private long next;
+	private long limit;
+	
+	public ProductIdAllocator(final LongSupplier nextBlock, final int blockSize) {
+		this.nextBlock = nextBlock;
+		this.blockSize = blockSize;
+	}
+	
+	public int nextId() {
+		if (this.next == this.limit) {
+			this.next = this.nextBlock.getAsLong();
+			this.limit = this.next + this.blockSize;
+		}
+		return Math.toIntExact(this.next++);
+	}
+	
+	
+	
+}
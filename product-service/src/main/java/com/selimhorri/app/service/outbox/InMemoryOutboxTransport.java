@@ -0,0 +1,39 @@
+package com.selimhorri.app.service.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import com.selimhorri.app.dto.OutboxEventDto;
+
+/**
+ * Hands events to subscribers of the same process, on the relay thread; 
+ * a subscriber that throws fails the batch, which is redelivered to every subscriber.
+ */
+public final class InMemoryOutboxTransport implements OutboxTransport {
+	
+	private final List<Consumer<OutboxEventDto>> subscribers = new CopyOnWriteArrayList<>();
+	
+	public void subscribe(final Consumer<OutboxEventDto> subscriber) {
+		this.subscribers.add(subscriber);
+	}
+	
+	@Override
+	public void send(final List<OutboxEventDto> outboxEventDtos) {
+		outboxEventDtos.forEach(outboxEventDto -> 
+				this.subscribers.forEach(subscriber -> subscriber.accept(outboxEventDto)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
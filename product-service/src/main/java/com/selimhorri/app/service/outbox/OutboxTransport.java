@@ -0,0 +1,19 @@
+package com.selimhorri.app.service.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.selimhorri.app.dto.OutboxEventDto;
+
+/**
+ * Carries relayed outbox events to other services. Delivery is at least once: 
+ * a batch that throws is sent again on the next relay run, so consumers deduplicate by event id.
+ */
+public interface OutboxTransport {
+	
+	/**
+	 * Sends one batch in event id order; returning normally acknowledges the whole batch.
+	 */
+	void send(final List<OutboxEventDto> outboxEventDtos) throws IOException;
+	
+}
@@ -0,0 +1,448 @@
+package com.selimhorri.app.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * In-process inverted index over product title, sku and category title, ranked with BM25.
+ * Every query token also matches indexed terms it is a prefix of, so partially typed words find results.
+ * Documents are addressed by an internal ordinal; an update appends a new ordinal and marks
+ * the old one dead, and the postings are compacted once dead ordinals pile up.
+ */
+public final class ProductSearchIndex {
+	
+	static final double K1 = 1.2;
+	static final double B = 0.75;
+	static final int MIN_PREFIX_LENGTH = 2;
+	static final int MAX_PREFIX_EXPANSIONS = 64;
+	static final int PROBE_COST = 16;
+	static final int CHAMPION_THRESHOLD = 8192;
+	static final int CHAMPION_LIST_SIZE = 1024;
+	
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final NavigableMap<String, Postings> postings = new TreeMap<>();
+	private final List<ProductDto> products = new ArrayList<>();
+	private int[] lengths = new int[16];
+	private final Map<Integer, Integer> ordinals = new HashMap<>();
+	private long totalLength;
+	
+	public void index(final ProductDto productDto) {
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(productDto.getProductId());
+			this.append(productDto);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(productId);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Replaces the whole index content, e.g. on startup.
+	 */
+	public void rebuild(final Collection<ProductDto> productDtos) {
+		this.lock.writeLock().lock();
+		try {
+			this.clear();
+			productDtos.forEach(this::append);
+			this.precomputeChampions();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.ordinals.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Top products by BM25 score, best first. Per query token a document scores the best
+	 * of the exact term and the terms the token is a prefix of, and token scores are summed.
+	 * Products matching every token are preferred; only when there are fewer of them than
+	 * requested are products matching any token ranked instead.
+	 */
+	public List<ProductDto> search(final String query, final int limit) {
+		
+		final var queryTokens = tokenize(query).keySet();
+		if (queryTokens.isEmpty() || limit <= 0)
+			return Collections.emptyList();
+		
+		this.lock.readLock().lock();
+		try {
+			if (this.ordinals.isEmpty())
+				return Collections.emptyList();
+			final var tokenExpansions = queryTokens.stream()
+					.map(this::expand)
+					.sorted(Comparator.comparingLong(ProductSearchIndex::cost))
+					.collect(Collectors.toList());
+			var scores = this.matchAll(tokenExpansions);
+			if (scores.size < limit && tokenExpansions.size() > 1)
+				scores = this.matchAny(tokenExpansions);
+			return this.top(scores, limit);
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Conjunctive match, rarest token first. Each further token either probes its sorted postings
+	 * for the remaining candidates or, when that would cost more, is scored in full and intersected. 
+	 * Intersections need every posting, so champion lists only stand in for a single-token query.
+	 */
+	private ScoreTable matchAll(final List<List<Postings>> tokenExpansions) {
+		var scores = this.score(tokenExpansions.get(0), tokenExpansions.size() == 1);
+		for (int t = 1; t < tokenExpansions.size() && scores.size > 0; t++) {
+			final var expansions = tokenExpansions.get(t);
+			final var current = scores;
+			final var next = new ScoreTable(current.size);
+			if ((long) current.size * expansions.size() * PROBE_COST < cost(expansions)) {
+				current.forEach((ordinal, score) -> {
+					float best = 0;
+					for (final Postings termPostings : expansions) {
+						final int i = Arrays.binarySearch(termPostings.ordinals, 0, termPostings.size, ordinal);
+						if (i >= 0)
+							best = Math.max(best, this.bm25(termPostings, termPostings.frequencies[i], ordinal));
+					}
+					if (best > 0)
+						next.max(ordinal, score + best);
+				});
+			}
+			else {
+				final var tokenScores = this.score(expansions, false);
+				current.forEach((ordinal, score) -> {
+					final float tokenScore = tokenScores.get(ordinal);
+					if (tokenScore > 0)
+						next.max(ordinal, score + tokenScore);
+				});
+			}
+			scores = next;
+		}
+		return scores;
+	}
+	
+	private ScoreTable matchAny(final List<List<Postings>> tokenExpansions) {
+		final var scores = this.score(tokenExpansions.get(0), true);
+		for (int t = 1; t < tokenExpansions.size(); t++)
+			scores.addAll(this.score(tokenExpansions.get(t), true));
+		return scores;
+	}
+	
+	/**
+	 * Scores every posting of the token's terms. When the scores only rank, very common terms 
+	 * are cut down to their champion list, the postings with the highest term score.
+	 */
+	private ScoreTable score(final List<Postings> expansions, final boolean championsOnly) {
+		final var scores = new ScoreTable((int) Math.min(cost(expansions), this.products.size()));
+		for (final Postings termPostings : expansions) {
+			if (championsOnly && termPostings.size > CHAMPION_THRESHOLD) {
+				final var champions = this.champions(termPostings);
+				for (final int i : champions.indexes)
+					if (this.lengths[termPostings.ordinals[i]] >= 0)
+						scores.max(termPostings.ordinals[i], this.bm25(termPostings, termPostings.frequencies[i], termPostings.ordinals[i]));
+				for (int i = champions.size; i < termPostings.size; i++)
+					if (this.lengths[termPostings.ordinals[i]] >= 0)
+						scores.max(termPostings.ordinals[i], this.bm25(termPostings, termPostings.frequencies[i], termPostings.ordinals[i]));
+			}
+			else {
+				for (int i = 0; i < termPostings.size; i++)
+					if (this.lengths[termPostings.ordinals[i]] >= 0)
+						scores.max(termPostings.ordinals[i], this.bm25(termPostings, termPostings.frequencies[i], termPostings.ordinals[i]));
+			}
+		}
+		return scores;
+	}
+	
+	/**
+	 * Posting indexes of the term's top scoring documents as of some earlier size; postings 
+	 * appended since are scanned as well, and the list is recomputed once that tail grows large.
+	 */
+	private Champions champions(final Postings termPostings) {
+		final var cached = termPostings.champions;
+		if (cached != null && termPostings.size - cached.size <= CHAMPION_LIST_SIZE)
+			return cached;
+		final var top = new PriorityQueue<Integer>(CHAMPION_LIST_SIZE + 1, 
+				Comparator.comparingDouble(i -> this.bm25(termPostings, termPostings.frequencies[i], termPostings.ordinals[i])));
+		for (int i = 0; i < termPostings.size; i++) {
+			if (this.lengths[termPostings.ordinals[i]] < 0)
+				continue;
+			top.offer(i);
+			if (top.size() > CHAMPION_LIST_SIZE)
+				top.poll();
+		}
+		final var champions = new Champions(top.stream().mapToInt(Integer::intValue).toArray(), termPostings.size);
+		termPostings.champions = champions;
+		return champions;
+	}
+	
+	private float bm25(final Postings termPostings, final int frequency, final int ordinal) {
+		final int liveCount = this.ordinals.size();
+		final double idf = Math.log(1 + (liveCount - termPostings.size + 0.5) / (termPostings.size + 0.5));
+		final double averageLength = (double) this.totalLength / liveCount;
+		return (float) (idf * frequency * (K1 + 1) 
+				/ (frequency + K1 * (1 - B + B * this.lengths[ordinal] / averageLength)));
+	}
+	
+	private List<ProductDto> top(final ScoreTable scores, final int limit) {
+		final var top = new PriorityQueue<Integer>(limit + 1, (first, second) -> Float.compare(scores.get(first), scores.get(second)));
+		scores.forEach((ordinal, score) -> {
+			if (top.size() < limit)
+				top.offer(ordinal);
+			else if (score > scores.get(top.peek())) {
+				top.poll();
+				top.offer(ordinal);
+			}
+		});
+		final var results = new ProductDto[top.size()];
+		for (int i = results.length - 1; i >= 0; i--)
+			results[i] = this.products.get(top.poll());
+		return Arrays.asList(results);
+	}
+	
+	private static long cost(final List<Postings> expansions) {
+		long cost = 0;
+		for (final Postings termPostings : expansions)
+			cost += termPostings.size;
+		return cost;
+	}
+	
+	/**
+	 * Lower-cased, accent-folded terms with their frequencies, in first-seen order.
+	 */
+	static Map<String, Integer> tokenize(final String text) {
+		final Map<String, Integer> tokens = new LinkedHashMap<>();
+		if (text == null || text.isBlank())
+			return tokens;
+		final var folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+		for (final String token : SEPARATORS.split(folded))
+			if (!token.isEmpty())
+				tokens.merge(token, 1, Integer::sum);
+		return tokens;
+	}
+	
+	private List<Postings> expand(final String token) {
+		final var exact = this.postings.get(token);
+		if (token.length() < MIN_PREFIX_LENGTH)
+			return exact != null ? List.of(exact) : Collections.emptyList();
+		final var expansions = new ArrayList<Postings>();
+		for (final var termPostings : this.postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+			expansions.add(termPostings);
+			if (expansions.size() == MAX_PREFIX_EXPANSIONS)
+				break;
+		}
+		if (exact != null && !expansions.contains(exact))
+			expansions.add(exact);
+		return expansions;
+	}
+	
+	private void append(final ProductDto productDto) {
+		
+		final var terms = tokenize(Stream.of(
+					productDto.getProductTitle(), 
+					productDto.getSku(), 
+					productDto.getCategoryDto() != null ? productDto.getCategoryDto().getCategoryTitle() : null)
+				.filter(Objects::nonNull)
+				.collect(Collectors.joining(" ")));
+		
+		final int ordinal = this.products.size();
+		final int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+		if (ordinal == this.lengths.length)
+			this.lengths = Arrays.copyOf(this.lengths, ordinal * 2);
+		this.products.add(productDto);
+		this.lengths[ordinal] = length;
+		this.ordinals.put(productDto.getProductId(), ordinal);
+		this.totalLength += length;
+		terms.forEach((term, frequency) -> this.postings.computeIfAbsent(term, k -> new Postings()).add(ordinal, frequency));
+	}
+	
+	private void unindex(final Integer productId) {
+		final var ordinal = this.ordinals.remove(productId);
+		if (ordinal == null)
+			return;
+		this.totalLength -= this.lengths[ordinal];
+		this.products.set(ordinal, null);
+		this.lengths[ordinal] = -1;
+		if (this.products.size() - this.ordinals.size() > Math.max(1024, this.ordinals.size() / 4))
+			this.compact();
+	}
+	
+	private void compact() {
+		final var live = new ArrayList<ProductDto>(this.ordinals.size());
+		this.products.forEach(productDto -> {
+			if (productDto != null)
+				live.add(productDto);
+		});
+		this.clear();
+		live.forEach(this::append);
+		this.precomputeChampions();
+	}
+	
+	private void precomputeChampions() {
+		this.postings.values().stream()
+				.filter(termPostings -> termPostings.size > CHAMPION_THRESHOLD)
+				.forEach(this::champions);
+	}
+	
+	private void clear() {
+		this.postings.clear();
+		this.products.clear();
+		this.ordinals.clear();
+		this.totalLength = 0;
+	}
+	
+	private static final class Postings {
+		
+		private int[] ordinals = new int[4];
+		private int[] frequencies = new int[4];
+		private int size;
+		private volatile Champions champions;
+		
+		private void add(final int ordinal, final int frequency) {
+			if (this.size == this.ordinals.length) {
+				this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+				this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2);
+			}
+			this.ordinals[this.size] = ordinal;
+			this.frequencies[this.size] = frequency;
+			this.size++;
+		}
+		
+	}
+	
+	private static final class Champions {
+		
+		private final int[] indexes;
+		private final int size;
+		
+		private Champions(final int[] indexes, final int size) {
+			this.indexes = indexes;
+			this.size = size;
+		}
+		
+	}
+	
+	@FunctionalInterface
+	private interface ScoreConsumer {
+		
+		void accept(final int ordinal, final float score);
+		
+	}
+	
+	/**
+	 * Open-addressing ordinal to score table, avoiding boxed entries on the scoring hot path.
+	 */
+	private static final class ScoreTable {
+		
+		private int[] keys;
+		private float[] values;
+		private int size;
+		
+		private ScoreTable(final int expectedSize) {
+			final int capacity = Integer.highestOneBit(Math.max(8, expectedSize) * 2 - 1) << 1;
+			this.keys = new int[capacity];
+			this.values = new float[capacity];
+			Arrays.fill(this.keys, -1);
+		}
+		
+		private float get(final int key) {
+			final int slot = this.slot(key);
+			return this.keys[slot] == key ? this.values[slot] : 0;
+		}
+		
+		private void max(final int key, final float value) {
+			final int slot = this.slot(key);
+			if (this.keys[slot] != key)
+				this.insert(slot, key, value);
+			else if (value > this.values[slot])
+				this.values[slot] = value;
+		}
+		
+		private void addAll(final ScoreTable other) {
+			for (int i = 0; i < other.keys.length; i++) {
+				if (other.keys[i] < 0)
+					continue;
+				final int slot = this.slot(other.keys[i]);
+				if (this.keys[slot] != other.keys[i])
+					this.insert(slot, other.keys[i], other.values[i]);
+				else
+					this.values[slot] += other.values[i];
+			}
+		}
+		
+		private void forEach(final ScoreConsumer consumer) {
+			for (int i = 0; i < this.keys.length; i++)
+				if (this.keys[i] >= 0)
+					consumer.accept(this.keys[i], this.values[i]);
+		}
+		
+		private void insert(final int slot, final int key, final float value) {
+			this.keys[slot] = key;
+			this.values[slot] = value;
+			if (++this.size * 2 > this.keys.length)
+				this.resize();
+		}
+		
+		private int slot(final int key) {
+			final int mask = this.keys.length - 1;
+			int slot = (key * 0x9E3779B9) >>> 1 & mask;
+			while (this.keys[slot] >= 0 && this.keys[slot] != key)
+				slot = slot + 1 & mask;
+			return slot;
+		}
+		
+		private void resize() {
+			final int[] oldKeys = this.keys;
+			final float[] oldValues = this.values;
+			this.keys = new int[oldKeys.length * 2];
+			this.values = new float[oldValues.length * 2];
+			Arrays.fill(this.keys, -1);
+			this.size = 0;
+			for (int i = 0; i < oldKeys.length; i++)
+				if (oldKeys[i] >= 0)
+					this.insert(this.slot(oldKeys[i]), oldKeys[i], oldValues[i]);
+		}
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,160 @@
+package com.selimhorri.app.service.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import lombok.Value;
+
+/**
+ * Append-only journal of hot-item checkpoints on local disk. 
+ * Each record holds the epoch (the process start it belongs to), a product id and the net units taken 
+ * from that product's counter during the epoch; totals are cumulative, so the last record per product wins. 
+ * Every append is forced to disk before it returns; a torn or corrupt tail is ignored on read. 
+ * Once the file outgrows its limit it is rewritten with one record per product.
+ */
+public final class HotStockJournal implements Closeable {
+	
+	static final int RECORD_SIZE = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+	
+	private final Path path;
+	private final long maxSize;
+	private final Map<Integer, Long> latest = new HashMap<>();
+	private FileChannel channel;
+	private long epoch;
+	
+	private HotStockJournal(final Path path, final long maxSize) throws IOException {
+		this.path = path;
+		this.maxSize = Math.max(maxSize, RECORD_SIZE);
+		if (path.getParent() != null)
+			Files.createDirectories(path.getParent());
+		this.channel = open(path);
+	}
+	
+	public static HotStockJournal open(final Path path, final long maxSize) throws IOException {
+		return new HotStockJournal(path, maxSize);
+	}
+	
+	/**
+	 * Last checkpoint per product left by the previous epoch, or an empty result on a clean journal.
+	 */
+	public synchronized Checkpoint read() throws IOException {
+		
+		final var buffer = ByteBuffer.allocate(RECORD_SIZE);
+		final Map<Integer, Long> taken = new HashMap<>();
+		long epoch = 0;
+		long position = 0;
+		
+		while (true) {
+			buffer.clear();
+			while (buffer.hasRemaining())
+				if (this.channel.read(buffer, position + buffer.position()) <= 0)
+					break;
+			if (buffer.hasRemaining())
+				break;
+			buffer.flip();
+			final long recordEpoch = buffer.getLong();
+			final int productId = buffer.getInt();
+			final long recordTaken = buffer.getLong();
+			if (buffer.getInt() != checksum(recordEpoch, productId, recordTaken))
+				break;
+			if (recordEpoch != epoch)
+				taken.clear();
+			epoch = recordEpoch;
+			taken.put(productId, recordTaken);
+			position += RECORD_SIZE;
+		}
+		
+		return new Checkpoint(epoch, Collections.unmodifiableMap(taken));
+	}
+	
+	/**
+	 * Empties the journal and starts recording the given epoch.
+	 */
+	public synchronized void reset(final long epoch) throws IOException {
+		this.channel.truncate(0);
+		this.channel.force(true);
+		this.latest.clear();
+		this.epoch = epoch;
+	}
+	
+	public synchronized void append(final Map<Integer, Long> taken) throws IOException {
+		
+		final var buffer = ByteBuffer.allocate(taken.size() * RECORD_SIZE);
+		taken.forEach((productId, productTaken) -> {
+			if (!productTaken.equals(this.latest.get(productId)))
+				put(buffer, this.epoch, productId, productTaken);
+		});
+		if (buffer.position() == 0)
+			return;
+		
+		if (this.channel.size() + buffer.position() > this.maxSize) {
+			this.latest.putAll(taken);
+			this.compact();
+			return;
+		}
+		buffer.flip();
+		while (buffer.hasRemaining())
+			this.channel.write(buffer, this.channel.size());
+		this.channel.force(false);
+		this.latest.putAll(taken);
+	}
+	
+	@Override
+	public synchronized void close() throws IOException {
+		this.channel.close();
+	}
+	
+	private void compact() throws IOException {
+		
+		final var buffer = ByteBuffer.allocate(this.latest.size() * RECORD_SIZE);
+		this.latest.forEach((productId, productTaken) -> put(buffer, this.epoch, productId, productTaken));
+		buffer.flip();
+		
+		final var compacted = this.path.resolveSibling(this.path.getFileName() + ".compact");
+		try (final var compactedChannel = FileChannel.open(compacted, 
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining())
+				compactedChannel.write(buffer);
+			compactedChannel.force(true);
+		}
+		this.channel.close();
+		Files.move(compacted, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		this.channel = open(this.path);
+	}
+	
+	private static FileChannel open(final Path path) throws IOException {
+		return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+	
+	private static void put(final ByteBuffer buffer, final long epoch, final int productId, final long taken) {
+		buffer.putLong(epoch).putInt(productId).putLong(taken).putInt(checksum(epoch, productId, taken));
+	}
+	
+	private static int checksum(final long epoch, final int productId, final long taken) {
+		final var crc = new CRC32();
+		crc.update(ByteBuffer.allocate(RECORD_SIZE - Integer.BYTES).putLong(epoch).putInt(productId).putLong(taken).array());
+		return (int) crc.getValue();
+	}
+	
+	@Value
+	public static class Checkpoint {
+		
+		long epoch;
+		Map<Integer, Long> taken;
+		
+	}
+	
+	
+	
+	
+}
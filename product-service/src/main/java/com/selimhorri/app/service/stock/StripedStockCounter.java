@@ -0,0 +1,123 @@
+package com.selimhorri.app.service.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free stock counter for one product. Available units are split over power-of-two stripes, 
+ * each on its own cache line, and a thread takes from the stripe its id hashes to first, 
+ * so concurrent buyers rarely contend on the same compare-and-set. 
+ * Stripes never go below zero, so the product as a whole is never oversold.
+ */
+public final class StripedStockCounter {
+	
+	// 16 longs keep neighbouring stripes 128 bytes apart, clear of adjacent-line prefetching.
+	private static final int PADDING = 16;
+	
+	private final AtomicLongArray cells;
+	private final int mask;
+	private final LongAdder taken = new LongAdder();
+	
+	public StripedStockCounter(final long available, final int stripes) {
+		
+		int size = 1;
+		while (size < stripes)
+			size <<= 1;
+		this.mask = size - 1;
+		this.cells = new AtomicLongArray(size * PADDING);
+		
+		final long share = Math.max(0, available) / size;
+		final long remainder = Math.max(0, available) % size;
+		for (int stripe = 0; stripe < size; stripe++)
+			this.cells.set(stripe * PADDING, share + (stripe < remainder ? 1 : 0));
+	}
+	
+	/**
+	 * Takes the quantity if that much is left, trying the caller's own stripe first, 
+	 * then any single other stripe, and finally gathering it across stripes.
+	 */
+	public boolean tryTake(final int quantity) {
+		
+		if (quantity <= 0)
+			throw new IllegalArgumentException("Quantity must be positive");
+		
+		final int home = probe();
+		for (int i = 0; i <= this.mask; i++) {
+			final int index = ((home + i) & this.mask) * PADDING;
+			long current;
+			while ((current = this.cells.get(index)) >= quantity) {
+				if (this.cells.compareAndSet(index, current, current - quantity)) {
+					this.taken.add(quantity);
+					return true;
+				}
+			}
+		}
+		
+		return this.gather(quantity, home);
+	}
+	
+	public void giveBack(final int quantity) {
+		if (quantity <= 0)
+			throw new IllegalArgumentException("Quantity must be positive");
+		this.cells.addAndGet((probe() & this.mask) * PADDING, quantity);
+		this.taken.add(-quantity);
+	}
+	
+	public long available() {
+		long available = 0;
+		for (int stripe = 0; stripe <= this.mask; stripe++)
+			available += this.cells.get(stripe * PADDING);
+		return available;
+	}
+	
+	/**
+	 * Net units taken since the counter was created, give-backs subtracted.
+	 */
+	public long taken() {
+		return this.taken.sum();
+	}
+	
+	public int stripes() {
+		return this.mask + 1;
+	}
+	
+	/**
+	 * No stripe holds the whole quantity on its own: takes what each stripe has, 
+	 * and returns everything taken if the stripes together still fall short.
+	 */
+	private boolean gather(final int quantity, final int home) {
+		
+		final long[] shares = new long[this.mask + 1];
+		long gathered = 0;
+		for (int i = 0; i <= this.mask && gathered < quantity; i++) {
+			final int stripe = (home + i) & this.mask;
+			long current;
+			while ((current = this.cells.get(stripe * PADDING)) > 0) {
+				final long share = Math.min(current, quantity - gathered);
+				if (this.cells.compareAndSet(stripe * PADDING, current, current - share)) {
+					shares[stripe] = share;
+					gathered += share;
+					break;
+				}
+			}
+		}
+		
+		if (gathered == quantity) {
+			this.taken.add(quantity);
+			return true;
+		}
+		for (int stripe = 0; stripe <= this.mask; stripe++)
+			if (shares[stripe] > 0)
+				this.cells.addAndGet(stripe * PADDING, shares[stripe]);
+		return false;
+	}
+	
+	private static int probe() {
+		final long id = Thread.currentThread().getId();
+		final int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+	
+	
+	
+}
@@ -0,0 +1,251 @@
+package com.selimhorri.app.service.suggest;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable radix trie over normalized product titles for type-ahead completion.
+ * Nodes do not copy their edge labels: every node covers a contiguous range of the sorted keys
+ * and its label is read off the first key of that range. Nodes covering more than
+ * {@link #SCAN_THRESHOLD} keys carry their precomputed top suggestions by weight;
+ * smaller ranges are ranked on demand.
+ */
+public final class TitleSuggester {
+	
+	public static final int MAX_SUGGESTIONS = 10;
+	static final int SCAN_THRESHOLD = 64;
+	
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final int ROOT = 0;
+	
+	private final String[] keys;
+	private final String[] titles;
+	private final int[] weights;
+	
+	private int[] rangeStarts;
+	private int[] rangeEnds;
+	private int[] depths;
+	private int[] firstChildren;
+	private int[] childCounts;
+	private char[] firstChars;
+	private int[][] topKeys;
+	private int nodeCount;
+	
+	private TitleSuggester(final String[] keys, final String[] titles, final int[] weights) {
+		
+		this.keys = keys;
+		this.titles = titles;
+		this.weights = weights;
+		
+		final int capacity = 2 * keys.length + 1;
+		this.rangeStarts = new int[capacity];
+		this.rangeEnds = new int[capacity];
+		this.depths = new int[capacity];
+		this.firstChildren = new int[capacity];
+		this.childCounts = new int[capacity];
+		this.firstChars = new char[capacity];
+		
+		this.nodeCount = 1;
+		if (keys.length > 0)
+			this.build(ROOT, 0, keys.length, 0);
+		
+		this.rangeStarts = Arrays.copyOf(this.rangeStarts, this.nodeCount);
+		this.rangeEnds = Arrays.copyOf(this.rangeEnds, this.nodeCount);
+		this.depths = Arrays.copyOf(this.depths, this.nodeCount);
+		this.firstChildren = Arrays.copyOf(this.firstChildren, this.nodeCount);
+		this.childCounts = Arrays.copyOf(this.childCounts, this.nodeCount);
+		this.firstChars = Arrays.copyOf(this.firstChars, this.nodeCount);
+		
+		// Children always have higher indexes than their parent, so one backwards pass is bottom-up.
+		this.topKeys = new int[this.nodeCount][];
+		for (int node = this.nodeCount - 1; node >= 0; node--)
+			if (this.rangeEnds[node] - this.rangeStarts[node] > SCAN_THRESHOLD)
+				this.topKeys[node] = this.mergeChildren(node);
+	}
+	
+	/**
+	 * Builds the trie from raw titles; titles that normalize to the same key are merged,
+	 * the key's weight being the number of titles merged into it.
+	 */
+	public static TitleSuggester of(final Collection<String> rawTitles) {
+		
+		final Map<String, String> displayTitles = new HashMap<>();
+		final Map<String, Integer> counts = new HashMap<>();
+		for (final String rawTitle : rawTitles) {
+			final var key = normalize(rawTitle);
+			if (key.isEmpty())
+				continue;
+			final var displayTitle = rawTitle.strip();
+			displayTitles.putIfAbsent(key, displayTitle.equals(key) ? key : displayTitle);
+			counts.merge(key, 1, Integer::sum);
+		}
+		
+		final String[] keys = displayTitles.keySet().toArray(new String[0]);
+		Arrays.sort(keys);
+		final String[] titles = new String[keys.length];
+		final int[] weights = new int[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			titles[i] = displayTitles.get(keys[i]);
+			weights[i] = counts.get(keys[i]);
+		}
+		
+		return new TitleSuggester(keys, titles, weights);
+	}
+	
+	public static String normalize(final String text) {
+		if (text == null)
+			return "";
+		return WHITESPACE.matcher(DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll(""))
+				.replaceAll(" ")
+				.strip()
+				.toLowerCase();
+	}
+	
+	/**
+	 * Up to limit titles starting with the prefix, heaviest first and alphabetically among equal weights.
+	 */
+	public List<String> suggest(final String prefix, final int limit) {
+		
+		final var key = normalize(prefix);
+		final int node = this.find(key);
+		if (key.isEmpty() || node < 0 || limit <= 0)
+			return Collections.emptyList();
+		
+		final int[] ranked = this.topKeys[node] != null ? this.topKeys[node] :
+				this.rank(this.rangeStarts[node], this.rangeEnds[node]);
+		final int size = Math.min(Math.min(limit, MAX_SUGGESTIONS), ranked.length);
+		final String[] suggestions = new String[size];
+		for (int i = 0; i < size; i++)
+			suggestions[i] = this.titles[ranked[i]];
+		
+		return Arrays.asList(suggestions);
+	}
+	
+	public int size() {
+		return this.keys.length;
+	}
+	
+	public int nodeCount() {
+		return this.nodeCount;
+	}
+	
+	private int find(final String prefix) {
+		
+		if (this.keys.length == 0)
+			return -1;
+		
+		int node = ROOT;
+		int matched = 0;
+		while (true) {
+			final var label = this.keys[this.rangeStarts[node]];
+			final int depth = this.depths[node];
+			for (; matched < depth && matched < prefix.length(); matched++)
+				if (label.charAt(matched) != prefix.charAt(matched))
+					return -1;
+			if (matched == prefix.length())
+				return node;
+			node = this.child(node, prefix.charAt(matched));
+			if (node < 0)
+				return -1;
+		}
+	}
+	
+	private int child(final int node, final char firstChar) {
+		int low = this.firstChildren[node];
+		int high = low + this.childCounts[node] - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			if (this.firstChars[middle] < firstChar)
+				low = middle + 1;
+			else if (this.firstChars[middle] > firstChar)
+				high = middle - 1;
+			else
+				return middle;
+		}
+		return -1;
+	}
+	
+	private void build(final int node, final int start, final int end, final int depth) {
+		
+		final int nodeDepth = Math.max(depth, commonPrefixLength(this.keys[start], this.keys[end - 1]));
+		this.rangeStarts[node] = start;
+		this.rangeEnds[node] = end;
+		this.depths[node] = nodeDepth;
+		
+		// The key equal to the node's own label, if any, sorts first and ends here.
+		int groupStart = this.keys[start].length() == nodeDepth ? start + 1 : start;
+		int groups = 0;
+		for (int i = groupStart; i < end; i++)
+			if (i == groupStart || this.keys[i].charAt(nodeDepth) != this.keys[i - 1].charAt(nodeDepth))
+				groups++;
+		
+		final int firstChild = this.nodeCount;
+		this.firstChildren[node] = firstChild;
+		this.childCounts[node] = groups;
+		this.nodeCount += groups;
+		
+		for (int child = firstChild; groupStart < end; child++) {
+			final char firstChar = this.keys[groupStart].charAt(nodeDepth);
+			int groupEnd = groupStart + 1;
+			while (groupEnd < end && this.keys[groupEnd].charAt(nodeDepth) == firstChar)
+				groupEnd++;
+			this.firstChars[child] = firstChar;
+			this.build(child, groupStart, groupEnd, nodeDepth + 1);
+			groupStart = groupEnd;
+		}
+	}
+	
+	private int[] mergeChildren(final int node) {
+		
+		final int start = this.rangeStarts[node];
+		final int[] candidates = new int[(this.childCounts[node] + 1) * MAX_SUGGESTIONS];
+		int size = 0;
+		if (this.keys[start].length() == this.depths[node])
+			candidates[size++] = start;
+		for (int child = this.firstChildren[node]; child < this.firstChildren[node] + this.childCounts[node]; child++) {
+			final int[] ranked = this.topKeys[child] != null ? this.topKeys[child] :
+					this.rank(this.rangeStarts[child], this.rangeEnds[child]);
+			System.arraycopy(ranked, 0, candidates, size, ranked.length);
+			size += ranked.length;
+		}
+		
+		return this.top(candidates, size);
+	}
+	
+	private int[] rank(final int start, final int end) {
+		final int[] candidates = new int[end - start];
+		for (int i = start; i < end; i++)
+			candidates[i - start] = i;
+		return this.top(candidates, candidates.length);
+	}
+	
+	private int[] top(final int[] candidates, final int size) {
+		final Integer[] boxed = new Integer[size];
+		for (int i = 0; i < size; i++)
+			boxed[i] = candidates[i];
+		Arrays.sort(boxed, (first, second) -> this.weights[first] != this.weights[second] ?
+				Integer.compare(this.weights[second], this.weights[first]) : Integer.compare(first, second));
+		final int[] top = new int[Math.min(size, MAX_SUGGESTIONS)];
+		for (int i = 0; i < top.length; i++)
+			top[i] = boxed[i];
+		return top;
+	}
+	
+	private static int commonPrefixLength(final String first, final String second) {
+		final int length = Math.min(first.length(), second.length());
+		int i = 0;
+		while (i < length && first.charAt(i) == second.charAt(i))
+			i++;
+		return i;
+	}
+	
+	
+	
+}
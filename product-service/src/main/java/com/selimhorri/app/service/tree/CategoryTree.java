@@ -0,0 +1,188 @@
+package com.selimhorri.app.service.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.CategoryTreeNodeDto;
+import com.selimhorri.app.dto.projection.CategoryNodeView;
+
+/**
+ * Immutable, versioned snapshot of the category hierarchy.
+ * Categories are laid out in pre-order, so the subtree of the category at position i
+ * is exactly the positions [i, exits[i]] and membership is two integer comparisons.
+ * Writes never mutate a snapshot; they derive the next version from the in-memory rows.
+ */
+public final class CategoryTree {
+	
+	private static final int NO_PARENT = -1;
+	
+	private final long version;
+	private final Map<Integer, CategoryNodeView> nodes;
+	private final Map<Integer, Integer> positions;
+	private final int[] categoryIds;
+	private final int[] parents;
+	private final int[] exits;
+	private final int[] depths;
+	private final CategoryTreeDto categoryTreeDto;
+	
+	private CategoryTree(final long version, final Map<Integer, CategoryNodeView> nodes) {
+		
+		this.version = version;
+		this.nodes = Collections.unmodifiableMap(nodes);
+		this.positions = new HashMap<>(nodes.size() * 2);
+		this.categoryIds = new int[nodes.size()];
+		this.parents = new int[nodes.size()];
+		this.exits = new int[nodes.size()];
+		this.depths = new int[nodes.size()];
+		
+		final Map<Integer, List<Integer>> children = new HashMap<>();
+		final List<Integer> roots = new ArrayList<>();
+		nodes.values().stream()
+				.sorted(Comparator.comparing(CategoryNodeView::getCategoryId))
+				.forEach(node -> {
+					if (node.getParentCategoryId() != null && nodes.containsKey(node.getParentCategoryId()))
+						children.computeIfAbsent(node.getParentCategoryId(), k -> new ArrayList<>()).add(node.getCategoryId());
+					else
+						roots.add(node.getCategoryId());
+				});
+		
+		// Parent links that form a cycle leave categories unreachable from any root;
+		// each such category is promoted to a root so that every category gets a position.
+		int next = 0;
+		for (final Integer root : roots)
+			next = this.layout(root, NO_PARENT, next, children);
+		for (final Integer categoryId : nodes.keySet().stream().sorted().collect(Collectors.toList()))
+			if (!this.positions.containsKey(categoryId))
+				next = this.layout(categoryId, NO_PARENT, next, children);
+		
+		final int[] sizes = new int[next];
+		for (int position = next - 1; position >= 0; position--) {
+			sizes[position]++;
+			this.exits[position] = position + sizes[position] - 1;
+			if (this.parents[position] != NO_PARENT)
+				sizes[this.parents[position]] += sizes[position];
+		}
+		
+		this.categoryTreeDto = new CategoryTreeDto(version, this.toNodeDtos());
+	}
+	
+	public static CategoryTree of(final long version, final Collection<CategoryNodeView> nodes) {
+		return new CategoryTree(version, nodes.stream()
+				.collect(Collectors.toMap(CategoryNodeView::getCategoryId, node -> node, (first, second) -> second)));
+	}
+	
+	/**
+	 * Next version with the given category inserted or replaced, moving its subtree along with it.
+	 */
+	public CategoryTree withCategory(final CategoryNodeView node) {
+		final Map<Integer, CategoryNodeView> next = new HashMap<>(this.nodes);
+		next.put(node.getCategoryId(), node);
+		return new CategoryTree(this.version + 1, next);
+	}
+	
+	/**
+	 * Next version without the given category and its descendants,
+	 * mirroring the cascading delete of sub-categories.
+	 */
+	public CategoryTree withoutCategory(final Integer categoryId) {
+		if (!this.contains(categoryId))
+			return this;
+		final Map<Integer, CategoryNodeView> next = new HashMap<>(this.nodes);
+		this.subtreeCategoryIds(categoryId).forEach(next::remove);
+		return new CategoryTree(this.version + 1, next);
+	}
+	
+	public long getVersion() {
+		return this.version;
+	}
+	
+	public int size() {
+		return this.categoryIds.length;
+	}
+	
+	public boolean contains(final Integer categoryId) {
+		return categoryId != null && this.positions.containsKey(categoryId);
+	}
+	
+	public boolean isInSubtree(final Integer ancestorCategoryId, final Integer categoryId) {
+		final Integer ancestor = this.positions.get(ancestorCategoryId);
+		final Integer position = this.positions.get(categoryId);
+		return ancestor != null && position != null
+				&& ancestor <= position && position <= this.exits[ancestor];
+	}
+	
+	/**
+	 * Ids of the category and all its descendants in pre-order, read off its Euler range.
+	 */
+	public List<Integer> subtreeCategoryIds(final Integer categoryId) {
+		final Integer position = this.positions.get(categoryId);
+		if (position == null)
+			return Collections.emptyList();
+		final List<Integer> subtree = new ArrayList<>(this.exits[position] - position + 1);
+		for (int i = position; i <= this.exits[position]; i++)
+			subtree.add(this.categoryIds[i]);
+		return Collections.unmodifiableList(subtree);
+	}
+	
+	public CategoryTreeDto toDto() {
+		return this.categoryTreeDto;
+	}
+	
+	private int layout(final Integer root, final int parent, int next, final Map<Integer, List<Integer>> children) {
+		
+		final var stack = new ArrayDeque<int[]>();
+		stack.push(new int[] {root, parent});
+		
+		while (!stack.isEmpty()) {
+			final int[] entry = stack.pop();
+			if (this.positions.containsKey(entry[0]))
+				continue;
+			final int position = next++;
+			this.positions.put(entry[0], position);
+			this.categoryIds[position] = entry[0];
+			this.parents[position] = entry[1];
+			this.depths[position] = entry[1] == NO_PARENT ? 0 : this.depths[entry[1]] + 1;
+			final List<Integer> subCategories = children.getOrDefault(entry[0], Collections.emptyList());
+			for (int i = subCategories.size() - 1; i >= 0; i--)
+				stack.push(new int[] {subCategories.get(i), position});
+		}
+		
+		return next;
+	}
+	
+	private List<CategoryTreeNodeDto> toNodeDtos() {
+		
+		final var roots = new ArrayList<CategoryTreeNodeDto>();
+		final var dtos = new CategoryTreeNodeDto[this.categoryIds.length];
+		
+		for (int position = 0; position < this.categoryIds.length; position++) {
+			final var node = this.nodes.get(this.categoryIds[position]);
+			dtos[position] = CategoryTreeNodeDto.builder()
+					.categoryId(node.getCategoryId())
+					.categoryTitle(node.getCategoryTitle())
+					.imageUrl(node.getImageUrl())
+					.depth(this.depths[position])
+					.subCategories(new ArrayList<>())
+					.build();
+			if (this.parents[position] == NO_PARENT)
+				roots.add(dtos[position]);
+			else
+				dtos[this.parents[position]].getSubCategories().add(dtos[position]);
+		}
+		for (final var dto : dtos)
+			dto.setSubCategories(Collections.unmodifiableList(dto.getSubCategories()));
+		
+		return Collections.unmodifiableList(roots);
+	}
+	
+	
+	
+}
@@ -0,0 +1,6 @@
+ALTER TABLE categories ALTER COLUMN created_at TIMESTAMP(6) DEFAULT LOCALTIMESTAMP(6) NOT NULL NULL_TO_DEFAULT;
+ALTER TABLE categories ALTER COLUMN updated_at TIMESTAMP(6);
+
+ALTER TABLE products ALTER COLUMN created_at TIMESTAMP(6) DEFAULT LOCALTIMESTAMP(6) NOT NULL NULL_TO_DEFAULT;
+ALTER TABLE products ALTER COLUMN updated_at TIMESTAMP(6);
+
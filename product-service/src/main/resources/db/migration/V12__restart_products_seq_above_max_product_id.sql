@@ -0,0 +1,2 @@
+ALTER SEQUENCE products_seq RESTART WITH (SELECT COALESCE(MAX(product_id), 0) + 1 FROM products);
+
@@ -0,0 +1,3 @@
+ALTER TABLE hot_stock_watermarks ADD COLUMN owner_id VARCHAR(64);
+ALTER TABLE hot_stock_watermarks ADD COLUMN lease_expires_at TIMESTAMP(6);
+
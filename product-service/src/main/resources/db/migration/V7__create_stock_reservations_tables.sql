@@ -0,0 +1,18 @@
+CREATE TABLE stock_reservations (
+	reservation_id VARCHAR(36) NOT NULL PRIMARY KEY,
+	status VARCHAR(16) NOT NULL,
+	expires_at TIMESTAMP NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_stock_reservations_status_expires_at ON stock_reservations (status, expires_at);
+
+CREATE TABLE stock_reservation_items (
+	reservation_id VARCHAR(36) NOT NULL,
+	product_id INT(11) NOT NULL,
+	quantity INT(11) NOT NULL,
+	PRIMARY KEY (reservation_id, product_id),
+	CONSTRAINT fk_stock_reservation_items_reservation_id FOREIGN KEY (reservation_id) REFERENCES stock_reservations (reservation_id)
+);
+
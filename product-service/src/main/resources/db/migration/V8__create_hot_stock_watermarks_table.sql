@@ -0,0 +1,8 @@
+CREATE TABLE hot_stock_watermarks (
+	product_id INT(11) NOT NULL PRIMARY KEY,
+	epoch BIGINT NOT NULL,
+	flushed_taken BIGINT NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
@@ -0,0 +1,4 @@
+CREATE SEQUENCE products_seq START WITH 1000 INCREMENT BY 50;
+
+CREATE UNIQUE INDEX ux_products_sku ON products (sku);
+
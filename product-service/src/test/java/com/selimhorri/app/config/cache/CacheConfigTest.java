@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+@DisplayName("Cache Config Tests")
+class CacheConfigTest {
+
+    @Test
+    @DisplayName("Should cache a listing larger than the single product budget within the lists budget")
+    void testCacheManager_ListsWeighedAgainstTheirOwnBudget() {
+        // Given
+        CacheManager cacheManager = new CacheConfig(50_000).cacheManager(10_000, Duration.ofMinutes(5), Duration.ofMinutes(5));
+        CaffeineCache productLists = (CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCT_LISTS_CACHE);
+
+        // When
+        productLists.put("all", Collections.nCopies(20_000, "product"));
+        productLists.getNativeCache().cleanUp();
+
+        // Then
+        assertNotNull(productLists.get("all"));
+        assertEquals(20_000, productLists.getNativeCache().policy().eviction().orElseThrow().weightedSize().orElseThrow());
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE));
+    }
+
+    @Test
+    @DisplayName("Should not keep a listing heavier than the lists budget")
+    void testCacheManager_ListOverBudgetNotKept() {
+        // Given
+        CacheConfig cacheConfig = new CacheConfig(50_000);
+        CacheManager cacheManager = cacheConfig.cacheManager(10_000, Duration.ofMinutes(5), Duration.ofMinutes(5));
+        CaffeineCache productLists = (CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCT_LISTS_CACHE);
+
+        // When
+        productLists.put("all", Collections.nCopies(60_000, "product"));
+        productLists.getNativeCache().cleanUp();
+
+        // Then
+        assertNull(productLists.get("all"));
+        assertEquals(50_000, cacheConfig.getListsMaximumWeight());
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.selimhorri.app.domain.Category;
+
+@DataJpaTest
+@DisplayName("Category Repository Second-Level Cache Tests")
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated category listing from the query and entity caches")
+    void testFindAll_QueryCacheHit() {
+        // Given
+        List<Category> cold = categoryRepository.findAll();
+        entityManager.clear();
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        // When
+        List<Category> warm = categoryRepository.findAll();
+
+        // Then
+        assertFalse(cold.isEmpty());
+        assertEquals(cold.size(), warm.size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(coldStatements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should resolve a category by id from the entity cache once loaded")
+    void testFindById_SecondLevelCacheHit() {
+        // Given
+        categoryRepository.findById(1).orElseThrow();
+        entityManager.clear();
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        // When
+        Category category = categoryRepository.findById(1).orElseThrow();
+
+        // Then
+        assertEquals(1, category.getCategoryId());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+        assertEquals(coldStatements, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.service.impl.HotStockServiceImpl;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Hot Stock Lease Tests")
+class HotStockWatermarkRepositoryTest {
+
+    private static final int PRODUCT_ID = 1;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HotStockWatermarkRepository hotStockWatermarkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path journalDir;
+
+    private final List<HotStockServiceImpl> instances = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        instances.forEach(HotStockServiceImpl::shutdown);
+        jdbcTemplate.update("DELETE FROM hot_stock_watermarks");
+    }
+
+    @Test
+    @DisplayName("Should keep a second instance out of hot-item mode while the first holds the lease")
+    void testOnApplicationReady_SingleOwner() {
+        // Given
+        HotStockServiceImpl first = start("first");
+
+        // When
+        HotStockServiceImpl second = start("second");
+
+        // Then
+        assertTrue(first.isHot(PRODUCT_ID));
+        assertFalse(second.isHot(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Should hand the lease over once its owner shuts down")
+    void testShutdown_ReleasesLease() {
+        // Given
+        start("first").shutdown();
+
+        // When
+        HotStockServiceImpl second = start("second");
+
+        // Then
+        assertTrue(second.isHot(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Should stop serving from counters once the lease is taken over")
+    void testFlush_LeaseLost() {
+        // Given
+        HotStockServiceImpl first = start("first");
+        jdbcTemplate.update("UPDATE hot_stock_watermarks SET owner_id = 'other'");
+
+        // When
+        first.flush();
+
+        // Then
+        assertFalse(first.isHot(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Should stop serving from counters once the lease expires while flushes keep failing")
+    void testFlush_FailingFlushesLetLeaseExpire() throws InterruptedException {
+        // Given
+        AtomicBoolean databaseDown = new AtomicBoolean();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager) {
+
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                if (databaseDown.get())
+                    throw new CannotCreateTransactionException("database unreachable");
+                return super.execute(action);
+            }
+
+        };
+        HotStockServiceImpl first = start("first", transactionTemplate, Duration.ofMillis(200));
+        assertTrue(first.isHot(PRODUCT_ID));
+        databaseDown.set(true);
+
+        // When
+        assertThrows(CannotCreateTransactionException.class, first::flush);
+        Thread.sleep(300);
+
+        // Then
+        assertFalse(first.isHot(PRODUCT_ID));
+        assertFalse(first.tryTake(PRODUCT_ID, 1));
+        databaseDown.set(false);
+    }
+
+    private HotStockServiceImpl start(String ownerId) {
+        return start(ownerId, new TransactionTemplate(transactionManager), Duration.ofSeconds(30));
+    }
+
+    private HotStockServiceImpl start(String ownerId, TransactionTemplate transactionTemplate, Duration leaseTtl) {
+        HotStockServiceImpl instance = new HotStockServiceImpl(productRepository, hotStockWatermarkRepository,
+                transactionTemplate, event -> {}, Set.of(PRODUCT_ID),
+                journalDir.resolve(ownerId + ".journal"), DataSize.ofMegabytes(1), Duration.ofMillis(10), 2,
+                ownerId, leaseTtl);
+        instance.onApplicationReady();
+        instances.add(instance);
+        return instance;
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.outbox.OutboxConfig;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.OutboxEventView;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.service.impl.OutboxServiceImpl;
+
+@DataJpaTest
+@Import({OutboxEventBatchRepository.class, OutboxServiceImpl.class, OutboxConfig.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Outbox Event Batch Tests")
+class OutboxEventBatchRepositoryTest {
+
+    @Autowired
+    private OutboxServiceImpl outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    @DisplayName("Should write one outbox row per product changed in a transaction, stock moves included")
+    void testOnProductChanged_OneRowPerProduct() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onProductChanged(new ProductChangedEvent(1, ProductDto.builder().productId(1).build()));
+            outboxService.onProductChanged(new ProductChangedEvent(2, null));
+            outboxService.onStockChanged(new StockChangedEvent(Set.of(1, 2, 3)));
+        });
+
+        // Then
+        assertEquals(List.of("PRODUCT_CHANGED:1", "PRODUCT_DELETED:2", "PRODUCT_STOCK_CHANGED:3"),
+                jdbcTemplate.queryForList("SELECT CONCAT(event_type, ':', aggregate_id) FROM outbox_events ORDER BY event_id", String.class));
+    }
+
+    @Test
+    @DisplayName("Should read outbox rows after an event id and by id without their payload")
+    void testFindViews_AfterAndByIds() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onProductChanged(new ProductChangedEvent(1, ProductDto.builder().productId(1).build()));
+            outboxService.onProductChanged(new ProductChangedEvent(2, null));
+        });
+        long firstEventId = jdbcTemplate.queryForObject("SELECT MIN(event_id) FROM outbox_events", Long.class);
+
+        // When
+        List<OutboxEventView> after = outboxEventRepository.findViewsAfter(firstEventId, PageRequest.of(0, 10));
+        List<OutboxEventView> byIds = outboxEventRepository.findViewsByIds(Set.of(firstEventId));
+
+        // Then
+        assertEquals(List.of(new OutboxEventView(firstEventId + 1, "product", 2)), after);
+        assertEquals(List.of(new OutboxEventView(firstEventId, "product", 1)), byIds);
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the transaction rolls back")
+    void testOnProductChanged_RolledBack() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.onProductChanged(new ProductChangedEvent(1, ProductDto.builder().productId(1).build()));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse events published outside a transaction")
+    void testOnStockChanged_NoTransaction() {
+        // When / Then
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.onStockChanged(new StockChangedEvent(Set.of(1))));
+    }
+
+}
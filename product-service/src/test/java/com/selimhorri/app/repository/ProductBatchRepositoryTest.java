@@ -0,0 +1,173 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.dto.ProductImportReportDto;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.service.impl.ProductImportServiceImpl;
+
+import lombok.extern.slf4j.Slf4j;
+
+@DataJpaTest
+@Import(ProductBatchRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Product Batch Import Tests")
+@Slf4j
+class ProductBatchRepositoryTest {
+
+    private static final int BENCHMARK_ROWS = 20_000;
+
+    @Autowired
+    private ProductBatchRepository productBatchRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache<Integer, ProductNotFoundException> missingProductIds;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        missingProductIds = Caffeine.newBuilder().build();
+        productImportService = new ProductImportServiceImpl(productBatchRepository, categoryRepository,
+                new TransactionTemplate(transactionManager), event -> {}, entityManagerFactory, missingProductIds,
+                new ObjectMapper(), 500, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM products WHERE sku LIKE 'IMPORT-%'");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should reserve disjoint id blocks on the product sequence")
+    void testNextIdBlock_Disjoint() {
+        // When
+        long first = productBatchRepository.nextIdBlock();
+        long second = productBatchRepository.nextIdBlock();
+
+        // Then
+        assertEquals(50, second - first);
+    }
+
+    @Test
+    @DisplayName("Should insert new skus, update existing ones and report invalid rows")
+    void testImportCsv_Upsert() {
+        // Given
+        productImportService.importCsv(csv("sku,productTitle,priceUnit,quantity,categoryId\n"
+                + "IMPORT-1,Old title,10,5,1\n"));
+
+        // When
+        ProductImportReportDto report = productImportService.importCsv(csv("sku,product_title,price_unit,quantity,category_title\n"
+                + "IMPORT-1,New title,12.5,7,computer\n"
+                + "IMPORT-2,Second,3,1,Computer\n"
+                + ",No sku,1,1,Computer\n"
+                + "IMPORT-3,Bad price,abc,1,Computer\n"));
+
+        // Then
+        assertEquals(4, report.getRowsRead());
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getUpdated());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of("Line 4: sku is required", "Line 5: Invalid priceUnit: abc"), report.getErrors());
+        Map<String, Integer> ids = productBatchRepository.findIdsBySkus(List.of("IMPORT-1", "IMPORT-2"));
+        assertEquals("New title", productRepository.findById(ids.get("IMPORT-1")).orElseThrow().getProductTitle());
+        assertEquals(1, productRepository.findById(ids.get("IMPORT-2")).orElseThrow().getCategory().getCategoryId());
+    }
+
+    @Test
+    @DisplayName("Should start the product sequence above the seeded products")
+    void testNextIdBlock_AboveSeededProducts() {
+        // Given
+        Integer maxProductId = jdbcTemplate.queryForObject("SELECT MAX(product_id) FROM products", Integer.class);
+
+        // When
+        long block = productBatchRepository.nextIdBlock();
+
+        // Then
+        assertTrue(block > maxProductId);
+    }
+
+    @Test
+    @DisplayName("Should forget inserted ids that were remembered as missing")
+    void testImportCsv_EvictsMissingProductIds() {
+        // Given
+        long nextBlock = productBatchRepository.nextIdBlock() + 50;
+        for (long productId = nextBlock; productId < nextBlock + 50; productId++)
+            missingProductIds.put(Math.toIntExact(productId), new ProductNotFoundException());
+
+        // When
+        productImportService.importCsv(csv("sku,productTitle,priceUnit,quantity,categoryId\n"
+                + "IMPORT-1,Imported,10,5,1\n"));
+
+        // Then
+        Integer productId = productBatchRepository.findIdsBySkus(List.of("IMPORT-1")).get("IMPORT-1");
+        assertTrue(productId >= nextBlock && productId < nextBlock + 50);
+        assertNull(missingProductIds.getIfPresent(productId));
+        assertEquals(49, missingProductIds.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows and report rows per second")
+    void testImportNdjson_Benchmark() {
+        // Given
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < BENCHMARK_ROWS; i++)
+            ndjson.append("{\"sku\":\"IMPORT-").append(i)
+                    .append("\",\"productTitle\":\"Imported product ").append(i)
+                    .append("\",\"priceUnit\":9.99,\"quantity\":10,\"categoryId\":1}\n");
+
+        // When
+        ProductImportReportDto report = productImportService.importNdjson(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        log.info("*** Imported {} rows in {} ms, {} rows/s *",
+                report.getInserted(), report.getElapsedMillis(), report.getRowsPerSecond());
+        assertEquals(BENCHMARK_ROWS, report.getInserted());
+        assertEquals(0, report.getRejected());
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
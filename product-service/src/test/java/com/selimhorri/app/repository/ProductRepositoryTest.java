@@ -0,0 +1,147 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.selimhorri.app.config.jpa.JpaAuditingConfig;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.helper.ProductMappingHelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JpaAuditingConfig.class)
+@DisplayName("Product Repository Projection Tests")
+@Slf4j
+class ProductRepositoryTest {
+
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should read product views in one statement without loading managed entities")
+    void testFindAllViews_NoEntityLoads() {
+        // When
+        List<ProductDto> productDtos = productRepository.findAllViews().stream()
+                .map(ProductMappingHelper::map)
+                .collect(Collectors.toUnmodifiableList());
+
+        // Then
+        assertFalse(productDtos.isEmpty());
+        assertNotNull(productDtos.get(0).getCategoryDto().getCategoryTitle());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should compare entity and projection read paths over repeated reads")
+    void testFindAllViews_Benchmark() {
+        // Given
+        long entityNanos = time(() -> productRepository.findAll().forEach(ProductMappingHelper::map));
+        long entityLoads = statistics.getEntityLoadCount();
+        statistics.clear();
+
+        // When
+        long viewNanos = time(() -> productRepository.findAllViews().forEach(ProductMappingHelper::map));
+
+        // Then
+        log.info("*** Product reads over {} iterations: entities {} ms ({} entity loads), views {} ms ({} entity loads) *",
+                ITERATIONS, entityNanos / 1_000_000, entityLoads, viewNanos / 1_000_000, statistics.getEntityLoadCount());
+        assertTrue(entityLoads > 0);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should change the product entity tag when the product is written")
+    void testFindVersionById_ProductUpdated() {
+        // Given
+        Product product = productRepository.findAll().get(0);
+        VersionView before = productRepository.findVersionById(product.getProductId());
+
+        // When
+        product.setProductTitle(product.getProductTitle() + " v2");
+        entityManager.flush();
+        entityManager.clear();
+        VersionView after = productRepository.findVersionById(product.getProductId());
+
+        // Then
+        assertTrue(before.exists());
+        assertNotEquals(before.toETag("product", product.getProductId()), after.toETag("product", product.getProductId()));
+        assertEquals(before.getCount(), after.getCount());
+    }
+
+    @Test
+    @DisplayName("Should change the product entity tag when its embedded category is renamed")
+    void testFindVersionById_CategoryRenamed() {
+        // Given
+        Product product = productRepository.findAll().stream()
+                .filter(p -> p.getCategory() != null)
+                .findFirst()
+                .orElseThrow();
+        VersionView before = productRepository.findVersionById(product.getProductId());
+        VersionView listBefore = productRepository.findVersion();
+
+        // When
+        product.getCategory().setCategoryTitle(product.getCategory().getCategoryTitle() + " v2");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertNotEquals(before.toETag("product", product.getProductId()),
+                productRepository.findVersionById(product.getProductId()).toETag("product", product.getProductId()));
+        assertNotEquals(listBefore.toETag("products", "all"), productRepository.findVersion().toETag("products", "all"));
+    }
+
+    @Test
+    @DisplayName("Should report a missing product as having no version")
+    void testFindVersionById_Missing() {
+        // When
+        VersionView version = productRepository.findVersionById(Integer.MAX_VALUE);
+
+        // Then
+        assertFalse(version.exists());
+        assertEquals(-1, version.getLastModifiedMillis());
+    }
+
+    private long time(Runnable read) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.run();
+            entityManager.clear();
+        }
+        return System.nanoTime() - start;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.domain.Product;
+
+import lombok.extern.slf4j.Slf4j;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Product Stock Contention Tests")
+@Slf4j
+class ProductStockContentionTest {
+
+    private static final int PRODUCT_ID = 1;
+    private static final int STOCK = 2_000;
+    private static final int[] BUYERS = {1, 2, 4, 8, 16};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+    private Integer originalQuantity;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        originalQuantity = quantity();
+    }
+
+    @AfterEach
+    void tearDown() {
+        setQuantity(originalQuantity);
+    }
+
+    @Test
+    @DisplayName("Should sell exactly the stock, never more, however many buyers compete")
+    void testDecrementQuantity_NoOversellUnderContention() throws Exception {
+        for (int buyers : BUYERS) {
+            // Given
+            setQuantity(STOCK);
+
+            // When
+            long start = System.nanoTime();
+            int sold = buyConcurrently(buyers);
+            long elapsedNanos = System.nanoTime() - start;
+
+            // Then
+            log.info("*** Stock contention with {} buyers: sold {} in {} ms, {} reservations/s *",
+                    buyers, sold, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sold * 1_000_000_000L / Math.max(1, elapsedNanos));
+            assertEquals(STOCK, sold);
+            assertEquals(0, quantity());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a decrement larger than the remaining stock without changing it")
+    void testDecrementQuantity_InsufficientStock() {
+        // Given
+        setQuantity(3);
+
+        // When
+        int updated = transactionTemplate.execute(status -> productRepository.decrementQuantity(PRODUCT_ID, 4));
+
+        // Then
+        assertEquals(0, updated);
+        assertEquals(3, quantity());
+    }
+
+    /**
+     * Every buyer takes one item per transaction until the product is sold out.
+     */
+    private int buyConcurrently(int buyers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> purchases = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                purchases.add(executor.submit(() -> {
+                    startGate.await();
+                    int bought = 0;
+                    while (transactionTemplate.execute(status -> productRepository.decrementQuantity(PRODUCT_ID, 1)) == 1)
+                        bought++;
+                    return bought;
+                }));
+            }
+            startGate.countDown();
+            int sold = 0;
+            for (Future<Integer> purchase : purchases)
+                sold += purchase.get(1, TimeUnit.MINUTES);
+            return sold;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int quantity() {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?", Integer.class, PRODUCT_ID);
+    }
+
+    private void setQuantity(int quantity) {
+        jdbcTemplate.update("UPDATE products SET quantity = ? WHERE product_id = ?", quantity, PRODUCT_ID);
+        entityManagerFactory.getCache().evict(Product.class);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.dto.projection.CategoryNodeView;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.impl.CategoryTreeServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Category Tree Service Unit Tests")
+class CategoryTreeServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CategoryTreeServiceImpl categoryTreeService;
+
+    @BeforeEach
+    void setUp() {
+        categoryTreeService = new CategoryTreeServiceImpl(categoryRepository, productRepository);
+    }
+
+    @Test
+    @DisplayName("Should reload the tree only when another writer moved the table version")
+    void testPollVersion_ReloadsOnChange() {
+        // Given
+        Instant loadedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(categoryRepository.findVersion()).thenReturn(
+                new VersionView(1L, loadedAt, null),
+                new VersionView(1L, loadedAt, null),
+                new VersionView(2L, loadedAt.plusSeconds(1), null));
+        when(categoryRepository.findAllNodeViews()).thenReturn(
+                List.of(new CategoryNodeView(1, null, "Computer", null)),
+                List.of(new CategoryNodeView(1, null, "Computer", null), new CategoryNodeView(2, 1, "Laptop", null)));
+        assertEquals(List.of(1), categoryTreeService.findSubtreeCategoryIds(1));
+
+        // When
+        categoryTreeService.pollVersion();
+        categoryTreeService.pollVersion();
+
+        // Then
+        assertEquals(List.of(1, 2), categoryTreeService.findSubtreeCategoryIds(1));
+        assertEquals(2L, categoryTreeService.findTree().getVersion());
+        verify(categoryRepository, times(2)).findAllNodeViews();
+    }
+
+}
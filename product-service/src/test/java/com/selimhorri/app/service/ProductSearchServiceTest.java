@@ -0,0 +1,121 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.OutboxEventView;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.impl.ProductSearchServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Search Service Unit Tests")
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private ProductSearchServiceImpl productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService = new ProductSearchServiceImpl(productService, outboxEventRepository, 1000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should re-read products written while the index is rebuilt")
+    @SuppressWarnings("unchecked")
+    void testRebuild_RereadsChangesDuringRebuild() {
+        // Given
+        when(outboxEventRepository.findMaxEventIdByEventTypeIn(anyCollection())).thenReturn(2000L);
+        doAnswer(invocation -> {
+            Consumer<ProductDto> consumer = invocation.getArgument(0);
+            consumer.accept(product(1, "Old Laptop", 5));
+            return null;
+        }).when(productService).streamAll(any(Consumer.class));
+        when(outboxEventRepository.findViewsAfter(eq(976L), any()))
+                .thenReturn(List.of(new OutboxEventView(2001L, "product", 1), new OutboxEventView(2002L, "product", 2)));
+        when(productService.findAllByIds(Set.of(1, 2))).thenReturn(List.of(product(1, "New Laptop", 5)));
+
+        // When
+        productSearchService.rebuild();
+        productSearchService.refresh();
+
+        // Then
+        assertEquals(1, productSearchService.search("new", 10).size());
+        assertTrue(productSearchService.search("old", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refresh the quantity of hits in the background when stock changes")
+    void testOnStockChanged_RefreshesQuantityOnRefresh() {
+        // Given
+        indexEmpty();
+        productSearchService.onProductChanged(new ProductChangedEvent(1, product(1, "Laptop", 5)));
+        when(productService.findAllByIds(Set.of(1))).thenReturn(List.of(product(1, "Laptop", 3)));
+
+        // When
+        productSearchService.onStockChanged(new StockChangedEvent(Set.of(1)));
+
+        // Then
+        verify(productService, never()).findAllByIds(anySet());
+        assertEquals(5, productSearchService.search("laptop", 10).get(0).getQuantity());
+        productSearchService.refresh();
+        assertEquals(3, productSearchService.search("laptop", 10).get(0).getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should follow products written by other instances, including outbox rows that commit out of id order")
+    void testRefresh_AppliesOutboxEventsOfOtherInstances() {
+        // Given
+        indexEmpty();
+        productSearchService.onProductChanged(new ProductChangedEvent(1, product(1, "Laptop", 5)));
+        when(outboxEventRepository.findViewsAfter(eq(0L), any()))
+                .thenReturn(List.of(new OutboxEventView(1L, "product", 1), new OutboxEventView(3L, "product", 3)));
+        when(productService.findAllByIds(Set.of(1, 3))).thenReturn(List.of(product(3, "Desk Lamp", 2)));
+        productSearchService.refresh();
+        when(outboxEventRepository.findViewsAfter(eq(3L), any())).thenReturn(List.of());
+        when(outboxEventRepository.findViewsByIds(Set.of(2L))).thenReturn(List.of(new OutboxEventView(2L, "product", 2)));
+        when(productService.findAllByIds(Set.of(2))).thenReturn(List.of(product(2, "Office Chair", 4)));
+
+        // When
+        productSearchService.refresh();
+
+        // Then
+        assertTrue(productSearchService.search("laptop", 10).isEmpty());
+        assertEquals(1, productSearchService.search("lamp", 10).size());
+        assertEquals(1, productSearchService.search("chair", 10).size());
+    }
+
+    private void indexEmpty() {
+        when(outboxEventRepository.findMaxEventIdByEventTypeIn(anyCollection())).thenReturn(null);
+        productSearchService.rebuild();
+    }
+
+    private static ProductDto product(int productId, String productTitle, int quantity) {
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(productTitle)
+                .quantity(quantity)
+                .build();
+    }
+
+}
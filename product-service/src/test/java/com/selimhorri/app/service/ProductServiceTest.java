@@ -5,21 +5,30 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.projection.ProductView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.event.ProductChangedEvent;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.impl.ProductServiceImpl;
@@ -31,16 +40,21 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProductServiceImpl productService;
 
     private ProductDto productDto;
     private Product product;
+    private ProductView productView;
     private CategoryDto categoryDto;
     private Category category;
 
     @BeforeEach
     void setUp() {
+        productService = new ProductServiceImpl(productRepository, Caffeine.newBuilder().build(), eventPublisher, new TransactionTemplate());
+
         // Setup Category
         categoryDto = CategoryDto.builder()
                 .categoryId(1)
@@ -74,14 +88,16 @@ class ProductServiceTest {
                 .quantity(50)
                 .category(category)
                 .build();
+
+        productView = new ProductView(1, "iPhone 14", "http://example.com/iphone14.jpg", "IPH14-001", 
+                999.99, 50, 1, "Electronics", "http://example.com/electronics.jpg");
     }
 
     @Test
     @DisplayName("Should find all products successfully")
     void testFindAll_Success() {
         // Given
-        List<Product> products = Arrays.asList(product);
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllViews()).thenReturn(List.of(productView));
 
         // When
         List<ProductDto> result = productService.findAll();
@@ -92,14 +108,48 @@ class ProductServiceTest {
         assertEquals("iPhone 14", result.get(0).getProductTitle());
         assertEquals("IPH14-001", result.get(0).getSku());
         assertEquals(999.99, result.get(0).getPriceUnit());
-        verify(productRepository, times(1)).findAll();
+        verify(productRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should return a keyset page with the last id as next cursor")
+    void testFindAllAfter_HasNextPage() {
+        // Given
+        Product nextProduct = Product.builder()
+                .productId(2)
+                .build();
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(0, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(product, nextProduct));
+
+        // When
+        DtoCursorPageResponse<ProductDto> result = productService.findAllAfter(null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(1, result.getNextCursor());
+        verify(productRepository, never()).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should return no next cursor on the last keyset page")
+    void testFindAllAfter_LastPage() {
+        // Given
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(1, PageRequest.of(0, 11)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        DtoCursorPageResponse<ProductDto> result = productService.findAllAfter(1, 10);
+
+        // Then
+        assertTrue(result.getCollection().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
     @DisplayName("Should find product by id successfully")
     void testFindById_Success() {
         // Given
-        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+        when(productRepository.findViewById(1)).thenReturn(Optional.of(productView));
 
         // When
         ProductDto result = productService.findById(1);
@@ -110,14 +160,14 @@ class ProductServiceTest {
         assertEquals("iPhone 14", result.getProductTitle());
         assertEquals("IPH14-001", result.getSku());
         assertEquals(50, result.getQuantity());
-        verify(productRepository, times(1)).findById(1);
+        verify(productRepository, times(1)).findViewById(1);
     }
 
     @Test
     @DisplayName("Should throw exception when product not found by id")
     void testFindById_ProductNotFound() {
         // Given
-        when(productRepository.findById(999)).thenReturn(Optional.empty());
+        when(productRepository.findViewById(999)).thenReturn(Optional.empty());
 
         // When & Then
         ProductNotFoundException exception = assertThrows(
@@ -126,7 +176,59 @@ class ProductServiceTest {
         );
         
         assertEquals("Product with id: 999 not found", exception.getMessage());
-        verify(productRepository, times(1)).findById(999);
+        verify(productRepository, times(1)).findViewById(999);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups of a missing product from the negative cache")
+    void testFindById_ProductNotFound_NegativeCacheHit() {
+        // Given
+        when(productRepository.findViewById(999)).thenReturn(Optional.empty());
+        ProductNotFoundException first = assertThrows(ProductNotFoundException.class, () -> productService.findById(999));
+
+        // When
+        ProductNotFoundException second = assertThrows(ProductNotFoundException.class, () -> productService.findById(999));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(0, second.getStackTrace().length);
+        verify(productRepository, times(1)).findViewById(999);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the negative cache entry once the inserted product is committed")
+    void testSave_InvalidatesNegativeCacheAfterCommit() {
+        // Given
+        when(productRepository.findViewById(1)).thenReturn(Optional.empty(), Optional.of(productView));
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+        assertThrows(ProductNotFoundException.class, () -> productService.findById(1));
+
+        // When
+        productService.save(productDto);
+        assertThrows(ProductNotFoundException.class, () -> productService.findById(1));
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        productService.onProductChanged(event.getValue());
+        ProductDto result = productService.findById(1);
+
+        // Then
+        assertEquals("IPH14-001", result.getSku());
+        verify(productRepository, times(2)).findViewById(1);
+    }
+
+    @Test
+    @DisplayName("Should find products by ids in a single repository call")
+    void testFindAllByIds_Success() {
+        // Given
+        when(productRepository.findAllViewsById(Set.of(1, 999))).thenReturn(List.of(productView));
+
+        // When
+        List<ProductDto> result = productService.findAllByIds(Set.of(1, 999));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("IPH14-001", result.get(0).getSku());
+        verify(productRepository, times(1)).findAllViewsById(Set.of(1, 999));
     }
 
     @Test
@@ -144,29 +246,17 @@ class ProductServiceTest {
         assertEquals("IPH14-001", result.getSku());
         assertEquals(999.99, result.getPriceUnit());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
     @DisplayName("Should validate product stock availability")
     void testValidateStockAvailability_Success() {
         // Given
-        Category testCategory = Category.builder()
-                .categoryId(1)
-                .categoryTitle("Electronics")
-                .imageUrl("http://example.com/electronics.jpg")
-                .build();
-        
-        Product productWithStock = Product.builder()
-                .productId(1)
-                .productTitle("iPhone 14")
-                .imageUrl("http://example.com/iphone14.jpg")
-                .sku("IPH14-001")
-                .priceUnit(999.99)
-                .quantity(10)
-                .category(testCategory)
-                .build();
+        ProductView productWithStock = new ProductView(1, "iPhone 14", "http://example.com/iphone14.jpg", "IPH14-001", 
+                999.99, 10, 1, "Electronics", "http://example.com/electronics.jpg");
         
-        when(productRepository.findById(1)).thenReturn(Optional.of(productWithStock));
+        when(productRepository.findViewById(1)).thenReturn(Optional.of(productWithStock));
 
         // When
         ProductDto result = productService.findById(1);
@@ -178,6 +268,6 @@ class ProductServiceTest {
         assertEquals(10, result.getQuantity());
         assertEquals(1, result.getCategoryDto().getCategoryId());
         assertEquals("Electronics", result.getCategoryDto().getCategoryTitle());
-        verify(productRepository, times(1)).findById(1);
+        verify(productRepository, times(1)).findViewById(1);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.impl.ProductSuggestServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Suggest Service Unit Tests")
+class ProductSuggestServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private ProductSuggestServiceImpl productSuggestService;
+
+    @BeforeEach
+    void setUp() {
+        productSuggestService = new ProductSuggestServiceImpl(productRepository, outboxEventRepository, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productSuggestService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rebuild when another instance added title events to the outbox")
+    void testPollVersion_RebuildsOnNewTitleEvents() throws InterruptedException {
+        // Given
+        when(outboxEventRepository.countByEventTypeIn(anyCollection())).thenReturn(1L, 1L, 2L);
+        when(outboxEventRepository.findMaxEventIdByEventTypeIn(anyCollection())).thenReturn(5L, 5L, 6L);
+        when(productRepository.findAllTitles()).thenReturn(List.of("Laptop"), List.of("Laptop", "Lamp"));
+        productSuggestService.onApplicationReady();
+        await(() -> productSuggestService.suggest("la", 10).size() == 1);
+
+        // When
+        productSuggestService.pollVersion();
+        productSuggestService.pollVersion();
+
+        // Then
+        await(() -> productSuggestService.suggest("la", 10).size() == 2);
+        verify(productRepository, times(2)).findAllTitles();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++)
+            Thread.sleep(10);
+        assertTrue(condition.getAsBoolean());
+    }
+
+}
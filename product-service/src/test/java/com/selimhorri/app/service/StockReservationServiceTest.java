@@ -0,0 +1,234 @@
+package com.selimhorri.app.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.domain.StockReservationItem;
+import com.selimhorri.app.domain.StockReservationStatus;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+import com.selimhorri.app.event.StockChangedEvent;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.StockReservationNotFoundException;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.impl.StockReservationServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Reservation Service Unit Tests")
+class StockReservationServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private HotStockService hotStockService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private StockReservationServiceImpl stockReservationService;
+
+    private StockReservation stockReservation;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_LISTS_CACHE);
+        stockReservationService = new StockReservationServiceImpl(productRepository, stockReservationRepository,
+                hotStockService, eventPublisher, cacheManager, Duration.ofMinutes(15), Duration.ofHours(1), 100);
+
+        stockReservation = StockReservation.builder()
+                .reservationId("reservation-1")
+                .status(StockReservationStatus.RESERVED)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .items(List.of(new StockReservationItem(1, 2), new StockReservationItem(2, 1)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should reserve merged items in ascending product id order")
+    void testReserve_Success() {
+        // Given
+        StockReservationDto request = StockReservationDto.builder()
+                .itemDtos(List.of(
+                        new StockReservationItemDto(2, 1),
+                        new StockReservationItemDto(1, 1),
+                        new StockReservationItemDto(1, 1)))
+                .build();
+        when(productRepository.decrementQuantity(anyInt(), anyInt())).thenReturn(1);
+        when(stockReservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StockReservationDto result = stockReservationService.reserve(request);
+
+        // Then
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementQuantity(1, 2);
+        inOrder.verify(productRepository).decrementQuantity(2, 1);
+        assertNotNull(result.getReservationId());
+        assertEquals(StockReservationStatus.RESERVED, result.getStatus());
+        assertEquals(2, result.getItemDtos().size());
+        verify(eventPublisher).publishEvent(new StockChangedEvent(Set.of(1, 2)));
+    }
+
+    @Test
+    @DisplayName("Should take hot products from their in-memory counters and wait for the journal")
+    void testReserve_HotProduct() {
+        // Given
+        StockReservationDto request = StockReservationDto.builder()
+                .itemDtos(List.of(new StockReservationItemDto(1, 3)))
+                .build();
+        when(hotStockService.isHot(1)).thenReturn(true);
+        when(hotStockService.tryTake(1, 3)).thenReturn(true);
+        when(stockReservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        stockReservationService.reserve(request);
+
+        // Then
+        verify(hotStockService).awaitJournaled();
+        verify(productRepository, never()).decrementQuantity(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should cap the requested hold time at the configured maximum")
+    void testReserve_TtlCapped() {
+        // Given
+        StockReservationDto request = StockReservationDto.builder()
+                .ttlSeconds(Duration.ofDays(1).toSeconds())
+                .itemDtos(List.of(new StockReservationItemDto(1, 1)))
+                .build();
+        when(productRepository.decrementQuantity(1, 1)).thenReturn(1);
+        when(stockReservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        StockReservationDto result = stockReservationService.reserve(request);
+
+        // Then
+        assertTrue(result.getExpiresAt().isBefore(LocalDateTime.now().plusHours(1).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Should fail the whole reservation when one product runs short")
+    void testReserve_InsufficientStock() {
+        // Given
+        StockReservationDto request = StockReservationDto.builder()
+                .itemDtos(List.of(new StockReservationItemDto(1, 1), new StockReservationItemDto(2, 5)))
+                .build();
+        when(productRepository.decrementQuantity(1, 1)).thenReturn(1);
+        when(productRepository.decrementQuantity(2, 5)).thenReturn(0);
+
+        // When & Then
+        InsufficientStockException exception = assertThrows(
+                InsufficientStockException.class,
+                () -> stockReservationService.reserve(request)
+        );
+
+        assertEquals("Product with id: 2 has less than 5 items in stock", exception.getMessage());
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should give stock back once when a held reservation is released")
+    void testRelease_Success() {
+        // Given
+        when(stockReservationRepository.updateStatusIfReserved("reservation-1", StockReservationStatus.RELEASED)).thenReturn(1);
+        when(stockReservationRepository.findById("reservation-1")).thenReturn(Optional.of(stockReservation));
+
+        // When
+        stockReservationService.release("reservation-1");
+
+        // Then
+        verify(productRepository).incrementQuantity(1, 2);
+        verify(productRepository).incrementQuantity(2, 1);
+        verify(eventPublisher).publishEvent(new StockChangedEvent(Set.of(1, 2)));
+    }
+
+    @Test
+    @DisplayName("Should not give stock back for a reservation that is no longer held")
+    void testRelease_AlreadyReleased() {
+        // Given
+        stockReservation.setStatus(StockReservationStatus.RELEASED);
+        when(stockReservationRepository.updateStatusIfReserved("reservation-1", StockReservationStatus.RELEASED)).thenReturn(0);
+        when(stockReservationRepository.findById("reservation-1")).thenReturn(Optional.of(stockReservation));
+
+        // When
+        StockReservationDto result = stockReservationService.release("reservation-1");
+
+        // Then
+        assertEquals(StockReservationStatus.RELEASED, result.getStatus());
+        verify(productRepository, never()).incrementQuantity(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse to confirm an expired or released reservation")
+    void testConfirm_NotHeld() {
+        // Given
+        when(stockReservationRepository.confirmIfReserved(eq("reservation-1"), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        assertThrows(StockReservationNotFoundException.class, () -> stockReservationService.confirm("reservation-1"));
+        verify(productRepository, never()).incrementQuantity(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should release expired reservations in one sweep")
+    void testReleaseExpired_Success() {
+        // Given
+        when(stockReservationRepository.findExpiredReservationIds(any(LocalDateTime.class), eq(PageRequest.of(0, 100))))
+                .thenReturn(List.of("reservation-1"));
+        when(stockReservationRepository.updateStatusIfReserved("reservation-1", StockReservationStatus.RELEASED)).thenReturn(1);
+        when(stockReservationRepository.findById("reservation-1")).thenReturn(Optional.of(stockReservation));
+
+        // When
+        int released = stockReservationService.releaseExpired();
+
+        // Then
+        assertEquals(1, released);
+        verify(productRepository).incrementQuantity(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should evict cached products whose stock moved")
+    void testOnStockChanged_EvictsProducts() {
+        // Given
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put(1, "product-1");
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put(3, "product-3");
+        cacheManager.getCache(CacheConfig.PRODUCT_LISTS_CACHE).put("all", List.of());
+
+        // When
+        stockReservationService.onStockChanged(new StockChangedEvent(Set.of(1)));
+
+        // Then
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(1));
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(3));
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCT_LISTS_CACHE).get("all"));
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.selimhorri.app.service.importer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CSV Record Reader Tests")
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Should read quoted fields with separators, doubled quotes and line breaks")
+    void testNext_QuotedFields() throws IOException {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "sku,productTitle\r\nA-1,\"Laptop, 15\"\" screen\"\n\"B-2\",\"two\nlines\"\n"));
+
+        // When & Then
+        assertEquals(List.of("sku", "productTitle"), reader.next());
+        assertEquals(List.of("A-1", "Laptop, 15\" screen"), reader.next());
+        assertEquals(2, reader.getLineNumber());
+        assertEquals(List.of("B-2", "two\nlines"), reader.next());
+        assertEquals(3, reader.getLineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines and keep empty trailing fields")
+    void testNext_BlankLinesAndEmptyFields() throws IOException {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n\n\nc,\n"));
+
+        // When & Then
+        assertEquals(List.of("a", "b"), reader.next());
+        assertEquals(List.of("c", ""), reader.next());
+        assertEquals(4, reader.getLineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should fail on an unterminated quoted field")
+    void testNext_UnterminatedQuote() {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"open,field\n"));
+
+        // When & Then
+        assertThrows(IOException.class, reader::next);
+    }
+
+}
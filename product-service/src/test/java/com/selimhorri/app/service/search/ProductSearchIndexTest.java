@@ -0,0 +1,145 @@
+package com.selimhorri.app.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+@DisplayName("Product Search Index Tests")
+@Slf4j
+class ProductSearchIndexTest {
+
+    private static final String[] WORDS = {"asus", "lenovo", "dell", "apple", "samsung", "gaming", "laptop",
+            "desktop", "phone", "tablet", "monitor", "keyboard", "mouse", "headset", "charger", "cable",
+            "printer", "router", "camera", "speaker", "watch", "console", "controller", "drive"};
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+        productSearchIndex.rebuild(List.of(
+                product(1, "Asus ROG Gaming Laptop", "ASUS-ROG-01", "Computer"),
+                product(2, "Lenovo ThinkPad Laptop", "LEN-TP-14", "Computer"),
+                product(3, "Gaming Mouse", "MSE-001", "Game"),
+                product(4, "Summer Dress", "DRS-042", "Mode")));
+    }
+
+    @Test
+    @DisplayName("Should rank documents matching more query terms first")
+    void testSearch_RanksByBm25() {
+        // When
+        List<ProductDto> result = productSearchIndex.search("gaming laptop", 10);
+
+        // Then
+        assertEquals(1, result.get(0).getProductId());
+        assertEquals(3, result.size());
+    }
+
+    @Test
+    @DisplayName("Should match partially typed words, skus and category titles")
+    void testSearch_PrefixSkuAndCategory() {
+        // When & Then
+        assertEquals(2, productSearchIndex.search("think", 10).get(0).getProductId());
+        assertEquals(3, productSearchIndex.search("mse-001", 10).get(0).getProductId());
+        assertEquals(4, productSearchIndex.search("MODE", 10).get(0).getProductId());
+        assertTrue(productSearchIndex.search("x", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should follow updates and deletes incrementally")
+    void testIndexAndRemove() {
+        // When
+        productSearchIndex.index(product(3, "Wireless Keyboard", "KBD-001", "Computer"));
+        productSearchIndex.remove(1);
+
+        // Then
+        assertEquals(3, productSearchIndex.size());
+        assertTrue(productSearchIndex.search("mouse", 10).isEmpty());
+        assertEquals(List.of(2), productSearchIndex.search("laptop", 10).stream().map(ProductDto::getProductId).collect(Collectors.toList()));
+        assertEquals(3, productSearchIndex.search("keyb", 10).get(0).getProductId());
+    }
+
+    @Test
+    @DisplayName("Should find conjunctive matches of a common term outside its champion list")
+    void testSearch_ConjunctiveMatchOutsideChampions() {
+        // Given
+        List<ProductDto> catalog = new ArrayList<>();
+        for (int i = 1; i <= 9_000; i++)
+            catalog.add(product(i, "red red cap", null, null));
+        for (int i = 9_001; i <= 9_020; i++)
+            catalog.add(product(i, "red red red shirt", null, null));
+        for (int i = 9_021; i <= 9_620; i++)
+            catalog.add(product(i, "red shirt cotton", null, null));
+        catalog.add(product(10_000, "red shirt shirt", null, null));
+        productSearchIndex.rebuild(catalog);
+
+        // When
+        List<ProductDto> result = productSearchIndex.search("red shirt", 10);
+
+        // Then
+        assertEquals(10_000, result.get(0).getProductId());
+        assertEquals(10, result.size());
+    }
+
+    @Test
+    @DisplayName("Should report search latency percentiles over a synthetic catalog")
+    void testSearch_Benchmark() {
+        // Given
+        int catalogSize = Integer.getInteger("search.benchmark.size", 100_000);
+        Random random = new Random(42);
+        List<ProductDto> catalog = new ArrayList<>(catalogSize);
+        for (int i = 1; i <= catalogSize; i++)
+            catalog.add(product(i, word(random) + " " + word(random) + " " + word(random) + " " + i,
+                    "SKU-" + i, word(random)));
+        long buildStart = System.nanoTime();
+        productSearchIndex.rebuild(catalog);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        for (int i = 0; i < 1_000; i++)
+            productSearchIndex.search(word(random) + " " + word(random).substring(0, 3), 20);
+
+        // When
+        long[] latencies = new long[2_000];
+        for (int i = 0; i < latencies.length; i++) {
+            String query = word(random) + " " + word(random).substring(0, 3);
+            long start = System.nanoTime();
+            productSearchIndex.search(query, 20);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        // Then
+        log.info("*** ProductSearchIndex over {} products: built in {} ms, p50 {} us, p99 {} us *", catalogSize, buildMillis,
+                latencies[latencies.length / 2] / 1_000, latencies[latencies.length * 99 / 100] / 1_000);
+        assertEquals(catalogSize, productSearchIndex.size());
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static ProductDto product(int productId, String productTitle, String sku, String categoryTitle) {
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(productTitle)
+                .sku(sku)
+                .categoryDto(CategoryDto.builder()
+                        .categoryTitle(categoryTitle)
+                        .build())
+                .build();
+    }
+
+}
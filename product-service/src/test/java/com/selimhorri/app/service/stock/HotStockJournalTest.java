@@ -0,0 +1,100 @@
+package com.selimhorri.app.service.stock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Hot Stock Journal Tests")
+class HotStockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back the last checkpoint per product")
+    void testRead_LastCheckpointWins() throws Exception {
+        // Given
+        Path path = directory.resolve("hot-stock.journal");
+        try (HotStockJournal journal = HotStockJournal.open(path, 1 << 20)) {
+            journal.reset(7);
+            journal.append(Map.of(1, 3L, 2, 1L));
+            journal.append(Map.of(1, 5L, 2, 1L));
+        }
+
+        // When
+        HotStockJournal.Checkpoint checkpoint;
+        try (HotStockJournal journal = HotStockJournal.open(path, 1 << 20)) {
+            checkpoint = journal.read();
+        }
+
+        // Then
+        assertEquals(7, checkpoint.getEpoch());
+        assertEquals(Map.of(1, 5L, 2, 1L), checkpoint.getTaken());
+        assertEquals(3 * HotStockJournal.RECORD_SIZE, Files.size(path));
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record at the end of the journal")
+    void testRead_TornTail() throws Exception {
+        // Given
+        Path path = directory.resolve("hot-stock.journal");
+        try (HotStockJournal journal = HotStockJournal.open(path, 1 << 20)) {
+            journal.reset(7);
+            journal.append(Map.of(1, 3L));
+        }
+        Files.write(path, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        HotStockJournal.Checkpoint checkpoint;
+        try (HotStockJournal journal = HotStockJournal.open(path, 1 << 20)) {
+            checkpoint = journal.read();
+        }
+
+        // Then
+        assertEquals(Map.of(1, 3L), checkpoint.getTaken());
+    }
+
+    @Test
+    @DisplayName("Should compact to one record per product once the journal outgrows its limit")
+    void testAppend_Compacts() throws Exception {
+        // Given
+        Path path = directory.resolve("hot-stock.journal");
+        try (HotStockJournal journal = HotStockJournal.open(path, 4 * HotStockJournal.RECORD_SIZE)) {
+            journal.reset(7);
+
+            // When
+            for (long taken = 1; taken <= 10; taken++)
+                journal.append(Map.of(1, taken, 2, 2 * taken));
+
+            // Then
+            assertTrue(Files.size(path) <= 4 * HotStockJournal.RECORD_SIZE);
+            assertEquals(Map.of(1, 10L, 2, 20L), journal.read().getTaken());
+        }
+    }
+
+    @Test
+    @DisplayName("Should start empty after a reset")
+    void testReset_Empty() throws Exception {
+        // Given
+        Path path = directory.resolve("hot-stock.journal");
+        try (HotStockJournal journal = HotStockJournal.open(path, 1 << 20)) {
+            journal.reset(7);
+            journal.append(Map.of(1, 3L));
+
+            // When
+            journal.reset(8);
+
+            // Then
+            assertTrue(journal.read().getTaken().isEmpty());
+            assertEquals(0, Files.size(path));
+        }
+    }
+
+}
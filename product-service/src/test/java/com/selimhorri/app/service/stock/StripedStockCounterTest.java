@@ -0,0 +1,140 @@
+package com.selimhorri.app.service.stock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+@DisplayName("Striped Stock Counter Tests")
+@Slf4j
+class StripedStockCounterTest {
+
+    private static final int STOCK = 4_000_000;
+
+    @Test
+    @DisplayName("Should spread the initial stock over power-of-two stripes")
+    void testNew_SpreadsStock() {
+        // When
+        StripedStockCounter counter = new StripedStockCounter(10, 3);
+
+        // Then
+        assertEquals(4, counter.stripes());
+        assertEquals(10, counter.available());
+        assertEquals(0, counter.taken());
+    }
+
+    @Test
+    @DisplayName("Should gather a quantity no single stripe holds")
+    void testTryTake_GathersAcrossStripes() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(8, 8);
+
+        // When
+        boolean taken = counter.tryTake(5);
+
+        // Then
+        assertTrue(taken);
+        assertEquals(3, counter.available());
+        assertEquals(5, counter.taken());
+    }
+
+    @Test
+    @DisplayName("Should leave stock untouched when the stripes together fall short")
+    void testTryTake_InsufficientStock() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(3, 4);
+
+        // When
+        boolean taken = counter.tryTake(4);
+
+        // Then
+        assertFalse(taken);
+        assertEquals(3, counter.available());
+        assertEquals(0, counter.taken());
+    }
+
+    @Test
+    @DisplayName("Should net give-backs out of the taken total")
+    void testGiveBack_NetsTaken() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(10, 2);
+        counter.tryTake(4);
+
+        // When
+        counter.giveBack(3);
+
+        // Then
+        assertEquals(9, counter.available());
+        assertEquals(1, counter.taken());
+    }
+
+    @Test
+    @DisplayName("Should sell exactly the stock and compare throughput with a single counter as buyers grow")
+    void testTryTake_ContentionBenchmark() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int buyers = 1; buyers <= 2 * cores; buyers *= 2) {
+            // Given
+            StripedStockCounter striped = new StripedStockCounter(STOCK, cores);
+            AtomicLong single = new AtomicLong(STOCK);
+
+            // When
+            long stripedNanos = sellOut(buyers, () -> striped.tryTake(1));
+            long singleNanos = sellOut(buyers, () -> {
+                long current;
+                while ((current = single.get()) >= 1)
+                    if (single.compareAndSet(current, current - 1))
+                        return true;
+                return false;
+            });
+
+            // Then
+            log.info("*** Hot stock with {} buyers on {} cores: striped {} Mops/s, single counter {} Mops/s *",
+                    buyers, cores, STOCK * 1_000L / stripedNanos, STOCK * 1_000L / singleNanos);
+            assertEquals(0, striped.available());
+            assertEquals(STOCK, striped.taken());
+            assertEquals(0, single.get());
+        }
+    }
+
+    /**
+     * Every buyer takes one unit at a time until the product is sold out.
+     */
+    private long sellOut(int buyers, BooleanSupplier take) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Long>> purchases = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                purchases.add(executor.submit(() -> {
+                    startGate.await();
+                    long bought = 0;
+                    while (take.getAsBoolean())
+                        bought++;
+                    return bought;
+                }));
+            }
+            long start = System.nanoTime();
+            startGate.countDown();
+            long sold = 0;
+            for (Future<Long> purchase : purchases)
+                sold += purchase.get(1, TimeUnit.MINUTES);
+            assertEquals(STOCK, sold);
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
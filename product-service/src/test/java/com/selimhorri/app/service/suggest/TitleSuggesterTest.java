@@ -0,0 +1,93 @@
+package com.selimhorri.app.service.suggest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+@DisplayName("Title Suggester Tests")
+@Slf4j
+class TitleSuggesterTest {
+
+    private TitleSuggester titleSuggester;
+
+    @BeforeEach
+    void setUp() {
+        titleSuggester = TitleSuggester.of(List.of(
+                "iPhone 14", "iPhone 14", "iPhone 14 Pro", "iPhone 13", "iPad Air", "Écran 27 pouces", "asus rog"));
+    }
+
+    @Test
+    @DisplayName("Should complete a prefix with the heaviest titles first")
+    void testSuggest_RanksByWeight() {
+        // When
+        List<String> result = titleSuggester.suggest("iph", 10);
+
+        // Then
+        assertEquals(List.of("iPhone 14", "iPhone 13", "iPhone 14 Pro"), result);
+        assertEquals(List.of("iPhone 14"), titleSuggester.suggest("iP", 1));
+    }
+
+    @Test
+    @DisplayName("Should match case and accent insensitively, including prefixes ending inside an edge")
+    void testSuggest_Normalized() {
+        // When & Then
+        assertEquals(List.of("Écran 27 pouces"), titleSuggester.suggest("ECR", 10));
+        assertEquals(List.of("iPhone 14", "iPhone 14 Pro"), titleSuggester.suggest("iphone 14", 10));
+        assertTrue(titleSuggester.suggest("iphone 15", 10).isEmpty());
+        assertTrue(titleSuggester.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report footprint and lookup latency over a synthetic catalog")
+    void testSuggest_Benchmark() {
+        // Given
+        int catalogSize = Integer.getInteger("suggest.benchmark.size", 100_000);
+        Random random = new Random(42);
+        List<String> titles = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++)
+            titles.add(word(random) + " " + word(random) + " " + random.nextInt(1_000));
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        long buildStart = System.nanoTime();
+        titleSuggester = TitleSuggester.of(titles);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        titles = null;
+        System.gc();
+        long footprint = runtime.totalMemory() - runtime.freeMemory() - usedBefore;
+
+        // When
+        long[] latencies = new long[20_000];
+        for (int i = 0; i < latencies.length; i++) {
+            String prefix = word(random).substring(0, 1 + random.nextInt(4));
+            long start = System.nanoTime();
+            titleSuggester.suggest(prefix, 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        // Then
+        log.info("*** TitleSuggester over {} titles: {} nodes, ~{} MB, built in {} ms, p50 {} ns, p99 {} ns *",
+                titleSuggester.size(), titleSuggester.nodeCount(), footprint >> 20, buildMillis,
+                latencies[latencies.length / 2], latencies[latencies.length * 99 / 100]);
+        assertTrue(titleSuggester.size() > 0);
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(6);
+        for (int i = 0; i < length; i++)
+            word.append((char) ('a' + random.nextInt(26)));
+        return word.toString();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.selimhorri.app.service.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryTreeDto;
+import com.selimhorri.app.dto.projection.CategoryNodeView;
+
+@DisplayName("Category Tree Snapshot Tests")
+class CategoryTreeTest {
+
+    private CategoryTree categoryTree;
+
+    @BeforeEach
+    void setUp() {
+        // Computer(1) -> Laptops(4) -> Gaming(6), Computer(1) -> Desktops(5), Mode(2), Game(3)
+        categoryTree = CategoryTree.of(1L, List.of(
+                new CategoryNodeView(1, null, "Computer", null),
+                new CategoryNodeView(2, null, "Mode", null),
+                new CategoryNodeView(3, null, "Game", null),
+                new CategoryNodeView(4, 1, "Laptops", null),
+                new CategoryNodeView(5, 1, "Desktops", null),
+                new CategoryNodeView(6, 4, "Gaming", null)));
+    }
+
+    @Test
+    @DisplayName("Should answer subtree membership from the pre-order ranges")
+    void testSubtreeLookups() {
+        // When
+        List<Integer> subtree = categoryTree.subtreeCategoryIds(1);
+
+        // Then
+        assertEquals(List.of(1, 4, 6, 5), subtree);
+        assertTrue(categoryTree.isInSubtree(1, 6));
+        assertTrue(categoryTree.isInSubtree(4, 4));
+        assertFalse(categoryTree.isInSubtree(4, 5));
+        assertFalse(categoryTree.isInSubtree(2, 6));
+        assertEquals(List.of(3), categoryTree.subtreeCategoryIds(3));
+    }
+
+    @Test
+    @DisplayName("Should serve nested nodes with depths for navigation menus")
+    void testToDto() {
+        // When
+        CategoryTreeDto dto = categoryTree.toDto();
+
+        // Then
+        assertEquals(1L, dto.getVersion());
+        assertEquals(3, dto.getRoots().size());
+        assertEquals("Laptops", dto.getRoots().get(0).getSubCategories().get(0).getCategoryTitle());
+        assertEquals(2, dto.getRoots().get(0).getSubCategories().get(0).getSubCategories().get(0).getDepth());
+        assertThrows(UnsupportedOperationException.class, () -> dto.getRoots().get(0).getSubCategories().clear());
+    }
+
+    @Test
+    @DisplayName("Should move a subtree with its category and bump the version without touching the old snapshot")
+    void testWithCategory_MovesSubtree() {
+        // When
+        CategoryTree next = categoryTree.withCategory(new CategoryNodeView(4, 3, "Laptops", null));
+
+        // Then
+        assertEquals(2L, next.getVersion());
+        assertEquals(List.of(3, 4, 6), next.subtreeCategoryIds(3));
+        assertEquals(List.of(1, 5), next.subtreeCategoryIds(1));
+        assertEquals(List.of(1, 4, 6, 5), categoryTree.subtreeCategoryIds(1));
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted category together with its descendants")
+    void testWithoutCategory_RemovesSubtree() {
+        // When
+        CategoryTree next = categoryTree.withoutCategory(4);
+
+        // Then
+        assertEquals(4, next.size());
+        assertFalse(next.contains(6));
+        assertSame(next, next.withoutCategory(99));
+    }
+
+    @Test
+    @DisplayName("Should still place every category when parent links form a cycle")
+    void testWithCategory_CycleIsBroken() {
+        // When
+        CategoryTree next = categoryTree.withCategory(new CategoryNodeView(1, 6, "Computer", null));
+
+        // Then
+        assertEquals(6, next.size());
+        assertTrue(next.contains(1));
+        assertEquals(4, next.subtreeCategoryIds(1).size());
+    }
+
+}
@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -41,6 +42,13 @@ public class AuthenticationController {
 		return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
 	}
 	
+	@DeleteMapping("/jwt/{jwt}")
+	public ResponseEntity<Boolean> revoke(@PathVariable("jwt") final String jwt) {
+		log.info("**Authentication controller, proceed with the request*\n");
+		this.authenticationService.revoke(jwt);
+		return ResponseEntity.ok(true);
+	}
+	
 	
 	
 }
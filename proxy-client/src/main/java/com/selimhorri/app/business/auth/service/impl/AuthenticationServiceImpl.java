@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.util.Date;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -11,6 +13,7 @@ import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +26,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	private final AuthenticationManager authenticationManager;
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final TokenRevocationService tokenRevocationService;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
@@ -43,7 +47,19 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	
 	@Override
 	public Boolean authenticate(final String jwt) {
-		return null;
+		log.info("** Boolean, authenticate jwt service*\n");
+		return this.jwtService.verifyToken(jwt)
+				.map(verifiedClaims -> verifiedClaims.getSubject() != null 
+						&& !this.tokenRevocationService.isRevoked(verifiedClaims.getTokenId()))
+				.orElse(false);
+	}
+	
+	@Override
+	public void revoke(final String jwt) {
+		log.info("** Void, revoke jwt service*\n");
+		this.jwtService.verifyToken(jwt)
+				.ifPresent(verifiedClaims -> this.tokenRevocationService.revoke(verifiedClaims.getTokenId(), 
+						verifiedClaims.getExpiration() != null ? Date.from(verifiedClaims.getExpiration()) : null));
 	}
 	
 	
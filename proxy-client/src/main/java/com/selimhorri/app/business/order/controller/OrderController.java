@@ -1,22 +1,34 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.security.Principal;
+import java.util.Objects;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCursorPageResponse;
+import com.selimhorri.app.business.order.service.CartClientService;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.constant.AppConstant;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,12 +38,40 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 	
 	private final OrderClientService orderClientService;
+	private final CartClientService cartClientService;
+	private final UserClientService userClientService;
 	
 	@GetMapping
 	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
 		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
 	}
 	
+	@GetMapping("/cart/{cartId}")
+	public ResponseEntity<OrderOrderServiceDtoCursorPageResponse> findAllByCartIdAfter(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String cartId, 
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			final Authentication authentication) {
+		if (!isAdmin(authentication))
+			this.checkOwner(this.cartClientService.findById(cartId).getBody().getUserId(), authentication);
+		return ResponseEntity.ok(this.orderClientService.findAllByCartIdAfter(cartId, afterOrderId, limit).getBody());
+	}
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<OrderOrderServiceDtoCursorPageResponse> findAllByUserIdAfter(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String userId, 
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit, 
+			final Authentication authentication) {
+		if (!isAdmin(authentication))
+			this.checkOwner(Integer.parseInt(userId), authentication);
+		return ResponseEntity.ok(this.orderClientService.findAllByUserIdAfter(userId, afterOrderId, limit).getBody());
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -44,8 +84,14 @@ public class OrderController {
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
-			@Valid final OrderDto orderDto) {
-		return ResponseEntity.ok(this.orderClientService.save(orderDto).getBody());
+			@Valid final OrderDto orderDto, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey, 
+			final Principal principal) {
+		final var response = this.orderClientService.save(orderDto, idempotencyKey, principal != null ? principal.getName() : null);
+		final var replayed = response.getHeaders().getFirst(AppConstant.IDEMPOTENT_REPLAYED_HEADER);
+		return replayed != null ? 
+				ResponseEntity.ok().header(AppConstant.IDEMPOTENT_REPLAYED_HEADER, replayed).body(response.getBody()) : 
+				ResponseEntity.ok(response.getBody());
 	}
 	
 	@PutMapping
@@ -73,6 +119,21 @@ public class OrderController {
 		return ResponseEntity.ok(true);
 	}
 	
+	/**
+	 * Order history is only served to the user it belongs to; admins are let through before the owner is resolved.
+	 */
+	private void checkOwner(final Integer ownerUserId, final Authentication authentication) {
+		final var userDto = this.userClientService.findByUsername(authentication.getName()).getBody();
+		if (userDto == null || !Objects.equals(userDto.getUserId(), ownerUserId))
+			throw new AccessDeniedException("Order history belongs to another user");
+	}
+	
+	private static boolean isAdmin(final Authentication authentication) {
+		return authentication.getAuthorities()
+				.stream()
+					.anyMatch(authority -> RoleBasedAuthority.ROLE_ADMIN.name().equals(authority.getAuthority()));
+	}
+	
 	
 	
 }
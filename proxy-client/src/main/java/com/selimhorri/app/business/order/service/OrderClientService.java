@@ -12,9 +12,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCursorPageResponse;
+import com.selimhorri.app.constant.AppConstant;
 
 @FeignClient(name = "ORDER-SERVICE", contextId = "orderClientService", path = "/order-service/api/orders")
 public interface OrderClientService {
@@ -22,6 +26,22 @@ public interface OrderClientService {
 	@GetMapping
 	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll();
 	
+	@GetMapping("/cart/{cartId}")
+	public ResponseEntity<OrderOrderServiceDtoCursorPageResponse> findAllByCartIdAfter(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String cartId, 
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
+	
+	@GetMapping("/user/{userId}")
+	public ResponseEntity<OrderOrderServiceDtoCursorPageResponse> findAllByUserIdAfter(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String userId, 
+			@RequestParam(name = "after", required = false) final Integer afterOrderId, 
+			@RequestParam(name = "limit", required = false) final Integer limit);
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -32,7 +52,9 @@ public interface OrderClientService {
 	public ResponseEntity<OrderDto> save(
 			@RequestBody 
 			@NotNull(message = "Input must not be NULL!") 
-			@Valid final OrderDto orderDto);
+			@Valid final OrderDto orderDto, 
+			@RequestHeader(name = AppConstant.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey, 
+			@RequestHeader(name = AppConstant.AUTHENTICATED_USER_HEADER, required = false) final String username);
 	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
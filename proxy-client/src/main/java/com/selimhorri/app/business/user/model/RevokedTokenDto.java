@@ -0,0 +1,37 @@
+package com.selimhorri.app.business.user.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class RevokedTokenDto {
+	
+	private String tokenId;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant expiresAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant revokedAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
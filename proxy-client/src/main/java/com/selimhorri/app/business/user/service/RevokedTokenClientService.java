@@ -0,0 +1,38 @@
+package com.selimhorri.app.business.user.service;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.selimhorri.app.business.user.model.RevokedTokenDto;
+import com.selimhorri.app.business.user.model.response.RevokedTokenUserServiceCollectionDtoResponse;
+
+@FeignClient(name = "USER-SERVICE", contextId = "revokedTokenClientService", path = "/user-service/api/revokedTokens", decode404 = true)
+public interface RevokedTokenClientService {
+	
+	@GetMapping
+	ResponseEntity<RevokedTokenUserServiceCollectionDtoResponse> findAllRevokedSince(@RequestParam("since") final long sinceEpochMillis);
+	
+	@PostMapping
+	ResponseEntity<RevokedTokenDto> save(
+			@RequestBody 
+			@NotNull(message = "*Input must not NULL!**") 
+			@Valid final RevokedTokenDto revokedTokenDto);
+			
+}
+
+
+
+
+
+
+
+
+
+
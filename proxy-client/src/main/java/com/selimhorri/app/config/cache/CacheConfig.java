@@ -0,0 +1,58 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.jwt.model.VerifiedClaims;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+public class CacheConfig {
+	
+	public static final String VERIFIED_CLAIMS_CACHE = "verifiedJwtClaims";
+	
+	/**
+	 * Verified claims keyed by the SHA-256 digest of the bearer token, 
+	 * each entry living no longer than the token itself.
+	 */
+	@Bean
+	public Cache<String, VerifiedClaims> verifiedClaims(
+			@Value("${app.cache.verified-claims.maximum-size:10000}") final long maximumSize, 
+			final MeterRegistry meterRegistry) {
+		
+		final Cache<String, VerifiedClaims> cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new Expiry<String, VerifiedClaims>() {
+					@Override
+					public long expireAfterCreate(final String key, final VerifiedClaims value, final long currentTime) {
+						if (value.getExpiration() == null)
+							return Long.MAX_VALUE;
+						return Math.max(0L, Duration.between(Instant.now(), value.getExpiration()).toNanos());
+					}
+					@Override
+					public long expireAfterUpdate(final String key, final VerifiedClaims value, final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					@Override
+					public long expireAfterRead(final String key, final VerifiedClaims value, final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.recordStats()
+				.build();
+		
+		return CaffeineCacheMetrics.monitor(meterRegistry, cache, VERIFIED_CLAIMS_CACHE);
+	}
+	
+	
+	
+}
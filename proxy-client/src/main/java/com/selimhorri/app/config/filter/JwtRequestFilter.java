@@ -7,6 +7,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,17 +17,28 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final TokenRevocationService tokenRevocationService;
+	private final boolean statelessAuthentication;
+	
+	public JwtRequestFilter(final UserDetailsService userDetailsService, 
+			final JwtService jwtService, 
+			final TokenRevocationService tokenRevocationService, 
+			@Value("${app.security.jwt.stateless-authentication:true}") final boolean statelessAuthentication) {
+		this.userDetailsService = userDetailsService;
+		this.jwtService = jwtService;
+		this.tokenRevocationService = tokenRevocationService;
+		this.statelessAuthentication = statelessAuthentication;
+	}
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -36,19 +48,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
-		String jwt = null;
-		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
-		}
-		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") 
+				&& SecurityContextHolder.getContext().getAuthentication() == null ) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final String jwt = authorizationHeader.substring(7);
+			final UserDetails userDetails = this.resolveUserDetails(jwt);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
+			if (userDetails != null && this.isUsable(userDetails)) {
 				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
 						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -61,6 +67,33 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	/**
+	 * Verifies the token at most once per distinct token (see JwtService#verifyToken).
+	 * Tokens carrying the authority and account-status claims are trusted as-is, so no
+	 * user-service lookup happens on the request path. Tokens issued before those claims
+	 * existed (or with stateless mode switched off) fall back to the remote lookup.
+	 */
+	private UserDetails resolveUserDetails(final String jwt) {
+		
+		final var verifiedClaims = this.jwtService.verifyToken(jwt).orElse(null);
+		if (verifiedClaims == null || verifiedClaims.getSubject() == null 
+				|| this.tokenRevocationService.isRevoked(verifiedClaims.getTokenId()))
+			return null;
+		
+		if (this.statelessAuthentication && verifiedClaims.getUserDetails().isPresent())
+			return verifiedClaims.getUserDetails().get();
+		
+		final UserDetails userDetails = this.userDetailsService.loadUserByUsername(verifiedClaims.getSubject());
+		return verifiedClaims.getSubject().equals(userDetails.getUsername()) ? userDetails : null;
+	}
+	
+	private boolean isUsable(final UserDetails userDetails) {
+		return userDetails.isEnabled() 
+				&& userDetails.isAccountNonLocked() 
+				&& userDetails.isAccountNonExpired() 
+				&& userDetails.isCredentialsNonExpired();
+	}
+	
 	
 	
 }
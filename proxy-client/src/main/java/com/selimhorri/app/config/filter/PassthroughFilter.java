@@ -0,0 +1,165 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forwards pure read routes straight to the owning service and copies the response 
+ * bytes to the servlet output stream, skipping Feign decoding and Jackson re-encoding. 
+ * Registered as a plain servlet filter, it runs after the Spring Security chain, 
+ * so authorization rules still apply; anything not matched falls through to the controllers. 
+ * Validators and conditional request headers are relayed both ways, so a 304 from 
+ * the owning service reaches the caller without a body.
+ */
+@Component
+@Slf4j
+public class PassthroughFilter extends OncePerRequestFilter {
+	
+	private static final Map<String, String> ROUTES = Map.of(
+			"/api/products", AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, 
+			"/api/categories", AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + "/api/categories", 
+			"/api/carts", AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts", 
+			"/api/orders", AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, 
+			"/api/favourites", AppConstant.DiscoveredDomainsApi.FAVOURITE_SERVICE_API_URL, 
+			"/api/payments", AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL, 
+			"/api/shippings", AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL, 
+			"/api/users", AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL);
+	
+	/**
+	 * Exactly the GET paths the Feign controllers serve, ids restricted to digits, 
+	 * so downstream-only routes (streams, per-user listings, ...) are never exposed.
+	 */
+	private static final List<String> PASSTHROUGH_PATHS = List.of(
+			"/api/products", "/api/products/{productId:\\d+}", 
+			"/api/categories", "/api/categories/{categoryId:\\d+}", 
+			"/api/carts", "/api/carts/{cartId:\\d+}", 
+			"/api/orders", "/api/orders/{orderId:\\d+}", 
+			"/api/favourites", "/api/favourites/{userId:\\d+}/{productId:\\d+}/{likeDate}", 
+			"/api/payments", "/api/payments/{paymentId:\\d+}", 
+			"/api/shippings", "/api/shippings/{orderId:\\d+}/{productId:\\d+}", 
+			"/api/users", "/api/users/{userId:\\d+}", "/api/users/username/{username}");
+	
+	private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+	
+	private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+			HttpHeaders.ACCEPT, 
+			HttpHeaders.ACCEPT_ENCODING, 
+			HttpHeaders.IF_NONE_MATCH, 
+			HttpHeaders.IF_MODIFIED_SINCE);
+	
+	private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+			HttpHeaders.CONTENT_TYPE, 
+			HttpHeaders.CONTENT_LENGTH, 
+			HttpHeaders.CONTENT_ENCODING, 
+			HttpHeaders.ETAG, 
+			HttpHeaders.LAST_MODIFIED, 
+			HttpHeaders.CACHE_CONTROL);
+	
+	private final RestTemplate passthroughRestTemplate;
+	private final boolean enabled;
+	
+	public PassthroughFilter(@Qualifier("passthroughRestTemplate") final RestTemplate passthroughRestTemplate, 
+			@Value("${app.proxy.passthrough.enabled:true}") final boolean enabled) {
+		this.passthroughRestTemplate = passthroughRestTemplate;
+		this.enabled = enabled;
+	}
+	
+	@Override
+	protected boolean shouldNotFilter(final HttpServletRequest request) {
+		return !this.enabled 
+				|| !HttpMethod.GET.matches(request.getMethod()) 
+				|| this.resolveDownstreamUrl(request) == null;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
+			throws ServletException, IOException {
+		
+		final URI downstreamUrl = this.resolveDownstreamUrl(request);
+		log.info("**PassthroughFilter, streaming downstream response from {}*\n", downstreamUrl);
+		
+		this.passthroughRestTemplate.execute(downstreamUrl, HttpMethod.GET, 
+				clientRequest -> FORWARDED_REQUEST_HEADERS.forEach(header -> {
+					final String value = request.getHeader(header);
+					if (value != null)
+						clientRequest.getHeaders().set(header, value);
+				}), 
+				clientResponse -> {
+					response.setStatus(clientResponse.getRawStatusCode());
+					FORWARDED_RESPONSE_HEADERS.forEach(header -> {
+						final String value = clientResponse.getHeaders().getFirst(header);
+						if (value != null)
+							response.setHeader(header, value);
+					});
+					StreamUtils.copy(clientResponse.getBody(), response.getOutputStream());
+					response.flushBuffer();
+					return null;
+				});
+	}
+	
+	/**
+	 * Maps a whitelisted /api/{resource}[/...] path onto the owning service; anything else, 
+	 * including GET routes that carry a request body (the composite-id "/find" lookups), 
+	 * stays on the Feign path. Path and query arrive already encoded and are passed on as a URI, 
+	 * so they are not expanded or encoded a second time; a query that is not validly encoded 
+	 * stays on the Feign path as well.
+	 */
+	private URI resolveDownstreamUrl(final HttpServletRequest request) {
+		
+		final String path = request.getRequestURI().substring(request.getContextPath().length());
+		if (PASSTHROUGH_PATHS.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path)))
+			return null;
+		
+		for (final Map.Entry<String, String> route : ROUTES.entrySet()) {
+			if (path.equals(route.getKey()) || path.startsWith(route.getKey() + "/")) {
+				try {
+					return UriComponentsBuilder.fromHttpUrl(route.getValue() + path.substring(route.getKey().length()))
+							.query(request.getQueryString())
+							.build(true)
+							.toUri();
+				}
+				catch (final IllegalArgumentException e) {
+					return null;
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,89 @@
+package com.selimhorri.app.config.template;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+@Configuration
+public class HttpClientConfig {
+	
+	public static final String CONNECTION_POOL_NAME = "inter-service";
+	
+	/**
+	 * Keep-alive connection pool shared by every outbound call; per-route limits apply 
+	 * to the resolved instance (host:port), with optional overrides such as {'10.0.0.5:8500': 100}.
+	 */
+	@Bean
+	public PoolingHttpClientConnectionManager httpClientConnectionManager(
+			@Value("${app.http-client.max-total:200}") final int maxTotal, 
+			@Value("${app.http-client.max-per-route:50}") final int maxPerRoute, 
+			@Value("#{${app.http-client.max-per-route-overrides:{:}}}") final Map<String, Integer> maxPerRouteOverrides, 
+			@Value("${app.http-client.validate-after-inactivity:2s}") final Duration validateAfterInactivity, 
+			final MeterRegistry meterRegistry) {
+		
+		final var connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+		connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+		maxPerRouteOverrides.forEach((hostAndPort, max) -> 
+				connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(hostAndPort)), max));
+		
+		new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, CONNECTION_POOL_NAME)
+				.bindTo(meterRegistry);
+		
+		return connectionManager;
+	}
+	
+	@Bean
+	public CloseableHttpClient httpClient(final PoolingHttpClientConnectionManager httpClientConnectionManager, 
+			@Value("${app.http-client.connect-timeout:2s}") final Duration connectTimeout, 
+			@Value("${app.http-client.read-timeout:5s}") final Duration readTimeout, 
+			@Value("${app.http-client.pool-acquire-timeout:1s}") final Duration poolAcquireTimeout, 
+			@Value("${app.http-client.idle-eviction:30s}") final Duration idleEviction) {
+		
+		return HttpClients.custom()
+				.setConnectionManager(httpClientConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) connectTimeout.toMillis())
+						.setSocketTimeout((int) readTimeout.toMillis())
+						.setConnectionRequestTimeout((int) poolAcquireTimeout.toMillis())
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(idleEviction.toMillis(), TimeUnit.MILLISECONDS)
+				.disableCookieManagement()
+				.build();
+	}
+	
+	@Bean
+	public ClientHttpRequestFactory clientHttpRequestFactory(final CloseableHttpClient httpClient) {
+		return new HttpComponentsClientHttpRequestFactory(httpClient);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
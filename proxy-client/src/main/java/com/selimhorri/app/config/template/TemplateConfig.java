@@ -3,15 +3,41 @@ package com.selimhorri.app.config.template;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class TemplateConfig {
 	
 	@LoadBalanced
+	@Primary
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final ClientHttpRequestFactory clientHttpRequestFactory) {
+		return new RestTemplate(clientHttpRequestFactory);
+	}
+	
+	/**
+	 * Used by the passthrough filter: downstream error statuses are relayed 
+	 * to the caller as-is instead of being raised as client exceptions.
+	 */
+	@LoadBalanced
+	@Bean
+	public RestTemplate passthroughRestTemplate(final ClientHttpRequestFactory clientHttpRequestFactory) {
+		final RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory);
+		restTemplate.setErrorHandler(new ResponseErrorHandler() {
+			@Override
+			public boolean hasError(final ClientHttpResponse response) {
+				return false;
+			}
+			@Override
+			public void handleError(final ClientHttpResponse response) {
+				// relayed by the caller
+			}
+		});
+		return restTemplate;
 	}
 	
 	
@@ -0,0 +1,33 @@
+package com.selimhorri.app.jwt.model;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable view of a token whose signature and expiry have already been verified.
+ * userDetails is only present when the token carries the authority and status claims.
+ */
+@Value
+@Builder
+public class VerifiedClaims {
+	
+	String subject;
+	String tokenId;
+	Instant issuedAt;
+	Instant expiration;
+	UserDetails userDetails;
+	
+	public Optional<UserDetails> getUserDetails() {
+		return Optional.ofNullable(this.userDetails);
+	}
+	
+	public boolean isExpired(final Instant now) {
+		return this.expiration != null && !this.expiration.isAfter(now);
+	}
+	
+}
@@ -1,10 +1,13 @@
 package com.selimhorri.app.jwt.service;
 
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.selimhorri.app.jwt.model.VerifiedClaims;
+
 import io.jsonwebtoken.Claims;
 
 public interface JwtService {
@@ -12,6 +15,7 @@ public interface JwtService {
 	String extractUsername(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
+	Optional<VerifiedClaims> verifyToken(final String token);
 	String generateToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
 	
@@ -0,0 +1,10 @@
+package com.selimhorri.app.jwt.service;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+	
+	void revoke(final String tokenId, final Date expiration);
+	boolean isRevoked(final String tokenId);
+	
+}
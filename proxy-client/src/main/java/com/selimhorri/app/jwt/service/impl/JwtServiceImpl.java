@@ -1,15 +1,24 @@
 package com.selimhorri.app.jwt.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.jwt.model.VerifiedClaims;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtServiceImpl implements JwtService {
 	
 	private final JwtUtil jwtUtil;
+	private final Cache<String, VerifiedClaims> verifiedClaims;
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -38,6 +48,32 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.extractClaims(token, claimsResolver);
 	}
 	
+	@Override
+	public Optional<VerifiedClaims> verifyToken(final String token) {
+		log.info("**Optional<VerifiedClaims>, jwt service verify given token!*");
+		
+		if (token == null || token.isBlank())
+			return Optional.empty();
+		
+		final String digest = digest(token);
+		final VerifiedClaims cached = this.verifiedClaims.getIfPresent(digest);
+		if (cached != null) {
+			if (!cached.isExpired(Instant.now()))
+				return Optional.of(cached);
+			this.verifiedClaims.invalidate(digest);
+		}
+		
+		try {
+			final VerifiedClaims verified = this.jwtUtil.verifyToken(token);
+			this.verifiedClaims.put(digest, verified);
+			return Optional.of(verified);
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			log.warn("**Rejecting invalid jwt: {}*", e.getMessage());
+			return Optional.empty();
+		}
+	}
+	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		log.info("**String, jwt service generate token from given userDetails!*");
@@ -47,7 +83,19 @@ public class JwtServiceImpl implements JwtService {
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
 		log.info("**Boolean, jwt service validate token from given token and userDetails!*");
-		return this.jwtUtil.validateToken(token, userDetails);
+		return this.verifyToken(token)
+				.map(verified -> userDetails.getUsername().equals(verified.getSubject()))
+				.orElse(false);
+	}
+	
+	private static String digest(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 	
 	
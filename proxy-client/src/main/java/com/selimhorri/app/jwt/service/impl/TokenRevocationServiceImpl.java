@@ -0,0 +1,89 @@
+package com.selimhorri.app.jwt.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.user.model.RevokedTokenDto;
+import com.selimhorri.app.business.user.service.RevokedTokenClientService;
+import com.selimhorri.app.jwt.service.TokenRevocationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deny list of token ids (jti) shared through user-service: a revocation is recorded there 
+ * before it is acknowledged, and every proxy instance pulls the revocations recorded since its 
+ * last poll, so lookups stay local while a token revoked on one replica is refused by all of them 
+ * within {@code app.security.jwt.revocation-sync-interval}. Entries only need to live until the 
+ * token would have expired anyway, so expired ids are purged on every poll.
+ */
+@Service
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+	
+	private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+	private final RevokedTokenClientService revokedTokenClientService;
+	private final Duration syncOverlap;
+	private volatile Instant syncedUntil = Instant.EPOCH;
+	
+	public TokenRevocationServiceImpl(final RevokedTokenClientService revokedTokenClientService, 
+			@Value("${app.security.jwt.revocation-sync-overlap:30s}") final Duration syncOverlap) {
+		this.revokedTokenClientService = revokedTokenClientService;
+		this.syncOverlap = syncOverlap;
+	}
+	
+	@Override
+	public void revoke(final String tokenId, final Date expiration) {
+		log.info("**Void, token revocation service revoke token id!*");
+		if (tokenId == null || expiration == null)
+			return;
+		this.revokedTokenIds.put(tokenId, expiration.getTime());
+		this.revokedTokenClientService.save(RevokedTokenDto.builder()
+				.tokenId(tokenId)
+				.expiresAt(expiration.toInstant())
+				.build());
+	}
+	
+	@Override
+	public boolean isRevoked(final String tokenId) {
+		if (tokenId == null || this.revokedTokenIds.isEmpty())
+			return false;
+		final Long expiresAt = this.revokedTokenIds.get(tokenId);
+		return expiresAt != null && expiresAt > System.currentTimeMillis();
+	}
+	
+	/**
+	 * Polls with some overlap, since a revocation stamped before the last poll may only 
+	 * have committed after it; merging is idempotent.
+	 */
+	@Scheduled(fixedDelayString = "${app.security.jwt.revocation-sync-interval:PT5S}")
+	public void sync() {
+		
+		final Instant since = this.syncedUntil.equals(Instant.EPOCH) ? 
+				Instant.EPOCH : this.syncedUntil.minus(this.syncOverlap);
+		try {
+			final var response = this.revokedTokenClientService.findAllRevokedSince(since.toEpochMilli()).getBody();
+			if (response != null && response.getCollection() != null)
+				response.getCollection().forEach(revokedToken -> {
+					this.revokedTokenIds.put(revokedToken.getTokenId(), revokedToken.getExpiresAt().toEpochMilli());
+					if (revokedToken.getRevokedAt() != null && revokedToken.getRevokedAt().isAfter(this.syncedUntil))
+						this.syncedUntil = revokedToken.getRevokedAt();
+				});
+		}
+		catch (RuntimeException e) {
+			log.warn("**Void, token revocation service sync failed, keeping local deny list: {}*", e.toString());
+		}
+		
+		final long now = System.currentTimeMillis();
+		this.revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+	}
+	
+	
+	
+}
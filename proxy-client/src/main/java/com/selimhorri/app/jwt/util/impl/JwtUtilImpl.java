@@ -1,13 +1,21 @@
 package com.selimhorri.app.jwt.util.impl;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.selimhorri.app.jwt.model.VerifiedClaims;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
@@ -18,6 +26,11 @@ import io.jsonwebtoken.SignatureAlgorithm;
 public class JwtUtilImpl implements JwtUtil {
 	
 	private static final String SECRET_KEY = "secret";
+	private static final String AUTHORITIES_CLAIM = "authorities";
+	private static final String ENABLED_CLAIM = "enabled";
+	private static final String ACCOUNT_NON_EXPIRED_CLAIM = "accountNonExpired";
+	private static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
+	private static final String CREDENTIALS_NON_EXPIRED_CLAIM = "credentialsNonExpired";
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -35,23 +48,55 @@ public class JwtUtilImpl implements JwtUtil {
 		return claimsResolver.apply(claims);
 	}
 	
-	private Claims extractAllClaims(final String token) {
-		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+	@Override
+	public VerifiedClaims verifyToken(final String token) {
+		final Claims claims = this.extractAllClaims(token);
+		return VerifiedClaims.builder()
+				.subject(claims.getSubject())
+				.tokenId(claims.getId())
+				.issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+				.expiration(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+				.userDetails(this.extractUserDetails(claims))
+				.build();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private UserDetails extractUserDetails(final Claims claims) {
+		
+		final var authorities = claims.get(AUTHORITIES_CLAIM, Collection.class);
+		if (authorities == null || claims.getSubject() == null)
+			return null;
+		
+		return new User(claims.getSubject(), "", 
+				Boolean.TRUE.equals(claims.get(ENABLED_CLAIM, Boolean.class)), 
+				Boolean.TRUE.equals(claims.get(ACCOUNT_NON_EXPIRED_CLAIM, Boolean.class)), 
+				Boolean.TRUE.equals(claims.get(CREDENTIALS_NON_EXPIRED_CLAIM, Boolean.class)), 
+				Boolean.TRUE.equals(claims.get(ACCOUNT_NON_LOCKED_CLAIM, Boolean.class)), 
+				((Collection<?>) authorities).stream()
+						.map(authority -> new SimpleGrantedAuthority(String.valueOf(authority)))
+						.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	private Claims extractAllClaims(final String token) {
+		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
+		claims.put(ENABLED_CLAIM, userDetails.isEnabled());
+		claims.put(ACCOUNT_NON_EXPIRED_CLAIM, userDetails.isAccountNonExpired());
+		claims.put(ACCOUNT_NON_LOCKED_CLAIM, userDetails.isAccountNonLocked());
+		claims.put(CREDENTIALS_NON_EXPIRED_CLAIM, userDetails.isCredentialsNonExpired());
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
 	private String createToken(final Map<String, Object> claims, final String subject) {
 		return Jwts.builder()
 					.setClaims(claims)
+					.setId(UUID.randomUUID().toString())
 					.setSubject(subject)
 					.setIssuedAt(new Date(System.currentTimeMillis()))
 					.setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
@@ -61,9 +106,9 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		final VerifiedClaims verifiedClaims = this.verifyToken(token);
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			userDetails.getUsername().equals(verifiedClaims.getSubject()) && !verifiedClaims.isExpired(Instant.now())
 		);
 	}
 	
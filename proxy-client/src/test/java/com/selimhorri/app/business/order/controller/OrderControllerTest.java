@@ -0,0 +1,104 @@
+package com.selimhorri.app.business.order.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCursorPageResponse;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.service.UserClientService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Controller Tests")
+class OrderControllerTest {
+
+    @Mock
+    private OrderClientService orderClientService;
+
+    @Mock
+    private CartClientService cartClientService;
+
+    @Mock
+    private UserClientService userClientService;
+
+    @InjectMocks
+    private OrderController orderController;
+
+    private Authentication user;
+    private OrderOrderServiceDtoCursorPageResponse page;
+
+    @BeforeEach
+    void setUp() {
+        user = new UsernamePasswordAuthenticationToken("alice", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        page = new OrderOrderServiceDtoCursorPageResponse(List.of(OrderDto.builder().orderId(7).build()), null);
+        lenient().when(userClientService.findByUsername("alice"))
+                .thenReturn(ResponseEntity.ok(UserDto.builder().userId(1).build()));
+    }
+
+    @Test
+    @DisplayName("Should serve a user's own order history")
+    void testFindAllByUserIdAfter_Owner() {
+        // Given
+        when(orderClientService.findAllByUserIdAfter("1", 5, 10)).thenReturn(ResponseEntity.ok(page));
+
+        // When
+        ResponseEntity<OrderOrderServiceDtoCursorPageResponse> result = orderController.findAllByUserIdAfter("1", 5, 10, user);
+
+        // Then
+        assertEquals(page, result.getBody());
+    }
+
+    @Test
+    @DisplayName("Should refuse another user's order history without calling the order service")
+    void testFindAllByUserIdAfter_OtherUser() {
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> orderController.findAllByUserIdAfter("2", null, null, user));
+        verify(orderClientService, never()).findAllByUserIdAfter(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse the orders of a cart owned by another user")
+    void testFindAllByCartIdAfter_OtherUsersCart() {
+        // Given
+        when(cartClientService.findById("3"))
+                .thenReturn(ResponseEntity.ok(CartDto.builder().cartId(3).userId(2).build()));
+
+        // When & Then
+        assertThrows(AccessDeniedException.class, () -> orderController.findAllByCartIdAfter("3", null, null, user));
+        verify(orderClientService, never()).findAllByCartIdAfter(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should let admins read any user's order history without an ownership lookup")
+    void testFindAllByUserIdAfter_Admin() {
+        // Given
+        Authentication admin = new UsernamePasswordAuthenticationToken("root", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        when(orderClientService.findAllByUserIdAfter("2", null, null)).thenReturn(ResponseEntity.ok(page));
+
+        // When
+        ResponseEntity<OrderOrderServiceDtoCursorPageResponse> result = orderController.findAllByUserIdAfter("2", null, null, admin);
+
+        // Then
+        assertEquals(page, result.getBody());
+        verify(userClientService, never()).findByUsername(anyString());
+    }
+}
@@ -0,0 +1,136 @@
+package com.selimhorri.app.config.filter;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+
+import javax.servlet.FilterChain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Passthrough Filter Tests")
+class PassthroughFilterTest {
+
+    @Mock
+    private RestTemplate passthroughRestTemplate;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private PassthroughFilter passthroughFilter;
+
+    @BeforeEach
+    void setUp() {
+        passthroughFilter = new PassthroughFilter(passthroughRestTemplate, true);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "/api/products, http://PRODUCT-SERVICE/product-service/api/products",
+        "/api/products/7, http://PRODUCT-SERVICE/product-service/api/products/7",
+        "/api/categories/3, http://PRODUCT-SERVICE/product-service/api/categories/3",
+        "/api/orders/12, http://ORDER-SERVICE/order-service/api/orders/12",
+        "/api/favourites/1/2/01-01-2024__10:00:00:000000, http://FAVOURITE-SERVICE/favourite-service/api/favourites/1/2/01-01-2024__10:00:00:000000",
+        "/api/shippings/4/5, http://SHIPPING-SERVICE/shipping-service/api/shippings/4/5",
+        "/api/users/username/john, http://USER-SERVICE/user-service/api/users/username/john"
+    })
+    @DisplayName("Should stream whitelisted GET paths from the owning service")
+    void testDoFilter_WhitelistedPath(String path, String downstreamUrl) throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+
+        // When
+        passthroughFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(passthroughRestTemplate).execute(eq(URI.create(downstreamUrl)), eq(HttpMethod.GET), any(), any());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Should forward an already encoded path and query without encoding them again")
+    void testDoFilter_PercentEncodedUsername() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/username/j%C3%A9r%C3%B4me");
+        request.setQueryString("fields=first%20name");
+
+        // When
+        passthroughFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(passthroughRestTemplate).execute(
+                eq(URI.create("http://USER-SERVICE/user-service/api/users/username/j%C3%A9r%C3%B4me?fields=first%20name")),
+                eq(HttpMethod.GET), any(), any());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Should leave a query that is not validly encoded to the filter chain")
+    void testDoFilter_InvalidQuery() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setQueryString("title={red}");
+
+        // When
+        passthroughFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain).doFilter(same(request), any());
+        verifyNoInteractions(passthroughRestTemplate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/products/stream",
+        "/api/categories/stream",
+        "/api/users/stream",
+        "/api/orders/user/1",
+        "/api/orders/cart/1",
+        "/api/products/1/stock",
+        "/api/favourites/find",
+        "/api/shippings/find",
+        "/api/productsx"
+    })
+    @DisplayName("Should leave paths the Feign controllers do not serve to the filter chain")
+    void testDoFilter_NotWhitelistedPath(String path) throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+
+        // When
+        passthroughFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain).doFilter(same(request), any());
+        verifyNoInteractions(passthroughRestTemplate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"POST", "PUT", "DELETE"})
+    @DisplayName("Should never pass writes through")
+    void testDoFilter_NonGetMethod(String method) throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/products/1");
+
+        // When
+        passthroughFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain).doFilter(same(request), any());
+        verifyNoInteractions(passthroughRestTemplate);
+    }
+
+}
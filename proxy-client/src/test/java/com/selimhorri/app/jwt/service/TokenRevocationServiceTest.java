@@ -0,0 +1,105 @@
+package com.selimhorri.app.jwt.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.user.model.RevokedTokenDto;
+import com.selimhorri.app.business.user.model.response.RevokedTokenUserServiceCollectionDtoResponse;
+import com.selimhorri.app.business.user.service.RevokedTokenClientService;
+import com.selimhorri.app.jwt.service.impl.TokenRevocationServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation Service Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenClientService revokedTokenClientService;
+
+    private TokenRevocationServiceImpl tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationServiceImpl(revokedTokenClientService, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should record a revocation in the shared deny list")
+    void testRevoke_RecordedRemotely() {
+        // Given
+        Date expiration = Date.from(Instant.now().plusSeconds(600));
+
+        // When
+        tokenRevocationService.revoke("jti-1", expiration);
+
+        // Then
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+        verify(revokedTokenClientService).save(argThat(dto -> "jti-1".equals(dto.getTokenId())
+                && expiration.toInstant().equals(dto.getExpiresAt())));
+    }
+
+    @Test
+    @DisplayName("Should refuse tokens revoked on another instance once synced")
+    void testSync_RevokedElsewhere() {
+        // Given
+        Instant revokedAt = Instant.now().minusSeconds(5);
+        when(revokedTokenClientService.findAllRevokedSince(0L)).thenReturn(ResponseEntity.ok(
+                new RevokedTokenUserServiceCollectionDtoResponse(List.of(
+                        new RevokedTokenDto("jti-2", Instant.now().plusSeconds(600), revokedAt),
+                        new RevokedTokenDto("jti-3", Instant.now().minusSeconds(1), revokedAt)))));
+
+        // When
+        tokenRevocationService.sync();
+
+        // Then
+        assertTrue(tokenRevocationService.isRevoked("jti-2"));
+        assertFalse(tokenRevocationService.isRevoked("jti-3"));
+        assertFalse(tokenRevocationService.isRevoked("jti-4"));
+    }
+
+    @Test
+    @DisplayName("Should poll from the last revocation seen, minus the overlap")
+    void testSync_Incremental() {
+        // Given
+        Instant revokedAt = Instant.now().minusSeconds(5);
+        when(revokedTokenClientService.findAllRevokedSince(anyLong())).thenReturn(ResponseEntity.ok(
+                new RevokedTokenUserServiceCollectionDtoResponse(List.of(
+                        new RevokedTokenDto("jti-2", Instant.now().plusSeconds(600), revokedAt)))));
+
+        // When
+        tokenRevocationService.sync();
+        tokenRevocationService.sync();
+
+        // Then
+        verify(revokedTokenClientService).findAllRevokedSince(0L);
+        verify(revokedTokenClientService).findAllRevokedSince(revokedAt.minusSeconds(30).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("Should keep the local deny list when user-service is unreachable")
+    void testSync_RemoteFailure() {
+        // Given
+        tokenRevocationService.revoke("jti-1", Date.from(Instant.now().plusSeconds(600)));
+        when(revokedTokenClientService.findAllRevokedSince(anyLong())).thenThrow(new IllegalStateException("down"));
+
+        // When
+        tokenRevocationService.sync();
+
+        // Then
+        assertTrue(tokenRevocationService.isRevoked("jti-1"));
+    }
+
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -16,6 +17,7 @@ import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.EnrichmentService;
 import com.selimhorri.app.service.OrderItemService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,25 +31,34 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final EnrichmentService enrichmentService;
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		final var orderItemDtos = this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
+		
+		final var productDtos = this.enrichmentService.fetchAllByIdsAsync(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, 
+				orderItemDtos.stream().map(o -> o.getProductDto().getProductId()).collect(Collectors.toList()), ProductDto.class);
+		final var orderDtos = this.enrichmentService.fetchAllByIdsAsync(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, 
+				orderItemDtos.stream().map(o -> o.getOrderDto().getOrderId()).collect(Collectors.toList()), OrderDto.class);
+		
+		return orderItemDtos.stream()
+				.map(o -> {
+					o.setProductDto(productDtos.join().getOrDefault(o.getProductDto().getProductId(), o.getProductDto()));
+					o.setOrderDto(orderDtos.join().getOrDefault(o.getOrderDto().getOrderId(), o.getOrderDto()));
+					return o;
+				})
+				.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(null)
@@ -12,7 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestTemplate;
@@ -24,6 +24,7 @@ import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.service.impl.EnrichmentServiceImpl;
 import com.selimhorri.app.service.impl.OrderItemServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +37,6 @@ class OrderItemServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private OrderItemServiceImpl orderItemService;
 
     private OrderItem orderItem;
@@ -47,6 +47,8 @@ class OrderItemServiceTest {
 
     @BeforeEach
     void setUp() {
+        orderItemService = new OrderItemServiceImpl(orderItemRepository, restTemplate, new EnrichmentServiceImpl(restTemplate, Runnable::run, 1000L));
+
         orderItemId = new OrderItemId(1, 1);
         
         productDto = ProductDto.builder()
@@ -101,7 +103,7 @@ class OrderItemServiceTest {
         assertEquals(orderItem.getOrderedQuantity(), result.get(0).getOrderedQuantity());
 
         verify(orderItemRepository).findAll();
-        verify(restTemplate, times(2)).getForObject(anyString(), any(Class.class));
+        verify(restTemplate, times(2)).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
     }
 
     @Test
@@ -124,7 +126,7 @@ class OrderItemServiceTest {
         assertEquals(orderItem.getOrderedQuantity(), result.getOrderedQuantity());
 
         verify(orderItemRepository).findById(any());
-        verify(restTemplate, times(2)).getForObject(anyString(), any(Class.class));
+        verify(restTemplate, times(2)).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
     }
 
     @Test
@@ -139,7 +141,7 @@ class OrderItemServiceTest {
         });
 
         verify(orderItemRepository).findById(any());
-        verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+        verify(restTemplate, never()).getForObject(anyString(), ArgumentMatchers.<Class<Object>>any());
     }
 
     @Test
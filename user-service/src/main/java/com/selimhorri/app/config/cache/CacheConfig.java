@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+public class CacheConfig {
+	
+	public static final String MISSING_USER_IDS_CACHE = "missingUserIds";
+	
+	/**
+	 * Short-lived negative cache of user ids that were not found, 
+	 * holding the stackless exception to rethrow on repeated lookups.
+	 */
+	@Bean
+	public Cache<Integer, UserObjectNotFoundException> missingUserIds(
+			@Value("${app.cache.missing-users.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.cache.missing-users.expire-after-write:30s}") final Duration expireAfterWrite, 
+			final MeterRegistry meterRegistry) {
+		
+		final Cache<Integer, UserObjectNotFoundException> cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		
+		return CaffeineCacheMetrics.monitor(meterRegistry, cache, MISSING_USER_IDS_CACHE);
+	}
+	
+	
+	
+}
@@ -0,0 +1,49 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deny list entry for a JWT id (jti) shared by every proxy instance; 
+ * createdAt is the revocation time and the row is useless once the token has expired.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class RevokedToken extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "token_id", unique = true, nullable = false, updatable = false)
+	private String tokenId;
+	
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
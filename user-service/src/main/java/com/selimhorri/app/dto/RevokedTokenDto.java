@@ -0,0 +1,40 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class RevokedTokenDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String tokenId;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant expiresAt;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant revokedAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
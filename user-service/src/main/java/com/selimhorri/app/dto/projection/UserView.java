@@ -0,0 +1,29 @@
+package com.selimhorri.app.dto.projection;
+
+import com.selimhorri.app.domain.RoleBasedAuthority;
+
+import lombok.Value;
+
+/**
+ * Read-only row selected column by column through a JPQL constructor expression, 
+ * so no User entity is hydrated, snapshotted or dirty-checked.
+ */
+@Value
+public class UserView {
+	
+	Integer userId;
+	String firstName;
+	String lastName;
+	String imageUrl;
+	String email;
+	String phone;
+	Integer credentialId;
+	String username;
+	String password;
+	RoleBasedAuthority roleBasedAuthority;
+	Boolean isEnabled;
+	Boolean isAccountNonExpired;
+	Boolean isAccountNonLocked;
+	Boolean isCredentialsNonExpired;
+	
+}
@@ -0,0 +1,43 @@
+package com.selimhorri.app.dto.projection;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import lombok.Value;
+
+/**
+ * Validator of a resource read in one aggregate statement: how many rows the representation 
+ * is made of and the latest time any of them, or a row embedded into them, was written.
+ */
+@Value
+public class VersionView {
+	
+	long count;
+	Instant lastModified;
+	
+	public VersionView(final Long count, final Instant lastModified, final Instant embeddedLastModified) {
+		this.count = count != null ? count : 0L;
+		this.lastModified = embeddedLastModified != null && (lastModified == null || embeddedLastModified.isAfter(lastModified)) ? 
+				embeddedLastModified : lastModified;
+	}
+	
+	public boolean exists() {
+		return this.count > 0;
+	}
+	
+	/**
+	 * Strong entity tag for the representation identified by resource and key.
+	 */
+	public String toETag(final String resource, final Object key) {
+		final long micros = this.lastModified != null ? ChronoUnit.MICROS.between(Instant.EPOCH, this.lastModified) : 0L;
+		return String.format("\"%s-%s-%d-%s\"", resource, key, this.count, Long.toString(micros, 36));
+	}
+	
+	/**
+	 * Epoch millis for the Last-Modified header, -1 when unknown.
+	 */
+	public long getLastModifiedMillis() {
+		return this.lastModified != null ? this.lastModified.toEpochMilli() : -1L;
+	}
+	
+}
@@ -12,8 +12,12 @@ public class UserObjectNotFoundException extends RuntimeException {
 		super(message, cause);
 	}
 	
+	/**
+	 * Not-found is an expected outcome on lookups, 
+	 * so message-only instances skip suppression and stack trace capture.
+	 */
 	public UserObjectNotFoundException(String message) {
-		super(message);
+		super(message, null, false, false);
 	}
 	
 	public UserObjectNotFoundException(Throwable cause) {
@@ -0,0 +1,39 @@
+package com.selimhorri.app.helper;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.selimhorri.app.dto.projection.VersionView;
+
+public interface ConditionalResponseHelper {
+	
+	public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+	
+	/**
+	 * Answers 304 when the request's If-None-Match / If-Modified-Since still match the version, 
+	 * otherwise supplies the body; the body is neither loaded nor serialized for a 304. 
+	 * Missing resources fall through to the supplier so it raises its usual not-found error. 
+	 * Responses may be stored by the client only, never by shared caches, and are revalidated on every use.
+	 */
+	public static <T> ResponseEntity<T> ok(final WebRequest webRequest, final VersionView version, 
+			final String resource, final Object key, final Supplier<T> body) {
+		
+		if (!version.exists() && key != null)
+			return ResponseEntity.ok(body.get());
+		
+		final var eTag = version.toETag(resource, key != null ? key : "all");
+		if (webRequest.checkNotModified(eTag, version.getLastModifiedMillis()))
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+		
+		final var response = ResponseEntity.ok().cacheControl(CACHE_CONTROL).eTag(eTag);
+		if (version.getLastModifiedMillis() >= 0)
+			response.lastModified(version.getLastModifiedMillis());
+		
+		return response.body(body.get());
+	}
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.RevokedToken;
+import com.selimhorri.app.dto.RevokedTokenDto;
+
+public interface RevokedTokenMappingHelper {
+	
+	public static RevokedTokenDto map(final RevokedToken revokedToken) {
+		return RevokedTokenDto.builder()
+				.tokenId(revokedToken.getTokenId())
+				.expiresAt(revokedToken.getExpiresAt())
+				.revokedAt(revokedToken.getCreatedAt())
+				.build();
+	}
+	
+	public static RevokedToken map(final RevokedTokenDto revokedTokenDto) {
+		return RevokedToken.builder()
+				.tokenId(revokedTokenDto.getTokenId())
+				.expiresAt(revokedTokenDto.getExpiresAt())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
@@ -4,6 +4,7 @@ import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.projection.UserView;
 
 public interface UserMappingHelper {
 	
@@ -29,6 +30,28 @@ public interface UserMappingHelper {
 				.build();
 	}
 	
+	public static UserDto map(final UserView userView) {
+		return UserDto.builder()
+				.userId(userView.getUserId())
+				.firstName(userView.getFirstName())
+				.lastName(userView.getLastName())
+				.imageUrl(userView.getImageUrl())
+				.email(userView.getEmail())
+				.phone(userView.getPhone())
+				.credentialDto(
+						CredentialDto.builder()
+							.credentialId(userView.getCredentialId())
+							.username(userView.getUsername())
+							.password(userView.getPassword())
+							.roleBasedAuthority(userView.getRoleBasedAuthority())
+							.isEnabled(userView.getIsEnabled())
+							.isAccountNonExpired(userView.getIsAccountNonExpired())
+							.isAccountNonLocked(userView.getIsAccountNonLocked())
+							.isCredentialsNonExpired(userView.getIsCredentialsNonExpired())
+							.build())
+				.build();
+	}
+	
 	public static User map(final UserDto userDto) {
 		return User.builder()
 				.userId(userDto.getUserId())
@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import com.selimhorri.app.dto.CredentialDto;
+
+public interface CredentialPatchRepository {
+	
+	/**
+	 * Assigns only the non-null fields of the credential dto in one UPDATE ... WHERE id statement, 
+	 * without loading the credential; returns the number of updated rows.
+	 */
+	int patchById(final Integer credentialId, final CredentialDto credentialDto);
+	
+}
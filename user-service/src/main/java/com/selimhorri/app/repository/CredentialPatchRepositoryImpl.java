@@ -0,0 +1,56 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.dto.CredentialDto;
+
+public class CredentialPatchRepositoryImpl implements CredentialPatchRepository {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	public int patchById(final Integer credentialId, final CredentialDto credentialDto) {
+		
+		final var criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		final var update = criteriaBuilder.createCriteriaUpdate(Credential.class);
+		final var credential = update.from(Credential.class);
+		
+		if (credentialDto.getUsername() != null)
+			update.set(credential.<String>get("username"), credentialDto.getUsername());
+		if (credentialDto.getPassword() != null)
+			update.set(credential.<String>get("password"), credentialDto.getPassword());
+		if (credentialDto.getRoleBasedAuthority() != null)
+			update.set(credential.<RoleBasedAuthority>get("roleBasedAuthority"), credentialDto.getRoleBasedAuthority());
+		if (credentialDto.getIsEnabled() != null)
+			update.set(credential.<Boolean>get("isEnabled"), credentialDto.getIsEnabled());
+		if (credentialDto.getIsAccountNonExpired() != null)
+			update.set(credential.<Boolean>get("isAccountNonExpired"), credentialDto.getIsAccountNonExpired());
+		if (credentialDto.getIsAccountNonLocked() != null)
+			update.set(credential.<Boolean>get("isAccountNonLocked"), credentialDto.getIsAccountNonLocked());
+		if (credentialDto.getIsCredentialsNonExpired() != null)
+			update.set(credential.<Boolean>get("isCredentialsNonExpired"), credentialDto.getIsCredentialsNonExpired());
+		update.set(credential.<Instant>get("updatedAt"), Instant.now());
+		update.where(criteriaBuilder.equal(credential.get("credentialId"), credentialId));
+		
+		return this.entityManager.createQuery(update).executeUpdate();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
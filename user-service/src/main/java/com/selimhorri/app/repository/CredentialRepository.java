@@ -1,13 +1,24 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Credential;
 
-public interface CredentialRepository extends JpaRepository<Credential, Integer> {
+public interface CredentialRepository extends JpaRepository<Credential, Integer>, CredentialPatchRepository {
 	
+	@Override
+	@EntityGraph(attributePaths = "user")
+	List<Credential> findAll();
+	
+	@Override
+	@EntityGraph(attributePaths = "user")
+	Optional<Credential> findById(final Integer credentialId);
+	
+	@EntityGraph(attributePaths = "user")
 	Optional<Credential> findByUsername(final String username);
 	
 }
@@ -0,0 +1,21 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.RevokedToken;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+	
+	List<RevokedToken> findAllByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAtAsc(final Instant revokedSince, final Instant now);
+	
+	@Modifying
+	@Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+	int deleteAllExpired(@Param("now") final Instant now);
+	
+}
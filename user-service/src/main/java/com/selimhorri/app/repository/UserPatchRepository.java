@@ -0,0 +1,13 @@
+package com.selimhorri.app.repository;
+
+import com.selimhorri.app.dto.UserDto;
+
+public interface UserPatchRepository {
+	
+	/**
+	 * Assigns only the non-null fields of the user dto in one UPDATE ... WHERE id statement, 
+	 * without loading the user; returns the number of updated rows.
+	 */
+	int patchById(final Integer userId, final UserDto userDto);
+	
+}
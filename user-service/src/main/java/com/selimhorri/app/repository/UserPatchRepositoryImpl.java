@@ -0,0 +1,51 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+
+public class UserPatchRepositoryImpl implements UserPatchRepository {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Override
+	public int patchById(final Integer userId, final UserDto userDto) {
+		
+		final var criteriaBuilder = this.entityManager.getCriteriaBuilder();
+		final var update = criteriaBuilder.createCriteriaUpdate(User.class);
+		final var user = update.from(User.class);
+		
+		if (userDto.getFirstName() != null)
+			update.set(user.<String>get("firstName"), userDto.getFirstName());
+		if (userDto.getLastName() != null)
+			update.set(user.<String>get("lastName"), userDto.getLastName());
+		if (userDto.getImageUrl() != null)
+			update.set(user.<String>get("imageUrl"), userDto.getImageUrl());
+		if (userDto.getEmail() != null)
+			update.set(user.<String>get("email"), userDto.getEmail());
+		if (userDto.getPhone() != null)
+			update.set(user.<String>get("phone"), userDto.getPhone());
+		update.set(user.<Instant>get("updatedAt"), Instant.now());
+		update.where(criteriaBuilder.equal(user.get("userId"), userId));
+		
+		return this.entityManager.createQuery(update).executeUpdate();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,13 +1,76 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.projection.UserView;
+import com.selimhorri.app.dto.projection.VersionView;
 
-public interface UserRepository extends JpaRepository<User, Integer> {
+/**
+ * The inverse one-to-one credential can't be proxied, so every read path 
+ * fetches it in the same statement through the "credential" entity graph.
+ */
+public interface UserRepository extends JpaRepository<User, Integer>, UserPatchRepository {
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.UserView(u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone, c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired) FROM User u LEFT JOIN u.credential c")
+	List<UserView> findAllViews();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.UserView(u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone, c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired) FROM User u LEFT JOIN u.credential c WHERE u.userId = :userId")
+	Optional<UserView> findViewById(@Param("userId") final Integer userId);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.UserView(u.userId, u.firstName, u.lastName, u.imageUrl, u.email, u.phone, c.credentialId, c.username, c.password, c.roleBasedAuthority, c.isEnabled, c.isAccountNonExpired, c.isAccountNonLocked, c.isCredentialsNonExpired) FROM User u LEFT JOIN u.credential c WHERE u.userId IN :userIds")
+	List<UserView> findAllViewsById(@Param("userIds") final Collection<Integer> userIds);
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.VersionView(COUNT(u), MAX(COALESCE(u.updatedAt, u.createdAt)), MAX(COALESCE(c.updatedAt, c.createdAt))) FROM User u LEFT JOIN u.credential c")
+	VersionView findVersion();
+	
+	@QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+	@Query("SELECT new com.selimhorri.app.dto.projection.VersionView(COUNT(u), MAX(COALESCE(u.updatedAt, u.createdAt)), MAX(COALESCE(c.updatedAt, c.createdAt))) FROM User u LEFT JOIN u.credential c WHERE u.userId = :userId")
+	VersionView findVersionById(@Param("userId") final Integer userId);
+	
+	@Override
+	@EntityGraph(attributePaths = "credential")
+	List<User> findAll();
+	
+	@Override
+	@EntityGraph(attributePaths = "credential")
+	Optional<User> findById(final Integer userId);
+	
+	@Override
+	@EntityGraph(attributePaths = "credential")
+	List<User> findAllById(final Iterable<Integer> userIds);
+	
+	@EntityGraph(attributePaths = "credential")
+	List<User> findByUserIdGreaterThanOrderByUserIdAsc(final Integer userId, final Pageable pageable);
+	
+	@QueryHints({
+		@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE), 
+		@QueryHint(name = HINT_READONLY, value = "true")})
+	@EntityGraph(attributePaths = "credential")
+	Stream<User> streamAllByOrderByUserIdAsc();
 	
+	@EntityGraph(attributePaths = "credential")
 	Optional<User> findByCredentialUsername(final String username);
 	
 }
@@ -7,6 +7,7 @@ import javax.validation.constraints.NotNull;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -73,6 +74,16 @@ public class CredentialResource {
 		return ResponseEntity.ok(this.credentialService.update(Integer.parseInt(credentialId.strip()), credentialDto));
 	}
 	
+	@PatchMapping("/{credentialId}")
+	public ResponseEntity<Integer> patch(
+			@PathVariable("credentialId") 
+			@NotBlank(message = "Input must not blank") final String credentialId, 
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") final CredentialDto credentialDto) {
+		log.info("*** Integer, resource; patch credential with credentialId *");
+		return ResponseEntity.ok(this.credentialService.patch(Integer.parseInt(credentialId.strip()), credentialDto));
+	}
+	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(
 			@PathVariable("credentialId") 
@@ -0,0 +1,63 @@
+package com.selimhorri.app.resource;
+
+import java.time.Instant;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.RevokedTokenDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.RevokedTokenService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping(value = {"/api/revokedTokens"})
+@Slf4j
+@RequiredArgsConstructor
+public class RevokedTokenResource {
+	
+	private final RevokedTokenService revokedTokenService;
+	
+	/**
+	 * Revocations recorded at or after the given epoch millis whose tokens have not expired yet.
+	 */
+	@GetMapping
+	public ResponseEntity<DtoCollectionResponse<RevokedTokenDto>> findAllRevokedSince(
+			@RequestParam(name = "since", defaultValue = "0") final long sinceEpochMillis) {
+		log.info("*** RevokedTokenDto List, controller; fetch revoked tokens since *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.revokedTokenService
+				.findAllRevokedSince(Instant.ofEpochMilli(sinceEpochMillis))));
+	}
+	
+	@PostMapping
+	public ResponseEntity<RevokedTokenDto> save(
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") 
+			@Valid final RevokedTokenDto revokedTokenDto) {
+		log.info("*** RevokedTokenDto, resource; save revoked token *");
+		return ResponseEntity.ok(this.revokedTokenService.save(revokedTokenDto));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,21 +1,32 @@
 package com.selimhorri.app.resource;
 
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
+import com.selimhorri.app.helper.ConditionalResponseHelper;
+import com.selimhorri.app.helper.NdjsonHelper;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,20 +39,50 @@ import lombok.extern.slf4j.Slf4j;
 public class UserResource {
 	
 	private final UserService userService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll(final WebRequest webRequest) {
 		log.info("*** UserDto List, controller; fetch all users *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
+		return ConditionalResponseHelper.ok(webRequest, this.userService.findVersion(), "users", null, 
+				() -> new DtoCollectionResponse<>(this.userService.findAll()));
+	}
+	
+	@GetMapping("/page")
+	public ResponseEntity<DtoCursorPageResponse<UserDto>> findAllAfter(
+			@RequestParam(name = "after", required = false) final Integer afterUserId, 
+			@RequestParam(name = "limit", required = false) final Integer limit) {
+		log.info("*** UserDto Page, resource; fetch users page after cursor *");
+		return ResponseEntity.ok(this.userService.findAllAfter(afterUserId, limit));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAll() {
+		log.info("*** UserDto Stream, resource; stream all users *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.userService.streamAll(NdjsonHelper.writer(this.objectMapper, outputStream)));
 	}
 	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(
 			@PathVariable("userId") 
 			@NotBlank(message = "Input must not blank") 
-			@Valid final String userId) {
+			@Valid final String userId, 
+			final WebRequest webRequest) {
 		log.info("*** UserDto, resource; fetch user by id *");
-		return ResponseEntity.ok(this.userService.findById(Integer.parseInt(userId.strip())));
+		final int id = Integer.parseInt(userId.strip());
+		return ConditionalResponseHelper.ok(webRequest, this.userService.findVersionById(id), "user", id, 
+				() -> this.userService.findById(id));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") 
+			@Valid final Set<Integer> userIds) {
+		log.info("*** UserDto List, resource; fetch users by ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAllByIds(userIds)));
 	}
 	
 	@PostMapping
@@ -73,6 +114,16 @@ public class UserResource {
 		return ResponseEntity.ok(this.userService.update(Integer.parseInt(userId.strip()), userDto));
 	}
 	
+	@PatchMapping("/{userId}")
+	public ResponseEntity<Integer> patch(
+			@PathVariable("userId") 
+			@NotBlank(message = "Input must not blank") final String userId, 
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") final UserDto userDto) {
+		log.info("*** Integer, resource; patch user with userId *");
+		return ResponseEntity.ok(this.userService.patch(Integer.parseInt(userId.strip()), userDto));
+	}
+	
 	@DeleteMapping("/{userId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("userId") @NotBlank(message = "Input must not blank") @Valid final String userId) {
 		log.info("*** Boolean, resource; delete user by id *");
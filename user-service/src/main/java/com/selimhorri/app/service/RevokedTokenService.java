@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.selimhorri.app.dto.RevokedTokenDto;
+
+public interface RevokedTokenService {
+	
+	List<RevokedTokenDto> findAllRevokedSince(final Instant revokedSince);
+	RevokedTokenDto save(final RevokedTokenDto revokedTokenDto);
+	
+}
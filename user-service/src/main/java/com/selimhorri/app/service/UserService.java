@@ -1,16 +1,26 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	DtoCursorPageResponse<UserDto> findAllAfter(final Integer afterUserId, final Integer limit);
+	void streamAll(final Consumer<UserDto> consumer);
 	UserDto findById(final Integer userId);
+	VersionView findVersion();
+	VersionView findVersionById(final Integer userId);
+	List<UserDto> findAllByIds(final Set<Integer> userIds);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
+	int patch(final Integer userId, final UserDto userDto);
 	void deleteById(final Integer userId);
 	UserDto findByUsername(final String username);
 	
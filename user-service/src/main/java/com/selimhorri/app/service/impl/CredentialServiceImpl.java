@@ -62,6 +62,12 @@ public class CredentialServiceImpl implements CredentialService {
 				CredentialMappingHelper.map(this.findById(credentialId))));
 	}
 	
+	@Override
+	public int patch(final Integer credentialId, final CredentialDto credentialDto) {
+		log.info("*** Integer, service; patch credential with credentialId *");
+		return this.credentialRepository.patchById(credentialId, credentialDto);
+	}
+	
 	@Override
 	public void deleteById(final Integer credentialId) {
 		log.info("*** Void, service; delete credential by id *");
@@ -0,0 +1,63 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.dto.RevokedTokenDto;
+import com.selimhorri.app.helper.RevokedTokenMappingHelper;
+import com.selimhorri.app.repository.RevokedTokenRepository;
+import com.selimhorri.app.service.RevokedTokenService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared JWT deny list: proxies record revocations here and poll for the ones 
+ * recorded since their last poll. Expired entries are dropped on every revocation.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class RevokedTokenServiceImpl implements RevokedTokenService {
+	
+	private final RevokedTokenRepository revokedTokenRepository;
+	
+	@Override
+	public List<RevokedTokenDto> findAllRevokedSince(final Instant revokedSince) {
+		log.info("*** RevokedTokenDto List, service; fetch revoked tokens since {} *", revokedSince);
+		return this.revokedTokenRepository
+				.findAllByCreatedAtGreaterThanEqualAndExpiresAtAfterOrderByCreatedAtAsc(revokedSince, Instant.now())
+				.stream()
+					.map(RevokedTokenMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public RevokedTokenDto save(final RevokedTokenDto revokedTokenDto) {
+		log.info("*** RevokedTokenDto, service; save revoked token *");
+		this.revokedTokenRepository.deleteAllExpired(Instant.now());
+		return this.revokedTokenRepository.findById(revokedTokenDto.getTokenId())
+				.map(RevokedTokenMappingHelper::map)
+				.orElseGet(() -> RevokedTokenMappingHelper.map(this.revokedTokenRepository
+						.save(RevokedTokenMappingHelper.map(revokedTokenDto))));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,13 +1,26 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.projection.VersionView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
@@ -23,35 +36,97 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+	private final Cache<Integer, UserObjectNotFoundException> missingUserIds;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
 	
 	@Override
 	public List<UserDto> findAll() {
 		log.info("*** UserDto List, service; fetch all users *");
-		return this.userRepository.findAll()
+		return this.userRepository.findAllViews()
 				.stream()
 					.map(UserMappingHelper::map)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public DtoCursorPageResponse<UserDto> findAllAfter(final Integer afterUserId, final Integer limit) {
+		log.info("*** UserDto Page, service; fetch users page after cursor *");
+		final int pageSize = Math.min(Math.max(limit != null ? limit : AppConstant.DEFAULT_PAGE_LIMIT, 1), AppConstant.MAX_PAGE_LIMIT);
+		final var users = this.userRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+				afterUserId != null ? afterUserId : 0, PageRequest.of(0, pageSize + 1));
+		final var collection = users.stream()
+				.limit(pageSize)
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+		return new DtoCursorPageResponse<>(collection, 
+				users.size() > pageSize ? collection.get(pageSize - 1).getUserId() : null);
+	}
+	
+	@Override
+	public void streamAll(final Consumer<UserDto> consumer) {
+		log.info("*** UserDto Stream, service; stream all users *");
+		try (final Stream<User> users = this.userRepository.streamAllByOrderByUserIdAsc()) {
+			users.forEach(user -> {
+				consumer.accept(UserMappingHelper.map(user));
+				this.entityManager.detach(user);
+			});
+		}
+	}
+	
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
-		return this.userRepository.findById(userId)
+		final var missing = this.missingUserIds.getIfPresent(userId);
+		if (missing != null)
+			throw missing;
+		return this.userRepository.findViewById(userId)
 				.map(UserMappingHelper::map)
-				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with id: %d not found", userId)));
+				.orElseThrow(() -> {
+					final var notFound = new UserObjectNotFoundException(String.format("User with id: %d not found", userId));
+					this.missingUserIds.put(userId, notFound);
+					return notFound;
+				});
+	}
+	
+	@Override
+	public VersionView findVersion() {
+		log.info("*** VersionView, service; fetch users version *");
+		return this.userRepository.findVersion();
+	}
+	
+	@Override
+	public VersionView findVersionById(final Integer userId) {
+		log.info("*** VersionView, service; fetch user version by id *");
+		return this.userRepository.findVersionById(userId);
+	}
+	
+	@Override
+	public List<UserDto> findAllByIds(final Set<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		return this.userRepository.findAllViewsById(userIds)
+				.stream()
+					.map(UserMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
 	public UserDto save(final UserDto userDto) {
 		log.info("*** UserDto, service; save user *");
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		final var savedUserDto = UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		this.invalidateMissingAfterCommit(savedUserDto.getUserId());
+		return savedUserDto;
 	}
 	
 	@Override
 	public UserDto update(final UserDto userDto) {
 		log.info("*** UserDto, service; update user *");
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		final var savedUserDto = UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		this.invalidateMissingAfterCommit(savedUserDto.getUserId());
+		return savedUserDto;
 	}
 	
 	@Override
@@ -61,6 +136,12 @@ public class UserServiceImpl implements UserService {
 				UserMappingHelper.map(this.findById(userId))));
 	}
 	
+	@Override
+	public int patch(final Integer userId, final UserDto userDto) {
+		log.info("*** Integer, service; patch user with userId *");
+		return this.userRepository.patchById(userId, userDto);
+	}
+	
 	@Override
 	public void deleteById(final Integer userId) {
 		log.info("*** Void, service; delete user by id *");
@@ -74,6 +155,25 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with username: %s not found", username))));
 	}
 	
+	/**
+	 * Ids are forgotten as missing only once the write has committed; 
+	 * a lookup racing an earlier invalidation would cache the id as missing again.
+	 */
+	private void invalidateMissingAfterCommit(final Integer userId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.missingUserIds.invalidate(userId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				missingUserIds.invalidate(userId);
+			}
+			
+		});
+	}
+	
 	
 	
 }
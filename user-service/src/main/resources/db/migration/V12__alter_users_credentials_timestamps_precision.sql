@@ -0,0 +1,6 @@
+ALTER TABLE users ALTER COLUMN created_at TIMESTAMP(6) DEFAULT LOCALTIMESTAMP(6) NOT NULL NULL_TO_DEFAULT;
+ALTER TABLE users ALTER COLUMN updated_at TIMESTAMP(6);
+
+ALTER TABLE credentials ALTER COLUMN created_at TIMESTAMP(6) DEFAULT LOCALTIMESTAMP(6) NOT NULL NULL_TO_DEFAULT;
+ALTER TABLE credentials ALTER COLUMN updated_at TIMESTAMP(6);
+
@@ -0,0 +1,10 @@
+
+CREATE TABLE revoked_tokens (
+	token_id VARCHAR(64) NOT NULL PRIMARY KEY,
+	expires_at TIMESTAMP(6) NOT NULL,
+	created_at TIMESTAMP(6) DEFAULT LOCALTIMESTAMP(6) NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP(6)
+);
+
+CREATE INDEX idx_revoked_tokens_created_at ON revoked_tokens (created_at);
+
@@ -0,0 +1,77 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.UserMappingHelper;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("User Repository Statement Count Tests")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load all users with their credentials in a single statement")
+    void testFindAll_SingleStatement() {
+        // When
+        List<User> users = userRepository.findAll();
+        users.forEach(UserMappingHelper::map);
+
+        // Then
+        assertTrue(users.size() > 1);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load a user by id with its credential in a single statement")
+    void testFindById_SingleStatement() {
+        // When
+        UserDto userDto = userRepository.findById(1)
+                .map(UserMappingHelper::map)
+                .orElseThrow();
+
+        // Then
+        assertNotNull(userDto.getCredentialDto().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load users by ids with their credentials in a single statement")
+    void testFindAllById_SingleStatement() {
+        // When
+        List<User> users = userRepository.findAllById(Set.of(1, 2, 3));
+        users.forEach(UserMappingHelper::map);
+
+        // Then
+        assertEquals(3, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -5,22 +5,29 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.projection.UserView;
+import com.selimhorri.app.dto.response.collection.DtoCursorPageResponse;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.repository.UserRepository;
 import com.selimhorri.app.service.impl.UserServiceImpl;
@@ -32,16 +39,18 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private UserServiceImpl userService;
 
     private UserDto userDto;
     private User user;
+    private UserView userView;
     private CredentialDto credentialDto;
     private Credential credential;
 
     @BeforeEach
     void setUp() {
+        userService = new UserServiceImpl(userRepository, Caffeine.newBuilder().build());
+
         // Configurar CredentialDto
         credentialDto = CredentialDto.builder()
                 .credentialId(1)
@@ -87,14 +96,16 @@ class UserServiceTest {
                 .imageUrl("http://example.com/image.jpg")
                 .credential(credential)
                 .build();
+
+        userView = new UserView(1, "John", "Doe", "http://example.com/image.jpg", "john.doe@example.com", "1234567890", 
+                1, "johndoe", "password123", RoleBasedAuthority.ROLE_USER, true, true, true, true);
     }
 
     @Test
     @DisplayName("Should find all users successfully")
     void testFindAll_Success() {
         // Given
-        List<User> users = Arrays.asList(user);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findAllViews()).thenReturn(List.of(userView));
 
         // When
         List<UserDto> result = userService.findAll();
@@ -105,14 +116,48 @@ class UserServiceTest {
         assertEquals("John", result.get(0).getFirstName());
         assertEquals("Doe", result.get(0).getLastName());
         assertEquals("johndoe", result.get(0).getCredentialDto().getUsername());
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should return a keyset page with the last id as next cursor")
+    void testFindAllAfter_HasNextPage() {
+        // Given
+        User nextUser = User.builder()
+                .userId(2)
+                .build();
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(user, nextUser));
+
+        // When
+        DtoCursorPageResponse<UserDto> result = userService.findAllAfter(null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(1, result.getNextCursor());
+        verify(userRepository, never()).findAllViews();
+    }
+
+    @Test
+    @DisplayName("Should return no next cursor on the last keyset page")
+    void testFindAllAfter_LastPage() {
+        // Given
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(1, PageRequest.of(0, 11)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        DtoCursorPageResponse<UserDto> result = userService.findAllAfter(1, 10);
+
+        // Then
+        assertTrue(result.getCollection().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     @Test
     @DisplayName("Should find user by id successfully")
     void testFindById_Success() {
         // Given
-        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(userRepository.findViewById(1)).thenReturn(Optional.of(userView));
 
         // When
         UserDto result = userService.findById(1);
@@ -123,14 +168,14 @@ class UserServiceTest {
         assertEquals("John", result.getFirstName());
         assertEquals("john.doe@example.com", result.getEmail());
         assertEquals("johndoe", result.getCredentialDto().getUsername());
-        verify(userRepository, times(1)).findById(1);
+        verify(userRepository, times(1)).findViewById(1);
     }
 
     @Test
     @DisplayName("Should throw exception when user not found by id")
     void testFindById_UserNotFound() {
         // Given
-        when(userRepository.findById(999)).thenReturn(Optional.empty());
+        when(userRepository.findViewById(999)).thenReturn(Optional.empty());
 
         // When & Then
         UserObjectNotFoundException exception = assertThrows(
@@ -139,7 +184,62 @@ class UserServiceTest {
         );
         
         assertEquals("User with id: 999 not found", exception.getMessage());
-        verify(userRepository, times(1)).findById(999);
+        verify(userRepository, times(1)).findViewById(999);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups of a missing user from the negative cache")
+    void testFindById_UserNotFound_NegativeCacheHit() {
+        // Given
+        when(userRepository.findViewById(999)).thenReturn(Optional.empty());
+        UserObjectNotFoundException first = assertThrows(UserObjectNotFoundException.class, () -> userService.findById(999));
+
+        // When
+        UserObjectNotFoundException second = assertThrows(UserObjectNotFoundException.class, () -> userService.findById(999));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(0, second.getStackTrace().length);
+        verify(userRepository, times(1)).findViewById(999);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the negative cache entry only once the inserted user is committed")
+    void testSave_InvalidatesNegativeCacheAfterCommit() {
+        // Given
+        when(userRepository.findViewById(1)).thenReturn(Optional.empty(), Optional.of(userView));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        assertThrows(UserObjectNotFoundException.class, () -> userService.findById(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            userService.save(userDto);
+            assertThrows(UserObjectNotFoundException.class, () -> userService.findById(1));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        UserDto result = userService.findById(1);
+
+        // Then
+        assertEquals(1, result.getUserId());
+        verify(userRepository, times(2)).findViewById(1);
+    }
+
+    @Test
+    @DisplayName("Should find users by ids in a single repository call")
+    void testFindAllByIds_Success() {
+        // Given
+        when(userRepository.findAllViewsById(Set.of(1, 999))).thenReturn(List.of(userView));
+
+        // When
+        List<UserDto> result = userService.findAllByIds(Set.of(1, 999));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getUserId());
+        verify(userRepository, times(1)).findAllViewsById(Set.of(1, 999));
     }
 
     @Test